@@ -0,0 +1,337 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package integration.performance;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Generates synthetic Mule applications and domains whose size can be configured, so the packaging of projects much bigger than
+ * the fixture projects can be measured.
+ * <p>
+ * The artifacts the project depends on are generated into a throwaway repository folder, which the generated pom declares as a
+ * file repository. Every artifact belongs to the {@value #SYNTHETIC_GROUP_ID} group, so they never clash with real artifacts.
+ * As their version never changes, the project must be built against a throwaway local repository, otherwise the copies Maven
+ * cached for a previous project are used. The real local repository can be declared as an additional file repository, so the
+ * plugins and libraries of the build are not downloaded again.
+ */
+public class SyntheticProjectGenerator {
+
+  public static final String SYNTHETIC_GROUP_ID = "org.mule.synthetic";
+  public static final String SYNTHETIC_REPOSITORY_ID = "synthetic-repository";
+  public static final String CACHED_REPOSITORY_ID = "cached-repository";
+
+  private static final String VERSION = "1.0.0";
+  private static final String MULE_PLUGIN_CLASSIFIER = "mule-plugin";
+  private static final String MULE_APPLICATION = "mule-application";
+  private static final String MULE_DOMAIN = "mule-domain";
+
+  private String artifactId = "synthetic-project";
+  private String packaging = MULE_APPLICATION;
+  private int flowFiles = 10;
+  private int dependencies = 10;
+  private int mulePlugins = 5;
+  private int pluginDependencies = 3;
+  private int sharedLibraries = 2;
+  private int additionalPluginDependencies = 2;
+  private int classesPerJar = 50;
+  private File cachedRepositoryFolder;
+
+  public SyntheticProjectGenerator withArtifactId(String artifactId) {
+    this.artifactId = artifactId;
+    return this;
+  }
+
+  public SyntheticProjectGenerator asDomain() {
+    this.packaging = MULE_DOMAIN;
+    return this;
+  }
+
+  public SyntheticProjectGenerator withFlowFiles(int flowFiles) {
+    this.flowFiles = flowFiles;
+    return this;
+  }
+
+  /**
+   * @param dependencies number of plain jar dependencies of the project
+   */
+  public SyntheticProjectGenerator withDependencies(int dependencies) {
+    this.dependencies = dependencies;
+    return this;
+  }
+
+  /**
+   * @param mulePlugins number of mule-plugins the project depends on
+   * @param pluginDependencies number of jars each mule-plugin depends on
+   */
+  public SyntheticProjectGenerator withMulePlugins(int mulePlugins, int pluginDependencies) {
+    this.mulePlugins = mulePlugins;
+    this.pluginDependencies = pluginDependencies;
+    return this;
+  }
+
+  /**
+   * @param sharedLibraries number of dependencies declared as shared libraries. Limited by the number of dependencies.
+   */
+  public SyntheticProjectGenerator withSharedLibraries(int sharedLibraries) {
+    this.sharedLibraries = sharedLibraries;
+    return this;
+  }
+
+  /**
+   * @param additionalPluginDependencies number of mule-plugins that get an additional dependency. Limited by the number of
+   *        mule-plugins.
+   */
+  public SyntheticProjectGenerator withAdditionalPluginDependencies(int additionalPluginDependencies) {
+    this.additionalPluginDependencies = additionalPluginDependencies;
+    return this;
+  }
+
+  public SyntheticProjectGenerator withClassesPerJar(int classesPerJar) {
+    this.classesPerJar = classesPerJar;
+    return this;
+  }
+
+  /**
+   * @param cachedRepositoryFolder a local repository declared as an additional repository and plugin repository of the project
+   */
+  public SyntheticProjectGenerator withCachedRepository(File cachedRepositoryFolder) {
+    this.cachedRepositoryFolder = cachedRepositoryFolder;
+    return this;
+  }
+
+  /**
+   * Generates the project and the artifacts it depends on. Both folders are cleaned before generating them.
+   *
+   * @param projectBaseDirectory the folder of the project
+   * @param repositoryFolder the throwaway repository where the dependencies of the project are generated
+   * @throws IOException if the files could not be written
+   */
+  public void generate(File projectBaseDirectory, File repositoryFolder) throws IOException {
+    FileUtils.deleteDirectory(projectBaseDirectory);
+    FileUtils.deleteDirectory(repositoryFolder);
+
+    List<String> dependencyIds = new ArrayList<>();
+    for (int i = 0; i < dependencies; i++) {
+      String dependencyId = "dependency-" + i;
+      generateJar(repositoryFolder, dependencyId, null, new ArrayList<>());
+      dependencyIds.add(dependencyId);
+    }
+
+    List<String> pluginIds = new ArrayList<>();
+    for (int i = 0; i < mulePlugins; i++) {
+      String pluginId = "plugin-" + i;
+      List<String> nestedDependencies = new ArrayList<>();
+      for (int j = 0; j < pluginDependencies; j++) {
+        String nestedDependencyId = pluginId + "-dependency-" + j;
+        generateJar(repositoryFolder, nestedDependencyId, null, new ArrayList<>());
+        nestedDependencies.add(nestedDependencyId);
+      }
+      generateJar(repositoryFolder, pluginId, MULE_PLUGIN_CLASSIFIER, nestedDependencies);
+      pluginIds.add(pluginId);
+    }
+
+    List<String> additionalDependencyIds = new ArrayList<>();
+    for (int i = 0; i < Math.min(additionalPluginDependencies, mulePlugins); i++) {
+      String additionalDependencyId = "additional-dependency-" + i;
+      generateJar(repositoryFolder, additionalDependencyId, null, new ArrayList<>());
+      additionalDependencyIds.add(additionalDependencyId);
+    }
+
+    File muleFolder = new File(projectBaseDirectory, "src/main/mule");
+    muleFolder.mkdirs();
+    for (int i = 0; i < flowFiles; i++) {
+      write(new File(muleFolder, "flows-" + i + ".xml"), flowFile(i));
+    }
+    write(new File(projectBaseDirectory, "mule-artifact.json"), muleArtifactJson(artifactId));
+    write(new File(projectBaseDirectory, "pom.xml"),
+          projectPom(repositoryFolder, dependencyIds, pluginIds, additionalDependencyIds));
+  }
+
+  private void generateJar(File repositoryFolder, String artifactId, String classifier, List<String> dependencies)
+      throws IOException {
+    File artifactFolder =
+        new File(repositoryFolder, format("%s/%s/%s", SYNTHETIC_GROUP_ID.replace('.', '/'), artifactId, VERSION));
+    artifactFolder.mkdirs();
+    String pom = artifactPom(artifactId, dependencies);
+    write(new File(artifactFolder, format("%s-%s.pom", artifactId, VERSION)), pom);
+
+    String jarName = classifier == null ? format("%s-%s.jar", artifactId, VERSION)
+        : format("%s-%s-%s.jar", artifactId, VERSION, classifier);
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().putValue("Manifest-Version", "1.0");
+    String packageName = SYNTHETIC_GROUP_ID.replace('.', '/') + "/" + artifactId.replace('-', '_');
+    try (OutputStream output = new FileOutputStream(new File(artifactFolder, jarName));
+        JarOutputStream jar = new JarOutputStream(output, manifest)) {
+      addEntry(jar, format("META-INF/maven/%s/%s/pom.xml", SYNTHETIC_GROUP_ID, artifactId), pom.getBytes(UTF_8));
+      if (MULE_PLUGIN_CLASSIFIER.equals(classifier)) {
+        addEntry(jar, "META-INF/mule-artifact/mule-artifact.json", muleArtifactJson(artifactId).getBytes(UTF_8));
+      }
+      for (int i = 0; i < classesPerJar; i++) {
+        // Only the entry names matter when exploring the packages of a jar
+        addEntry(jar, format("%s/package%d/Class%d.class", packageName, i % 5, i), new byte[256]);
+      }
+      addEntry(jar, packageName + "/resource.properties", "key=value".getBytes(UTF_8));
+    }
+  }
+
+  private static void addEntry(JarOutputStream jar, String name, byte[] content) throws IOException {
+    jar.putNextEntry(new JarEntry(name));
+    jar.write(content);
+    jar.closeEntry();
+  }
+
+  private static String artifactPom(String artifactId, List<String> dependencies) {
+    StringBuilder pom = new StringBuilder();
+    pom.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+        .append("    <modelVersion>4.0.0</modelVersion>\n")
+        .append(format("    <groupId>%s</groupId>\n", SYNTHETIC_GROUP_ID))
+        .append(format("    <artifactId>%s</artifactId>\n", artifactId))
+        .append(format("    <version>%s</version>\n", VERSION))
+        .append("    <dependencies>\n");
+    dependencies.forEach(dependency -> pom.append(dependency(dependency, null)));
+    pom.append("    </dependencies>\n")
+        .append("</project>\n");
+    return pom.toString();
+  }
+
+  private String projectPom(File repositoryFolder, List<String> dependencyIds, List<String> pluginIds,
+                            List<String> additionalDependencyIds) {
+    StringBuilder pom = new StringBuilder();
+    pom.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+        .append("    <modelVersion>4.0.0</modelVersion>\n")
+        .append(format("    <groupId>%s</groupId>\n", SYNTHETIC_GROUP_ID))
+        .append(format("    <artifactId>%s</artifactId>\n", artifactId))
+        .append(format("    <version>%s</version>\n", VERSION))
+        .append(format("    <packaging>%s</packaging>\n", packaging))
+        .append("    <repositories>\n")
+        .append(repository("repository", SYNTHETIC_REPOSITORY_ID, repositoryFolder));
+    if (cachedRepositoryFolder != null) {
+      pom.append(repository("repository", CACHED_REPOSITORY_ID, cachedRepositoryFolder));
+    }
+    pom.append("    </repositories>\n");
+    if (cachedRepositoryFolder != null) {
+      pom.append("    <pluginRepositories>\n")
+          .append(repository("pluginRepository", CACHED_REPOSITORY_ID, cachedRepositoryFolder))
+          .append("    </pluginRepositories>\n");
+    }
+    pom.append("    <dependencies>\n");
+    dependencyIds.forEach(dependency -> pom.append(dependency(dependency, null)));
+    pluginIds.forEach(plugin -> pom.append(dependency(plugin, MULE_PLUGIN_CLASSIFIER)));
+    pom.append("    </dependencies>\n")
+        .append("    <build>\n")
+        .append("        <plugins>\n")
+        .append("            <plugin>\n")
+        .append("                <groupId>org.mule.tools.maven</groupId>\n")
+        .append("                <artifactId>mule-maven-plugin</artifactId>\n")
+        .append("                <version>${muleMavenPluginVersion}</version>\n")
+        .append("                <extensions>true</extensions>\n")
+        .append("                <configuration>\n")
+        .append("                    <sharedLibraries>\n");
+    for (String sharedLibrary : dependencyIds.subList(0, Math.min(sharedLibraries, dependencyIds.size()))) {
+      pom.append("                        <sharedLibrary>\n")
+          .append(format("                            <groupId>%s</groupId>\n", SYNTHETIC_GROUP_ID))
+          .append(format("                            <artifactId>%s</artifactId>\n", sharedLibrary))
+          .append("                        </sharedLibrary>\n");
+    }
+    pom.append("                    </sharedLibraries>\n")
+        .append("                    <additionalPluginDependencies>\n");
+    for (int i = 0; i < additionalDependencyIds.size(); i++) {
+      pom.append("                        <plugin>\n")
+          .append(format("                            <groupId>%s</groupId>\n", SYNTHETIC_GROUP_ID))
+          .append(format("                            <artifactId>%s</artifactId>\n", pluginIds.get(i)))
+          .append("                            <additionalDependencies>\n")
+          .append(dependency(additionalDependencyIds.get(i), null))
+          .append("                            </additionalDependencies>\n")
+          .append("                        </plugin>\n");
+    }
+    pom.append("                    </additionalPluginDependencies>\n")
+        .append("                </configuration>\n")
+        .append("            </plugin>\n")
+        .append("        </plugins>\n")
+        .append("    </build>\n")
+        .append("</project>\n");
+    return pom.toString();
+  }
+
+  private static String repository(String element, String id, File folder) {
+    return new StringBuilder()
+        .append(format("        <%s>\n", element))
+        .append(format("            <id>%s</id>\n", id))
+        .append(format("            <url>%s</url>\n", folder.toURI()))
+        .append(format("        </%s>\n", element))
+        .toString();
+  }
+
+  private static String dependency(String artifactId, String classifier) {
+    StringBuilder dependency = new StringBuilder();
+    dependency.append("        <dependency>\n")
+        .append(format("            <groupId>%s</groupId>\n", SYNTHETIC_GROUP_ID))
+        .append(format("            <artifactId>%s</artifactId>\n", artifactId))
+        .append(format("            <version>%s</version>\n", VERSION));
+    if (classifier != null) {
+      dependency.append(format("            <classifier>%s</classifier>\n", classifier));
+    }
+    return dependency.append("        </dependency>\n").toString();
+  }
+
+  private static String muleArtifactJson(String artifactId) {
+    return format("{\n"
+        + "  \"name\": \"%s\",\n"
+        + "  \"minMuleVersion\": \"4.0.0\",\n"
+        + "  \"requiredProduct\": \"MULE\",\n"
+        + "  \"classLoaderModelLoaderDescriptor\": {\n"
+        + "    \"id\": \"mule\",\n"
+        + "    \"attributes\": {\n"
+        + "      \"exportedPackages\": [],\n"
+        + "      \"exportedResources\": []\n"
+        + "    }\n"
+        + "  },\n"
+        + "  \"bundleDescriptorLoader\": {\n"
+        + "    \"id\": \"mule\",\n"
+        + "    \"attributes\": {}\n"
+        + "  }\n"
+        + "}\n", artifactId);
+  }
+
+  private static String flowFile(int index) {
+    StringBuilder flows = new StringBuilder();
+    flows.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+        .append("<mule xmlns=\"http://www.mulesoft.org/schema/mule/core\"\n")
+        .append("      xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n")
+        .append("      xsi:schemaLocation=\"http://www.mulesoft.org/schema/mule/core ")
+        .append("http://www.mulesoft.org/schema/mule/core/current/mule.xsd\">\n");
+    for (int i = 0; i < 10; i++) {
+      flows.append(format("    <flow name=\"flow-%d-%d\">\n", index, i))
+          .append(format("        <logger level=\"INFO\" message=\"Synthetic flow %d-%d\"/>\n", index, i))
+          .append(format("        <set-payload value=\"#['payload %d-%d']\"/>\n", index, i))
+          .append("    </flow>\n");
+    }
+    return flows.append("</mule>\n").toString();
+  }
+
+  private static void write(File file, String content) throws IOException {
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), content.getBytes(UTF_8));
+  }
+}
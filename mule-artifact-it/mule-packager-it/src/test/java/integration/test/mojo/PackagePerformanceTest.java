@@ -0,0 +1,138 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package integration.test.mojo;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import integration.performance.SyntheticProjectGenerator;
+import org.apache.maven.it.VerificationException;
+import org.junit.Test;
+
+/**
+ * Packages synthetic projects much bigger than the fixture projects and fails if the wall time or the peak heap of the build
+ * exceed the configured thresholds. Only run by the {@code packagePerformanceIT} profile.
+ * <p>
+ * The peak heap is taken from the GC log of the Maven JVM, as the highest heap occupancy before a collection. Each project is
+ * built against a throwaway local repository, which is filled from the real one by a first, unmeasured build. This way stale
+ * synthetic artifacts are never resolved, none of them end up in the real local repository and the measured build does not
+ * include the resolution of the artifacts.
+ */
+public class PackagePerformanceTest extends MojoTest implements SettingsConfigurator {
+
+  private static final String PACKAGE = "package";
+  private static final String CLEAN = "clean";
+  private static final String WARM_UP_LOG_FILE_NAME = "warm-up-log.txt";
+  private static final String PROPERTY_PREFIX = "package.performance.";
+
+  // Matches both the JDK 8 "65536K->1234K(251392K)" and the unified logging "24M->3M(256M)" heap transitions
+  private static final Pattern HEAP_TRANSITION = Pattern.compile("(\\d+)([KMG])->\\d+[KMG]\\(\\d+[KMG]\\)");
+
+  public PackagePerformanceTest() {
+    this.goal = PACKAGE;
+  }
+
+  @Test
+  public void packageLargeApplication() throws IOException, VerificationException {
+    measurePackage(newGenerator().withArtifactId("synthetic-application"));
+  }
+
+  @Test
+  public void packageLargeDomain() throws IOException, VerificationException {
+    measurePackage(newGenerator().withArtifactId("synthetic-domain").asDomain().withFlowFiles(getInteger("domainFlowFiles", 5)));
+  }
+
+  private SyntheticProjectGenerator newGenerator() {
+    return new SyntheticProjectGenerator()
+        .withFlowFiles(getInteger("flowFiles", 200))
+        .withDependencies(getInteger("dependencies", 200))
+        .withMulePlugins(getInteger("mulePlugins", 40), getInteger("pluginDependencies", 10))
+        .withSharedLibraries(getInteger("sharedLibraries", 20))
+        .withAdditionalPluginDependencies(getInteger("additionalPluginDependencies", 10))
+        .withClassesPerJar(getInteger("classesPerJar", 200));
+  }
+
+  private void measurePackage(SyntheticProjectGenerator generator) throws IOException, VerificationException {
+    File syntheticFolder = new File(System.getProperty(TARGET_FOLDER_SYSTEM_PROPERTY_PLACEHOLDER), "synthetic");
+    projectBaseDirectory = new File(syntheticFolder, "project");
+    File localRepository = new File(syntheticFolder, "local-repository");
+    deleteDirectory(localRepository);
+
+    verifier = buildVerifier(projectBaseDirectory);
+    generator.withCachedRepository(new File(verifier.getLocalRepository()))
+        .generate(projectBaseDirectory, new File(syntheticFolder, "repository"));
+    verifier.setLocalRepo(localRepository.getAbsolutePath());
+    verifier.setForkJvm(true);
+    String mavenOpts = System.getProperty("argLine");
+    verifier.setEnvironmentVariable("MAVEN_OPTS", (mavenOpts != null ? mavenOpts.trim() + " " : "") + "-verbose:gc");
+    verifier.addCliOption("-Dproject.basedir=" + projectBaseDirectory.getAbsolutePath());
+
+    String logFileName = verifier.getLogFileName();
+    verifier.setLogFileName(WARM_UP_LOG_FILE_NAME);
+    verifier.executeGoals(asList(CLEAN, PACKAGE));
+    verifier.verifyErrorFreeLog();
+
+    verifier.setLogFileName(logFileName);
+    long startTime = System.currentTimeMillis();
+    verifier.executeGoals(asList(CLEAN, PACKAGE));
+    long wallTime = System.currentTimeMillis() - startTime;
+    verifier.verifyErrorFreeLog();
+
+    long peakHeapMegabytes = getPeakHeapMegabytes(new File(projectBaseDirectory, verifier.getLogFileName()));
+    String measures = format("Packaged %s in %d ms with a peak heap of %d MB", projectBaseDirectory.getName(), wallTime,
+                             peakHeapMegabytes);
+
+    assertThat("No garbage collection was logged, so the peak heap could not be measured. " + measures, peakHeapMegabytes,
+               greaterThan(0L));
+    assertThat("Package wall time (ms) exceeded the threshold. " + measures, wallTime,
+               lessThanOrEqualTo(getLong("maxWallTime", 300000L)));
+    assertThat("Package peak heap (MB) exceeded the threshold. " + measures, peakHeapMegabytes,
+               lessThanOrEqualTo(getLong("maxHeap", 1024L)));
+  }
+
+  private static long getPeakHeapMegabytes(File logFile) throws IOException {
+    long peakKilobytes = 0;
+    Matcher matcher = HEAP_TRANSITION.matcher(new String(Files.readAllBytes(logFile.toPath()), UTF_8));
+    while (matcher.find()) {
+      long kilobytes = Long.parseLong(matcher.group(1));
+      switch (matcher.group(2)) {
+        case "G":
+          kilobytes *= 1024 * 1024;
+          break;
+        case "M":
+          kilobytes *= 1024;
+          break;
+        default:
+          break;
+      }
+      peakKilobytes = Math.max(peakKilobytes, kilobytes);
+    }
+    return peakKilobytes / 1024;
+  }
+
+  private static int getInteger(String name, int defaultValue) {
+    return Integer.getInteger(PROPERTY_PREFIX + name, defaultValue);
+  }
+
+  private static long getLong(String name, long defaultValue) {
+    return Long.getLong(PROPERTY_PREFIX + name, defaultValue);
+  }
+}
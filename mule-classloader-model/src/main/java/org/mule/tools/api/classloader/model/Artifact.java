@@ -63,6 +63,14 @@ public class Artifact implements Comparable {
 
   @Override
   public int compareTo(Object that) {
+    if (that instanceof Artifact) {
+      ArtifactCoordinates thatCoordinates = ((Artifact) that).getArtifactCoordinates();
+      if (thatCoordinates == getArtifactCoordinates()) {
+        return 0;
+      }
+      // The string representation of the coordinates is computed once, so sorting does not build new strings
+      return getArtifactCoordinates().toString().compareTo(thatCoordinates.toString());
+    }
     return getArtifactCoordinates().toString().compareTo(that.toString());
   }
 
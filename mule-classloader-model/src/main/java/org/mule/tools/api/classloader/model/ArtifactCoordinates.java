@@ -11,6 +11,7 @@
 package org.mule.tools.api.classloader.model;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -25,6 +26,12 @@ public class ArtifactCoordinates {
   private String classifier;
   private String scope;
 
+  // Derived values, computed on first use as these coordinates are compared and hashed many times while sorting and
+  // deduplicating the dependency graph. Transient so they are not part of the JSON representation.
+  private transient String id;
+  private transient int hash;
+  private transient boolean canonical;
+
   /**
    * Constructor added so that child classes can be instantiated by reflection.
    */
@@ -60,8 +67,10 @@ public class ArtifactCoordinates {
   }
 
   public void setGroupId(String groupId) {
+    checkModifiable();
     checkArgument(StringUtils.isNotBlank(groupId), "Group id cannot be null nor blank");
     this.groupId = groupId;
+    clearDerivedValues();
   }
 
   public String getArtifactId() {
@@ -69,8 +78,10 @@ public class ArtifactCoordinates {
   }
 
   public void setArtifactId(String artifactId) {
+    checkModifiable();
     checkArgument(StringUtils.isNotBlank(artifactId), "Artifact id can not be null nor blank");
     this.artifactId = artifactId;
+    clearDerivedValues();
   }
 
   public String getVersion() {
@@ -78,8 +89,10 @@ public class ArtifactCoordinates {
   }
 
   public void setVersion(String version) {
+    checkModifiable();
     checkArgument(StringUtils.isNotBlank(version), "Version can not be null nor blank");
     this.version = version;
+    clearDerivedValues();
   }
 
   public String getType() {
@@ -87,8 +100,10 @@ public class ArtifactCoordinates {
   }
 
   public void setType(String type) {
+    checkModifiable();
     checkArgument(StringUtils.isNotBlank(type), "Type can not be null nor blank");
     this.type = type;
+    clearDerivedValues();
   }
 
   public String getClassifier() {
@@ -96,7 +111,9 @@ public class ArtifactCoordinates {
   }
 
   public void setClassifier(String classifier) {
+    checkModifiable();
     this.classifier = classifier;
+    clearDerivedValues();
   }
 
   public String getScope() {
@@ -104,12 +121,40 @@ public class ArtifactCoordinates {
   }
 
   public void setScope(String scope) {
+    checkModifiable();
     this.scope = scope;
+    clearDerivedValues();
+  }
+
+  /**
+   * @return whether these coordinates are the canonical instance of an {@link ArtifactCoordinatesPool}, shared by all the
+   *         artifacts with the same coordinates and thus not modifiable
+   */
+  public boolean isCanonical() {
+    return canonical;
+  }
+
+  void markCanonical() {
+    this.canonical = true;
+  }
+
+  private void checkModifiable() {
+    checkState(!canonical, "Canonical artifact coordinates can not be modified, they are shared by %s artifacts", this);
+  }
+
+  private void clearDerivedValues() {
+    id = null;
+    hash = 0;
   }
 
   @Override
   public String toString() {
-    return groupId + ':' + artifactId + ':' + version + ':' + type + (StringUtils.isNotBlank(classifier) ? ':' + classifier : "");
+    String id = this.id;
+    if (id == null) {
+      id = groupId + ':' + artifactId + ':' + version + ':' + type + (StringUtils.isNotBlank(classifier) ? ':' + classifier : "");
+      this.id = id;
+    }
+    return id;
   }
 
   @Override
@@ -123,6 +168,9 @@ public class ArtifactCoordinates {
 
     ArtifactCoordinates that = (ArtifactCoordinates) o;
 
+    if (hashCode() != that.hashCode()) {
+      return false;
+    }
     if (!getArtifactId().equals(that.getArtifactId())) {
       return false;
     }
@@ -137,11 +185,15 @@ public class ArtifactCoordinates {
 
   @Override
   public int hashCode() {
-    int result = getArtifactId().hashCode();
-    result = 31 * result + getGroupId().hashCode();
-    result = 31 * result + getVersion().hashCode();
-    if (getClassifier() != null) {
-      result = 31 * result + getClassifier().hashCode();
+    int result = hash;
+    if (result == 0) {
+      result = getArtifactId().hashCode();
+      result = 31 * result + getGroupId().hashCode();
+      result = 31 * result + getVersion().hashCode();
+      if (getClassifier() != null) {
+        result = 31 * result + getClassifier().hashCode();
+      }
+      hash = result;
     }
     return result;
   }
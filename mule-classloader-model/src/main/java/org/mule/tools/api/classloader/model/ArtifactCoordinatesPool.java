@@ -0,0 +1,119 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.tools.api.classloader.model;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Pool of canonical {@link ArtifactCoordinates}, so the same artifact referenced from many places of a dependency graph (the
+ * dependencies of each plugin, shared libraries, additional dependencies, ...) is represented by a single instance.
+ * <p>
+ * Canonical coordinates can not be modified, as they are shared, and they are only kept in the pool while they are referenced.
+ * Comparisons between artifacts with canonical coordinates are mostly resolved by reference, without comparing their
+ * attributes.
+ * <p>
+ * Coordinates are pooled by all their attributes except the scope, which depends on the context the artifact is used in, so only
+ * coordinates without scope are pooled.
+ */
+public class ArtifactCoordinatesPool {
+
+  private static final ArtifactCoordinatesPool INSTANCE = new ArtifactCoordinatesPool();
+
+  private final Cache<Key, ArtifactCoordinates> coordinates = CacheBuilder.newBuilder().weakValues().build();
+  private final Interner<String> strings = Interners.newWeakInterner();
+
+  public static ArtifactCoordinatesPool getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * @return the canonical coordinates, created if there are none for the given attributes
+   */
+  public ArtifactCoordinates canonical(String groupId, String artifactId, String version, String type, String classifier) {
+    Key key = new Key(groupId, artifactId, version, type, classifier);
+    try {
+      return coordinates.get(key, () -> {
+        ArtifactCoordinates canonical = new ArtifactCoordinates(strings.intern(groupId), strings.intern(artifactId),
+                                                                strings.intern(version), strings.intern(type),
+                                                                classifier != null ? strings.intern(classifier) : null);
+        canonical.markCanonical();
+        return canonical;
+      });
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      // The coordinates validate their attributes, propagate the same exception as the constructor
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * @param artifactCoordinates coordinates without scope. Non null.
+   * @return the canonical coordinates equivalent to the given ones, which are returned as they are if they are already canonical
+   */
+  public ArtifactCoordinates canonical(ArtifactCoordinates artifactCoordinates) {
+    checkArgument(artifactCoordinates != null, "The artifact coordinates must not be null");
+    checkArgument(artifactCoordinates.getScope() == null, "Only artifact coordinates without scope can be canonical");
+    if (artifactCoordinates.isCanonical()) {
+      return artifactCoordinates;
+    }
+    return canonical(artifactCoordinates.getGroupId(), artifactCoordinates.getArtifactId(), artifactCoordinates.getVersion(),
+                     artifactCoordinates.getType(), artifactCoordinates.getClassifier());
+  }
+
+  private static class Key {
+
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+    private final String type;
+    private final String classifier;
+    private final int hash;
+
+    private Key(String groupId, String artifactId, String version, String type, String classifier) {
+      this.groupId = groupId;
+      this.artifactId = artifactId;
+      this.version = version;
+      this.type = type;
+      this.classifier = classifier;
+      this.hash = Objects.hash(groupId, artifactId, version, type, classifier);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key that = (Key) o;
+      return hash == that.hash && Objects.equals(artifactId, that.artifactId) && Objects.equals(groupId, that.groupId)
+          && Objects.equals(version, that.version) && Objects.equals(type, that.type)
+          && Objects.equals(classifier, that.classifier);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
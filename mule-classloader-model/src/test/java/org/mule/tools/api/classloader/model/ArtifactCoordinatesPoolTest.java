@@ -0,0 +1,78 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.tools.api.classloader.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+
+import org.junit.Test;
+
+public class ArtifactCoordinatesPoolTest {
+
+  private static final String GROUP_ID = "org.mule.connectors";
+  private static final String ARTIFACT_ID = "mule-http-connector";
+  private static final String VERSION = "1.5.0";
+  private static final String TYPE = "jar";
+  private static final String CLASSIFIER = "mule-plugin";
+
+  private final ArtifactCoordinatesPool pool = ArtifactCoordinatesPool.getInstance();
+
+  @Test
+  public void equalCoordinatesShareTheSameInstance() {
+    ArtifactCoordinates coordinates = pool.canonical(GROUP_ID, ARTIFACT_ID, VERSION, TYPE, CLASSIFIER);
+
+    assertThat(coordinates.isCanonical(), is(true));
+    assertThat(pool.canonical(new String(GROUP_ID), ARTIFACT_ID, new String(VERSION), TYPE, CLASSIFIER),
+               sameInstance(coordinates));
+    assertThat(pool.canonical(new ArtifactCoordinates(GROUP_ID, ARTIFACT_ID, VERSION, TYPE, CLASSIFIER)),
+               sameInstance(coordinates));
+  }
+
+  @Test
+  public void coordinatesWithDifferentTypeAreDifferentInstances() {
+    ArtifactCoordinates coordinates = pool.canonical(GROUP_ID, ARTIFACT_ID, VERSION, TYPE, CLASSIFIER);
+
+    assertThat(pool.canonical(GROUP_ID, ARTIFACT_ID, VERSION, "zip", CLASSIFIER), not(sameInstance(coordinates)));
+  }
+
+  @Test
+  public void canonicalCoordinatesAreReturnedAsTheyAre() {
+    ArtifactCoordinates coordinates = pool.canonical(GROUP_ID, ARTIFACT_ID, VERSION, TYPE, null);
+
+    assertThat(pool.canonical(coordinates), sameInstance(coordinates));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void canonicalCoordinatesCanNotBeModified() {
+    pool.canonical(GROUP_ID, ARTIFACT_ID, VERSION, TYPE, CLASSIFIER).setScope("provided");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void coordinatesWithScopeAreNotPooled() {
+    pool.canonical(new ArtifactCoordinates(GROUP_ID, ARTIFACT_ID, VERSION, TYPE, CLASSIFIER, "provided"));
+  }
+
+  @Test
+  public void cachedValuesAreUpdatedWhenCoordinatesAreModified() {
+    ArtifactCoordinates coordinates = new ArtifactCoordinates(GROUP_ID, ARTIFACT_ID, VERSION, TYPE, CLASSIFIER);
+    String id = coordinates.toString();
+    int hash = coordinates.hashCode();
+
+    coordinates.setVersion("1.6.0");
+
+    assertThat(coordinates.toString(), not(equalTo(id)));
+    assertThat(coordinates.hashCode(), not(equalTo(hash)));
+    assertThat(coordinates, equalTo(new ArtifactCoordinates(GROUP_ID, ARTIFACT_ID, "1.6.0", TYPE, CLASSIFIER)));
+  }
+}
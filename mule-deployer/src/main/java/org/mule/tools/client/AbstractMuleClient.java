@@ -25,6 +25,7 @@ import com.google.gson.JsonParser;
 
 import org.mule.tools.client.authentication.model.ConnectedAppCredentials;
 import org.mule.tools.client.core.AbstractClient;
+import org.mule.tools.client.core.metrics.ClientMetrics;
 import org.mule.tools.client.arm.model.Environment;
 import org.mule.tools.client.arm.model.Environments;
 import org.mule.tools.client.arm.model.Organization;
@@ -85,6 +86,7 @@ public abstract class AbstractMuleClient extends AbstractClient {
     }
 
     this.authenticationServiceClient = new AuthenticationServiceClient(baseUri);
+    setMetrics(anypointDeployment.getClientMetrics());
 
     this.environmentName = anypointDeployment.getEnvironment();
     this.businessGroupName = anypointDeployment.getBusinessGroup();
@@ -98,6 +100,14 @@ public abstract class AbstractMuleClient extends AbstractClient {
     super(log);
   }
 
+  @Override
+  public void setMetrics(ClientMetrics metrics) {
+    super.setMetrics(metrics);
+    if (authenticationServiceClient != null) {
+      authenticationServiceClient.setMetrics(metrics);
+    }
+  }
+
   public void init() {
     bearerToken = getBearerToken(credentials);
     orgId = businessGroupId != null ? businessGroupId : getOrgId();
@@ -36,8 +36,20 @@ public class AgentClient extends AbstractClient {
   private final String uri;
 
   public AgentClient(DeployerLog log, Deployment deployment) {
+    this(log, deployment, ((AgentDeployment) deployment).getUri());
+  }
+
+  /**
+   * @param uri the URI of the agent, which may be one of several agents of the deployment
+   */
+  public AgentClient(DeployerLog log, Deployment deployment, String uri) {
     super(log);
-    this.uri = ((AgentDeployment) deployment).getUri();
+    this.uri = uri;
+    setMetrics(deployment.getClientMetrics());
+  }
+
+  public String getUri() {
+    return uri;
   }
 
   protected void init() {
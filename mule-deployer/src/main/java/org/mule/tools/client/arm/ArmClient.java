@@ -15,7 +15,9 @@ import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
@@ -65,8 +67,16 @@ public class ArmClient extends AbstractMuleClient {
   private static final String STARTED_STATUS = "STARTED";
   private static final String DEPLOYMENT_IN_PROGRESS = "UPDATED";
 
+  private static final String TARGET_ID_PARAM = "targetId";
+
   private boolean armInsecure;
 
+  // Targets by name for each kind of target, fetched once as they do not change during a deployment
+  private final Map<String, Map<String, Target>> targetsIndex = new HashMap<>();
+
+  // Application ids by name for each target, invalidated when the applications of the target change
+  private final Map<String, Map<String, Integer>> applicationsIndex = new HashMap<>();
+
   public ArmClient(Deployment armDeployment, DeployerLog log) {
     super((AnypointDeployment) armDeployment, log);
     armInsecure = ((ArmDeployment) armDeployment).isArmInsecure().get();
@@ -99,6 +109,7 @@ public class ArmClient extends AbstractMuleClient {
 
   public String undeployApplication(int applicationId) {
     Response response = delete(baseUri, APPLICATIONS + "/" + applicationId);
+    applicationsIndex.clear();
     checkResponseStatus(response);
     return response.readEntity(String.class);
   }
@@ -114,6 +125,7 @@ public class ArmClient extends AbstractMuleClient {
   public Application deployApplication(ApplicationMetadata applicationMetadata) {
     MultiPart body = buildRequestBody(applicationMetadata);
     Response response = post(baseUri, APPLICATIONS, Entity.entity(body, body.getMediaType()));
+    applicationsIndex.clear();
     checkResponseStatus(response);
     return response.readEntity(Application.class);
   }
@@ -121,6 +133,7 @@ public class ArmClient extends AbstractMuleClient {
   public Application redeployApplication(int applicationId, ApplicationMetadata applicationMetadata) {
     MultiPart body = buildRequestBody(applicationMetadata);
     Response response = patch(baseUri, APPLICATIONS + "/" + applicationId, Entity.entity(body, body.getMediaType()));
+    applicationsIndex.clear();
     checkResponseStatus(response);
     return response.readEntity(Application.class);
   }
@@ -193,34 +206,56 @@ public class ArmClient extends AbstractMuleClient {
   }
 
   private Target findTargetByName(String name, String path) {
-    Targets response = get(baseUri, path, Targets.class);
-
-    // Workaround because an empty array in the response is mapped as null
-    if (response.data == null) {
+    Target target = targetsIndex.computeIfAbsent(path, this::indexTargets).get(name);
+    if (target == null) {
       throw new RuntimeException("Couldn't find target named [" + name + "]");
     }
+    return target;
+  }
 
-    for (int i = 0; i < response.data.length; i++) {
-      if (name.equals(response.data[i].name)) {
-        return response.data[i];
+  private Map<String, Target> indexTargets(String path) {
+    Targets response = getTargets(path);
+    Map<String, Target> targets = new HashMap<>();
+    // Workaround because an empty array in the response is mapped as null
+    if (response.data != null) {
+      for (Target target : response.data) {
+        targets.putIfAbsent(target.name, target);
       }
     }
-    throw new RuntimeException("Couldn't find target named [" + name + "]");
+    return targets;
+  }
+
+  protected Targets getTargets(String path) {
+    return get(baseUri, path, Targets.class);
   }
 
   public Integer findApplicationId(ApplicationMetadata applicationMetadata) {
-    Applications apps = getApplications();
-    Data[] appArray = getApplications().data;
-    if (appArray == null) {
-      return null;
-    }
     String targetId = getId(applicationMetadata.getTargetType(), applicationMetadata.getTarget());
-    for (int i = 0; i < appArray.length; i++) {
-      if (applicationMetadata.getName().equals(appArray[i].artifact.name) && targetId.equals(appArray[i].target.id)) {
-        return appArray[i].id;
+    return applicationsIndex.computeIfAbsent(targetId, this::indexApplications).get(applicationMetadata.getName());
+  }
+
+  private Map<String, Integer> indexApplications(String targetId) {
+    Data[] appArray = getApplications(targetId).data;
+    Map<String, Integer> applications = new HashMap<>();
+    if (appArray != null) {
+      for (Data application : appArray) {
+        // The target is checked as well in case the filter is not applied by the server
+        if (application.target != null && targetId.equals(application.target.id)) {
+          applications.putIfAbsent(application.artifact.name, application.id);
+        }
       }
     }
-    return null;
+    return applications;
+  }
+
+  /**
+   * @param targetId the id of the server, server group or cluster
+   * @return the applications deployed to the target, filtered by the hybrid API
+   */
+  public Applications getApplications(String targetId) {
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put(TARGET_ID_PARAM, targetId);
+    return get(baseUri, APPLICATIONS, queryParams, Applications.class);
   }
 
   protected void configureSecurityContext(ClientBuilder builder) {
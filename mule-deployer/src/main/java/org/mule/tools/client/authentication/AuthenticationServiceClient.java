@@ -109,7 +109,7 @@ public class AuthenticationServiceClient extends AbstractClient {
     Response response = get(baseUri, ORGANIZATIONS);
 
     Type listType = new TypeToken<ArrayList<Organization>>() {}.getType();
-    List<Organization> organizationList = new Gson().fromJson(response.readEntity(String.class), listType);
+    List<Organization> organizationList = readJsonEntity(response, listType);
 
     return organizationList;
   }
@@ -127,7 +127,7 @@ public class AuthenticationServiceClient extends AbstractClient {
   }
 
   private AuthorizationResponse login(Credentials credentials) {
-    Entity<String> credentialsEntity = Entity.json(new Gson().toJson(credentials));
+    Entity<String> credentialsEntity = Entity.json(GSON.toJson(credentials));
 
     Response response = post(baseUri, LOGIN, credentialsEntity);
 
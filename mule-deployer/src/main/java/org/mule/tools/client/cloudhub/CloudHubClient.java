@@ -28,7 +28,6 @@ import org.mule.tools.client.cloudhub.model.SupportedVersion;
 import org.mule.tools.model.anypoint.CloudHubDeployment;
 import org.mule.tools.utils.DeployerLog;
 
-import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
 import java.io.File;
@@ -169,7 +168,7 @@ public class CloudHubClient extends AbstractMuleClient {
     Application application = new Application();
     application.setStatus("START");
 
-    Response response = post(baseUri, format(APPLICATION_STATUS, domain), new Gson().toJson(application));
+    Response response = post(baseUri, format(APPLICATION_STATUS, domain), GSON.toJson(application));
 
     checkResponseStatus(response, OK, NOT_MODIFIED);
   }
@@ -185,7 +184,7 @@ public class CloudHubClient extends AbstractMuleClient {
     Application application = new Application();
     application.setStatus("STOP");
 
-    Response response = post(baseUri, format(APPLICATION_STATUS, domain), new Gson().toJson(application));
+    Response response = post(baseUri, format(APPLICATION_STATUS, domain), GSON.toJson(application));
 
     checkResponseStatus(response, OK, NOT_MODIFIED);
   }
@@ -281,7 +280,7 @@ public class CloudHubClient extends AbstractMuleClient {
   private Entity<MultiPart> getMultiPartEntity(Application application, File file) {
     FileDataBodyPart filePart = new FileDataBodyPart("file", file);
 
-    FormDataBodyPart appInfoJsonPart = new FormDataBodyPart("appInfoJson", new Gson().toJson(application));
+    FormDataBodyPart appInfoJsonPart = new FormDataBodyPart("appInfoJson", GSON.toJson(application));
 
     MultiPart multipart = new FormDataMultiPart().bodyPart(filePart).bodyPart(appInfoJsonPart);
     return Entity.entity(multipart, multipart.getMediaType());
@@ -10,7 +10,9 @@
 package org.mule.tools.client.core;
 
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.net.HttpHeaders.USER_AGENT;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
 import static javax.ws.rs.core.Response.Status.Family.SUCCESSFUL;
 import static javax.ws.rs.core.Response.Status.Family.familyOf;
@@ -19,9 +21,15 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.glassfish.jersey.client.HttpUrlConnectorProvider.SET_METHOD_WORKAROUND;
 import static org.mule.tools.client.authentication.AuthenticationServiceClient.LOGIN;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 import javax.ws.rs.client.Client;
@@ -36,16 +44,27 @@ import org.glassfish.jersey.media.multipart.MultiPartFeature;
 
 import org.mule.tools.client.core.exception.ClientException;
 import org.mule.tools.client.core.logging.ClientLoggingFilter;
+import org.mule.tools.client.core.metrics.ClientMetrics;
+import org.mule.tools.client.core.metrics.ClientMetricsFilter;
 import org.mule.tools.utils.DeployerLog;
 
 import com.google.gson.Gson;
 
 public abstract class AbstractClient {
 
+  /**
+   * Gson instance shared by the clients to serialize requests and parse responses, as it is thread safe.
+   */
+  protected static final Gson GSON = new Gson();
+
   private String userAgent = "mule-deployer%s";
 
   protected DeployerLog log;
 
+  private ClientMetrics metrics;
+
+  private RequestScheduler requestScheduler = RequestScheduler.getInstance();
+
   private boolean isClientInitialized = false;
 
   public AbstractClient() {}
@@ -56,7 +75,7 @@ public abstract class AbstractClient {
 
   protected Response post(String uri, String path, Entity entity) {
     initialize();
-    return builder(uri, path).post(entity);
+    return send("POST", () -> builder(uri, path).post(entity));
   }
 
   protected Response post(String uri, String path, Object entity) {
@@ -71,7 +90,7 @@ public abstract class AbstractClient {
 
   protected Response put(String uri, String path, Entity entity) {
     initialize();
-    return builder(uri, path).put(entity);
+    return send("PUT", () -> builder(uri, path).put(entity));
   }
 
   protected Response put(String uri, String path, Object entity) {
@@ -81,22 +100,22 @@ public abstract class AbstractClient {
 
   protected Response delete(String uri, String path) {
     initialize();
-    return builder(uri, path).delete();
+    return send("DELETE", () -> builder(uri, path).delete());
   }
 
   protected Response get(String uri, String path) {
     initialize();
-    return builder(uri, path).get();
+    return send("GET", () -> builder(uri, path).get());
   }
 
   protected Response get(String uri, Supplier<String> pathSupplier) {
     initialize();
-    return builder(uri, pathSupplier.get()).get();
+    return get(uri, pathSupplier.get());
   }
 
   protected Response delete(String uri, Supplier<String> pathSupplier) {
     initialize();
-    return builder(uri, pathSupplier.get()).delete();
+    return delete(uri, pathSupplier.get());
   }
 
   protected <T> T get(String uri, String path, Class<T> clazz) {
@@ -104,6 +123,17 @@ public abstract class AbstractClient {
     return get(uri, path).readEntity(clazz);
   }
 
+  protected <T> T get(String uri, String path, Map<String, String> queryParams, Class<T> clazz) {
+    initialize();
+    return send("GET", () -> {
+      WebTarget target = getTarget(uri, path);
+      for (Map.Entry<String, String> queryParam : queryParams.entrySet()) {
+        target = target.queryParam(queryParam.getKey(), queryParam.getValue());
+      }
+      return builder(target).get();
+    }).readEntity(clazz);
+  }
+
   protected Response patch(String uri, Supplier<String> path, Object entity) {
     initialize();
     return patch(uri, path.get(), Entity.entity(entity, APPLICATION_JSON_TYPE));
@@ -111,9 +141,11 @@ public abstract class AbstractClient {
 
   protected Response patch(String uri, String path, Entity entity) {
     initialize();
-    Invocation.Builder builder = builder(uri, path);
-    builder.property(SET_METHOD_WORKAROUND, true);
-    return builder.method("PATCH", entity);
+    return send("PATCH", () -> {
+      Invocation.Builder builder = builder(uri, path);
+      builder.property(SET_METHOD_WORKAROUND, true);
+      return builder.method("PATCH", entity);
+    });
   }
 
 
@@ -126,8 +158,15 @@ public abstract class AbstractClient {
 
   protected abstract void init();
 
+  private Response send(String method, Supplier<Response> request) {
+    return requestScheduler.execute(method, request, log, metrics);
+  }
+
   private Invocation.Builder builder(String uri, String path) {
-    WebTarget target = getTarget(uri, path);
+    return builder(getTarget(uri, path));
+  }
+
+  private Invocation.Builder builder(WebTarget target) {
     Invocation.Builder builder = target.request(APPLICATION_JSON_TYPE).header(USER_AGENT, getUserAgent());
     configureRequest(builder);
     return builder;
@@ -140,6 +179,9 @@ public abstract class AbstractClient {
     if (log != null && log.isDebugEnabled() && !isLoginRequest(path)) {
       client.register(new ClientLoggingFilter(log));
     }
+    if (metrics != null) {
+      client.register(new ClientMetricsFilter(metrics));
+    }
 
     return client.target(uri).path(path);
   }
@@ -189,14 +231,46 @@ public abstract class AbstractClient {
     }
   }
 
-  // TODO find a way to dec
+  /**
+   * Parses the JSON entity of the response as it is read, without buffering it.
+   *
+   * @param response the response, whose entity is consumed
+   * @param type the type of the entity
+   * @return the parsed entity
+   */
   protected <T> T readJsonEntity(Response response, Type type) {
-    String jsonResponse = response.readEntity(String.class);
-    return new Gson().fromJson(jsonResponse, type);
+    try (Reader reader = new InputStreamReader(response.readEntity(InputStream.class), UTF_8)) {
+      return GSON.fromJson(reader, type);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read the response entity", e);
+    }
   }
 
   public void setUserAgent(String userAgent) {
     this.userAgent = userAgent;
   }
 
+  public ClientMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Sets the metrics where the requests performed by this client are recorded. If not set, requests are not recorded.
+   *
+   * @param metrics the metrics of the current deployment
+   */
+  public void setMetrics(ClientMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  /**
+   * Sets the scheduler that sends the requests of this client. By default, the one shared by all the clients.
+   *
+   * @param requestScheduler the scheduler of the requests. Non null.
+   */
+  public void setRequestScheduler(RequestScheduler requestScheduler) {
+    checkArgument(requestScheduler != null, "The request scheduler must not be null");
+    this.requestScheduler = requestScheduler;
+  }
+
 }
@@ -0,0 +1,172 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.client.core;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.net.HttpHeaders.RETRY_AFTER;
+import static java.lang.System.getProperty;
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+import static java.util.Arrays.asList;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import javax.ws.rs.core.Response;
+
+import org.mule.tools.client.core.metrics.ClientMetrics;
+import org.mule.tools.utils.DeployerLog;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+/**
+ * Sends the requests of the clients, so they slow down instead of failing when the platform throttles them.
+ * <p>
+ * All the clients of the JVM share the same budget of requests per second, so deployments running in parallel against the same
+ * organization do not add up to more requests than the configured ones. A request throttled with a 429 status, or failed with a
+ * transient 502, 503 or 504 status if it is idempotent, is sent again after the delay of its {@code Retry-After} header or, if
+ * it does not have one, an exponential backoff with jitter.
+ * <p>
+ * The budget is configured with the {@code mule.deployer.requestsPerSecond} system property, which by default is 0 meaning
+ * there is no limit, and the number of retries with {@code mule.deployer.requestRetries}, 5 by default.
+ */
+public class RequestScheduler {
+
+  public static final String REQUESTS_PER_SECOND_PROPERTY = "mule.deployer.requestsPerSecond";
+  public static final String REQUEST_RETRIES_PROPERTY = "mule.deployer.requestRetries";
+
+  private static final double DEFAULT_REQUESTS_PER_SECOND = 0;
+  private static final int DEFAULT_RETRIES = 5;
+  private static final long BASE_DELAY_MILLIS = 500L;
+  private static final long MAX_DELAY_MILLIS = 60000L;
+
+  private static final int TOO_MANY_REQUESTS = 429;
+  private static final Set<Integer> TRANSIENT_STATUSES = new HashSet<>(asList(502, 503, 504));
+  private static final Set<String> IDEMPOTENT_METHODS = new HashSet<>(asList("GET", "HEAD", "PUT", "DELETE", "OPTIONS"));
+
+  private static volatile RequestScheduler instance;
+
+  private final RateLimiter rateLimiter;
+  private final int retries;
+
+  /**
+   * @return the scheduler shared by all the clients, configured from the system properties the first time it is requested
+   */
+  public static RequestScheduler getInstance() {
+    if (instance == null) {
+      synchronized (RequestScheduler.class) {
+        if (instance == null) {
+          instance = new RequestScheduler(getDoubleProperty(REQUESTS_PER_SECOND_PROPERTY, DEFAULT_REQUESTS_PER_SECOND),
+                                          getIntProperty(REQUEST_RETRIES_PROPERTY, DEFAULT_RETRIES));
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * @param requestsPerSecond the maximum number of requests sent per second, or 0 if there is no limit
+   * @param retries the maximum number of times a request is sent again
+   */
+  public RequestScheduler(double requestsPerSecond, int retries) {
+    checkArgument(requestsPerSecond >= 0, "The requests per second must not be negative");
+    checkArgument(retries >= 0, "The retries must not be negative");
+    this.rateLimiter = requestsPerSecond > 0 ? RateLimiter.create(requestsPerSecond) : null;
+    this.retries = retries;
+  }
+
+  /**
+   * Sends a request, waiting for the budget of requests to allow it, and sends it again while it is throttled or fails
+   * transiently.
+   *
+   * @param method the HTTP method of the request
+   * @param request sends the request. It is invoked once per attempt.
+   * @param log where the retries are logged. May be null.
+   * @param metrics where the retries are recorded. May be null.
+   * @return the response of the last attempt
+   */
+  public Response execute(String method, Supplier<Response> request, DeployerLog log, ClientMetrics metrics) {
+    int attempt = 0;
+    while (true) {
+      if (rateLimiter != null) {
+        rateLimiter.acquire();
+      }
+      Response response = request.get();
+      if (attempt >= retries || !shouldRetry(method, response.getStatus())) {
+        if (metrics != null && attempt > 0) {
+          metrics.recordRequestRetries(attempt);
+        }
+        return response;
+      }
+
+      long delay = getDelay(response, attempt);
+      if (log != null) {
+        log.debug("Request failed with status " + response.getStatus() + ", retrying in " + delay + " ms");
+      }
+      response.close();
+      attempt++;
+      try {
+        sleep(delay);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting to retry the request", e);
+      }
+    }
+  }
+
+  private boolean shouldRetry(String method, int status) {
+    // A throttled request was not processed, so it can be sent again even if it is not idempotent
+    return status == TOO_MANY_REQUESTS || (TRANSIENT_STATUSES.contains(status) && IDEMPOTENT_METHODS.contains(method));
+  }
+
+  /**
+   * @return the delay requested by the {@code Retry-After} header, or an exponential backoff with full jitter if there is none
+   */
+  protected long getDelay(Response response, int attempt) {
+    Long retryAfter = parseRetryAfter(response.getHeaderString(RETRY_AFTER));
+    if (retryAfter != null) {
+      return Math.min(Math.max(retryAfter, 0L), MAX_DELAY_MILLIS);
+    }
+    long backoff = Math.min(BASE_DELAY_MILLIS << Math.min(attempt, 16), MAX_DELAY_MILLIS);
+    return ThreadLocalRandom.current().nextLong(backoff + 1);
+  }
+
+  private static Long parseRetryAfter(String retryAfter) {
+    if (retryAfter == null || retryAfter.trim().isEmpty()) {
+      return null;
+    }
+    try {
+      return Long.parseLong(retryAfter.trim()) * 1000L;
+    } catch (NumberFormatException e) {
+      try {
+        return ZonedDateTime.parse(retryAfter.trim(), RFC_1123_DATE_TIME).toInstant().toEpochMilli() - System.currentTimeMillis();
+      } catch (DateTimeParseException dateException) {
+        return null;
+      }
+    }
+  }
+
+  protected void sleep(long millis) throws InterruptedException {
+    Thread.sleep(millis);
+  }
+
+  private static double getDoubleProperty(String name, double defaultValue) {
+    String value = getProperty(name);
+    return value != null ? Double.parseDouble(value) : defaultValue;
+  }
+
+  private static int getIntProperty(String name, int defaultValue) {
+    String value = getProperty(name);
+    return value != null ? Integer.parseInt(value) : defaultValue;
+  }
+}
@@ -12,12 +12,15 @@ package org.mule.tools.client.core.logging;
 
 import static java.lang.Boolean.parseBoolean;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apache.commons.lang3.StringUtils.join;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
@@ -39,16 +42,36 @@ public class ClientLoggingFilter implements ClientRequestFilter, ClientResponseF
 
   public static final String CLIENT_LOGGING_LOG_MULTIPART = "client.logging.log.multipart";
 
+  /**
+   * System property with the maximum number of bytes of each request and response body that are logged.
+   */
+  public static final String CLIENT_LOGGING_MAX_ENTITY_SIZE = "client.logging.max.entity.size";
+
+  private static final int DEFAULT_MAX_ENTITY_SIZE = 64 * 1024;
+
   private static final String REQUEST_LOGGING_STREAM = "requestLoggingStream";
 
   private final DeployerLog log;
 
+  private final int maxEntitySize;
+
   public ClientLoggingFilter(DeployerLog log) {
+    this(log, Integer.getInteger(CLIENT_LOGGING_MAX_ENTITY_SIZE, DEFAULT_MAX_ENTITY_SIZE));
+  }
+
+  /**
+   * @param maxEntitySize the maximum number of bytes of each request and response body that are logged
+   */
+  public ClientLoggingFilter(DeployerLog log, int maxEntitySize) {
     this.log = log;
+    this.maxEntitySize = maxEntitySize;
   }
 
   @Override
   public void filter(ClientRequestContext context) throws IOException {
+    if (!log.isDebugEnabled()) {
+      return;
+    }
     StringBuilder request = new StringBuilder();
 
     request
@@ -60,7 +83,7 @@ public class ClientLoggingFilter implements ClientRequestFilter, ClientResponseF
 
     if (context.hasEntity()) {
       if (shouldLogEntity(context.getEntityType())) {
-        OutputStream stream = new RequestLoggingStream(request, context.getEntityStream());
+        OutputStream stream = new RequestLoggingStream(request, context.getEntityStream(), maxEntitySize);
         context.setEntityStream(stream);
         context.setProperty(REQUEST_LOGGING_STREAM, stream);
         return;
@@ -72,6 +95,9 @@ public class ClientLoggingFilter implements ClientRequestFilter, ClientResponseF
 
   @Override
   public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException {
+    if (!log.isDebugEnabled()) {
+      return;
+    }
     StringBuilder response = new StringBuilder();
 
     response
@@ -82,12 +108,22 @@ public class ClientLoggingFilter implements ClientRequestFilter, ClientResponseF
     appendHeaders(response, responseContext.getHeaders());
 
     if (responseContext.hasEntity()) {
-      ByteArrayOutputStream stream = new ByteArrayOutputStream();
-      IOUtils.copy(responseContext.getEntityStream(), stream);
-      byte[] responseBytes = stream.toByteArray();
+      // Only the logged bytes are buffered, the rest of the entity is read by the client from the original stream
+      InputStream entityStream = responseContext.getEntityStream();
+      byte[] loggedBytes = new byte[maxEntitySize];
+      int loggedLength = IOUtils.read(entityStream, loggedBytes);
+      PushbackInputStream remaining = new PushbackInputStream(entityStream, 1);
+      int next = remaining.read();
+      if (next != -1) {
+        remaining.unread(next);
+      }
 
-      response.append(new String(responseBytes)).append(format("%n"));
-      responseContext.setEntityStream(new ByteArrayInputStream(responseBytes));
+      response.append(new String(loggedBytes, 0, loggedLength, UTF_8));
+      if (next != -1) {
+        response.append("... (truncated)");
+      }
+      response.append(format("%n"));
+      responseContext.setEntityStream(new SequenceInputStream(new ByteArrayInputStream(loggedBytes, 0, loggedLength), remaining));
     }
 
     log.debug(response.toString());
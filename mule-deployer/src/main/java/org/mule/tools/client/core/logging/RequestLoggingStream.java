@@ -10,6 +10,7 @@
 package org.mule.tools.client.core.logging;
 
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.io.ByteArrayOutputStream;
 import java.io.FilterOutputStream;
@@ -26,23 +27,57 @@ import java.io.OutputStream;
  */
 public class RequestLoggingStream extends FilterOutputStream {
 
+  private static final int DEFAULT_MAX_BODY_SIZE = 64 * 1024;
+
   private StringBuilder request;
   private ByteArrayOutputStream requestBody = new ByteArrayOutputStream();
+  private final int maxBodySize;
+  private boolean truncated;
 
   public RequestLoggingStream(StringBuilder request, OutputStream inner) {
+    this(request, inner, DEFAULT_MAX_BODY_SIZE);
+  }
+
+  /**
+   * @param maxBodySize the maximum number of bytes of the body that are kept to be logged
+   */
+  public RequestLoggingStream(StringBuilder request, OutputStream inner, int maxBodySize) {
     super(inner);
     this.request = request;
+    this.maxBodySize = maxBodySize;
   }
 
   @Override
   public void write(final int i) throws IOException {
-    requestBody.write(i);
+    if (requestBody.size() < maxBodySize) {
+      requestBody.write(i);
+    } else {
+      truncated = true;
+    }
     out.write(i);
   }
 
+  @Override
+  public void write(byte[] bytes, int offset, int length) throws IOException {
+    keep(bytes, offset, length);
+    out.write(bytes, offset, length);
+  }
+
+  private void keep(byte[] bytes, int offset, int length) {
+    int kept = Math.min(length, maxBodySize - requestBody.size());
+    if (kept > 0) {
+      requestBody.write(bytes, offset, kept);
+    }
+    if (kept < length) {
+      truncated = true;
+    }
+  }
 
   public String getRequestLog() {
-    request.append(new String(requestBody.toByteArray()));
+    request.append(new String(requestBody.toByteArray(), UTF_8));
+    if (truncated) {
+      request.append("... (truncated)");
+    }
     request.append(format("%n"));
     return request.toString();
   }
@@ -0,0 +1,165 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.client.core.metrics;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Collects metrics about the HTTP requests performed by the deployer clients during a deployment: the latency of each endpoint,
+ * the count of each response status code, the bytes sent and received, the requests sent again because they were throttled or
+ * failed transiently, and the time spent and status requests performed polling for the deployment to be verified.
+ * <p>
+ * Endpoints are aggregated by template, replacing the path segments that look like identifiers by {@value #ID_PLACEHOLDER}, so
+ * the polling of the same resource is reported as a single endpoint.
+ */
+public class ClientMetrics {
+
+  public static final String CLIENT_METRICS_FILE_NAME = "deployment-metrics.json";
+
+  static final String ID_PLACEHOLDER = "{id}";
+
+  private static final Pattern ID_SEGMENT =
+      Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|[0-9]+|[0-9a-fA-F]{24}");
+
+  private final Map<String, EndpointMetrics> endpoints = new TreeMap<>();
+  private final Map<Integer, Integer> statusCodes = new TreeMap<>();
+  private long requests;
+  private long bytesSent;
+  private long bytesReceived;
+  private long requestRetries;
+  private long verificationPolls;
+  private long verificationMillis;
+
+  /**
+   * Records a completed request.
+   *
+   * @param method the HTTP method of the request
+   * @param uri the URI of the request
+   * @param status the status code of the response
+   * @param elapsedMillis the time between sending the request and receiving the response headers
+   */
+  public synchronized void recordRequest(String method, URI uri, int status, long elapsedMillis) {
+    requests++;
+    endpoints.computeIfAbsent(method + " " + getEndpointTemplate(uri), key -> new EndpointMetrics()).record(elapsedMillis);
+    statusCodes.merge(status, 1, Integer::sum);
+  }
+
+  public synchronized void recordBytesSent(long bytes) {
+    bytesSent += bytes;
+  }
+
+  public synchronized void recordBytesReceived(long bytes) {
+    bytesReceived += bytes;
+  }
+
+  public synchronized void recordRequestRetries(long retries) {
+    requestRetries += retries;
+  }
+
+  public synchronized void recordVerificationPolls(long polls) {
+    verificationPolls += polls;
+  }
+
+  public synchronized void recordVerification(long elapsedMillis) {
+    verificationMillis += elapsedMillis;
+  }
+
+  public synchronized long getRequests() {
+    return requests;
+  }
+
+  public synchronized long getBytesSent() {
+    return bytesSent;
+  }
+
+  public synchronized long getBytesReceived() {
+    return bytesReceived;
+  }
+
+  public synchronized long getRequestRetries() {
+    return requestRetries;
+  }
+
+  public synchronized long getVerificationPolls() {
+    return verificationPolls;
+  }
+
+  public synchronized long getVerificationMillis() {
+    return verificationMillis;
+  }
+
+  public synchronized Map<Integer, Integer> getStatusCodes() {
+    return new TreeMap<>(statusCodes);
+  }
+
+  /**
+   * @return the count of requests performed to each endpoint template
+   */
+  public synchronized Map<String, Long> getEndpointRequests() {
+    Map<String, Long> endpointRequests = new TreeMap<>();
+    endpoints.forEach((endpoint, metrics) -> endpointRequests.put(endpoint, metrics.count));
+    return endpointRequests;
+  }
+
+  /**
+   * Writes the metrics as JSON, replacing the content of the file.
+   *
+   * @param file the destination file
+   * @throws IOException if the file could not be written
+   */
+  public synchronized void writeTo(File file) throws IOException {
+    if (file.getParentFile() != null) {
+      file.getParentFile().mkdirs();
+    }
+    Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    try (Writer writer = Files.newBufferedWriter(file.toPath(), UTF_8)) {
+      gson.toJson(this, writer);
+    }
+  }
+
+  static String getEndpointTemplate(URI uri) {
+    String path = uri.getPath();
+    if (path == null || path.isEmpty()) {
+      return "/";
+    }
+    StringBuilder template = new StringBuilder();
+    for (String segment : path.split("/")) {
+      if (!segment.isEmpty()) {
+        template.append('/').append(ID_SEGMENT.matcher(segment).matches() ? ID_PLACEHOLDER : segment);
+      }
+    }
+    return template.length() == 0 ? "/" : template.toString();
+  }
+
+  private static class EndpointMetrics {
+
+    private long count;
+    private long totalMillis;
+    private long maxMillis;
+
+    private void record(long elapsedMillis) {
+      count++;
+      totalMillis += elapsedMillis;
+      maxMillis = Math.max(maxMillis, elapsedMillis);
+    }
+  }
+}
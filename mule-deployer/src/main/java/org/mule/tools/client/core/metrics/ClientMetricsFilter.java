@@ -0,0 +1,90 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.client.core.metrics;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.apache.commons.io.input.ProxyInputStream;
+import org.apache.commons.io.output.ProxyOutputStream;
+
+/**
+ * Records the requests of a client into {@link ClientMetrics}. The request and response entities are counted while they are
+ * streamed, so they are not buffered.
+ */
+public class ClientMetricsFilter implements ClientRequestFilter, ClientResponseFilter, WriterInterceptor {
+
+  private static final String REQUEST_START_TIME = "clientMetricsRequestStartTime";
+
+  private final ClientMetrics metrics;
+
+  public ClientMetricsFilter(ClientMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void filter(ClientRequestContext context) throws IOException {
+    context.setProperty(REQUEST_START_TIME, System.nanoTime());
+  }
+
+  @Override
+  public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException {
+    Object startTime = requestContext.getProperty(REQUEST_START_TIME);
+    long elapsedMillis = startTime != null ? NANOSECONDS.toMillis(System.nanoTime() - (Long) startTime) : 0;
+    metrics.recordRequest(requestContext.getMethod(), requestContext.getUri(), responseContext.getStatus(), elapsedMillis);
+
+    if (responseContext.hasEntity()) {
+      responseContext.setEntityStream(new CountingInputStream(responseContext.getEntityStream()));
+    }
+  }
+
+  @Override
+  public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+    context.setOutputStream(new CountingOutputStream(context.getOutputStream()));
+    context.proceed();
+  }
+
+  private class CountingInputStream extends ProxyInputStream {
+
+    private CountingInputStream(InputStream delegate) {
+      super(delegate);
+    }
+
+    @Override
+    protected void afterRead(int n) {
+      if (n > 0) {
+        metrics.recordBytesReceived(n);
+      }
+    }
+  }
+
+  private class CountingOutputStream extends ProxyOutputStream {
+
+    private CountingOutputStream(OutputStream delegate) {
+      super(delegate);
+    }
+
+    @Override
+    protected void beforeWrite(int n) {
+      metrics.recordBytesSent(n);
+    }
+  }
+}
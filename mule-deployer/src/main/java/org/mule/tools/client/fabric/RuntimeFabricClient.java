@@ -9,7 +9,6 @@
  */
 package org.mule.tools.client.fabric;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -64,7 +63,7 @@ public class RuntimeFabricClient extends AbstractMuleClient {
    */
   public DeploymentDetailedResponse deploy(DeploymentRequest request) {
     log.info("Deploying " + request.name);
-    Response response = post(baseUri, getPathSupplier(), new Gson().toJson(request));
+    Response response = post(baseUri, getPathSupplier(), GSON.toJson(request));
     checkResponseStatus(response, ACCEPTED);
     return response.readEntity(DeploymentDetailedResponse.class);
   }
@@ -76,7 +75,7 @@ public class RuntimeFabricClient extends AbstractMuleClient {
    */
   public DeploymentDetailedResponse redeploy(DeploymentModify modify, String deploymentId) {
     log.info("Redeploying...");
-    Response response = patch(baseUri, getDeploymentPathSupplier(deploymentId), new Gson().toJson(modify));
+    Response response = patch(baseUri, getDeploymentPathSupplier(deploymentId), GSON.toJson(modify));
     checkResponseStatus(response, OK);
     return response.readEntity(DeploymentDetailedResponse.class);
   }
@@ -121,18 +120,18 @@ public class RuntimeFabricClient extends AbstractMuleClient {
 
     Response response = get(baseUri, getAgentsPathSupplier());
     checkResponseStatus(response, OK);
-    return new Gson().fromJson(response.readEntity(String.class), JsonElement.class).getAsJsonArray();
+    return this.<JsonElement>readJsonEntity(response, JsonElement.class).getAsJsonArray();
   }
 
   public JsonObject getTargetInfo(String targetId) {
     Response response = get(baseUri, format(RUNTIME_FABRIC_TARGET_INFO, getOrgId(), targetId));
     checkResponseStatus(response, OK);
-    return new Gson().fromJson(response.readEntity(String.class), JsonElement.class).getAsJsonObject();
+    return this.<JsonElement>readJsonEntity(response, JsonElement.class).getAsJsonObject();
   }
 
   public JsonArray getDomainInfo(String targetId) {
     Response response = get(baseUri, format(RUNTIME_FABRIC_DOMAIN_INFO, getOrgId(), targetId, getEnvId()));
     checkResponseStatus(response, OK);
-    return new Gson().fromJson(response.readEntity(String.class), JsonArray.class).getAsJsonArray();
+    return readJsonEntity(response, JsonArray.class);
   }
 }
@@ -15,10 +15,12 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.nio.file.StandardOpenOption.APPEND;
 import static java.util.Arrays.asList;
 import static java.util.regex.Pattern.compile;
+import static org.apache.commons.io.FileUtils.copyDirectory;
 import static org.apache.commons.io.FileUtils.copyDirectoryToDirectory;
 import static org.apache.commons.io.FileUtils.copyFileToDirectory;
 import static org.apache.commons.io.FileUtils.forceDelete;
 import static org.apache.commons.io.FileUtils.listFiles;
+import static org.apache.commons.io.FileUtils.touch;
 import static org.apache.commons.io.FilenameUtils.getExtension;
 import static org.apache.commons.io.filefilter.FileFilterUtils.suffixFileFilter;
 
@@ -160,6 +162,47 @@ public class Controller {
     }
   }
 
+  /**
+   * Deploys an exploded application writing only the files that changed since it was deployed, and then touches its descriptor
+   * so the runtime redeploys it. If the application is not deployed as an exploded application, it is fully deployed with the
+   * application name.
+   *
+   * @param path the folder of the exploded application
+   * @param applicationName the name of the application in the runtime
+   * @return the synchronizer used to update the deployed application, or an empty optional if it was fully deployed
+   */
+  public Optional<ExplodedArtifactSynchronizer> deployDelta(String path, String applicationName) {
+    File app = new File(path);
+    File deployedApp = new File(appsDir, applicationName);
+    if (!app.isDirectory()) {
+      deploy(path);
+      return Optional.empty();
+    }
+    if (!deployedApp.isDirectory()) {
+      verify(app.canRead(), "Cannot read file: %s", app);
+      try {
+        copyDirectory(app, deployedApp);
+      } catch (IOException e) {
+        throw new MuleControllerException("Could not deploy app [" + path + "] to [" + deployedApp + "]", e);
+      }
+      return Optional.empty();
+    }
+    verify(app.canRead(), "Cannot read file: %s", app);
+    ExplodedArtifactSynchronizer synchronizer = new ExplodedArtifactSynchronizer();
+    try {
+      synchronizer.synchronize(app, deployedApp);
+      if (synchronizer.getCopiedFiles() > 0 || synchronizer.getDeletedFiles() > 0) {
+        File descriptor = new File(deployedApp, ExplodedArtifactSynchronizer.DESCRIPTOR);
+        if (descriptor.exists()) {
+          touch(descriptor);
+        }
+      }
+    } catch (IOException e) {
+      throw new MuleControllerException("Could not redeploy app [" + path + "] to [" + deployedApp + "]", e);
+    }
+    return Optional.of(synchronizer);
+  }
+
   public boolean isRunning() {
     return IS_RUNNING_STATUS_CODE == status();
   }
@@ -204,6 +247,14 @@ public class Controller {
     return new File(appsDir, appName + ANCHOR_SUFFIX).exists();
   }
 
+  /**
+   * @param appName the name of the application
+   * @return the last modified time of the anchor file of the application, or 0 if it is not deployed
+   */
+  protected long getAnchorLastModified(String appName) {
+    return new File(appsDir, appName + ANCHOR_SUFFIX).lastModified();
+  }
+
   protected boolean isDomainDeployed(String domainName) {
     return new File(domainsDir, domainName + ANCHOR_SUFFIX).exists();
   }
@@ -0,0 +1,170 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.client.standalone.controller;
+
+import static java.nio.file.StandardCopyOption.COPY_ATTRIBUTES;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Synchronizes an exploded artifact already deployed to a Mule Runtime with a new version of it, writing only the files that
+ * changed.
+ * <p>
+ * A file is considered unchanged when it has the same size and last modified time as the deployed one. When only the last
+ * modified time differs, which is the case of files written again by a new build, the contents are compared and, if they match,
+ * the last modified time of the source is set on the deployed file so it is not read again by the next synchronization. The
+ * contents of unchanged files are not touched at all, as the runtime may watch them to trigger a redeployment.
+ * <p>
+ * The files the runtime watches, the configuration files at the root of the artifact and its descriptor, are written after all
+ * the others and the descriptor the last one, so a redeployment is not triggered before the artifact is complete.
+ */
+public class ExplodedArtifactSynchronizer {
+
+  public static final String DESCRIPTOR = "META-INF/mule-artifact/mule-artifact.json";
+
+  private int copiedFiles;
+  private int deletedFiles;
+  private int unchangedFiles;
+
+  /**
+   * @param source the new version of the exploded artifact
+   * @param target the exploded artifact deployed to the runtime
+   * @throws IOException if a file could not be compared, copied or deleted
+   */
+  public void synchronize(File source, File target) throws IOException {
+    Path sourcePath = source.toPath();
+    Path targetPath = target.toPath();
+    Path descriptor = sourcePath.getFileSystem().getPath(DESCRIPTOR);
+
+    int previouslyWrittenFiles = copiedFiles + deletedFiles;
+    Set<Path> sourceFiles = new HashSet<>();
+    List<Path> changedFiles = new ArrayList<>();
+    List<Path> changedWatchedFiles = new ArrayList<>();
+    List<Path> touchedWatchedFiles = new ArrayList<>();
+    for (Path sourceFile : list(sourcePath)) {
+      Path relativePath = sourcePath.relativize(sourceFile);
+      sourceFiles.add(relativePath);
+      Path targetFile = targetPath.resolve(relativePath);
+      if (Files.isDirectory(sourceFile)) {
+        if (!Files.isDirectory(targetFile)) {
+          deleteIfExists(targetFile);
+          Files.createDirectories(targetFile);
+        }
+      } else {
+        boolean watched = relativePath.getNameCount() == 1 || relativePath.equals(descriptor);
+        if (isChanged(sourceFile.toFile(), targetFile.toFile())) {
+          (watched ? changedWatchedFiles : changedFiles).add(relativePath);
+        } else {
+          unchangedFiles++;
+          if (sourceFile.toFile().lastModified() != targetFile.toFile().lastModified()) {
+            if (watched) {
+              touchedWatchedFiles.add(relativePath);
+            } else {
+              setLastModified(sourceFile, targetFile);
+            }
+          }
+        }
+      }
+    }
+
+    for (Path relativePath : changedFiles) {
+      copy(sourcePath.resolve(relativePath), targetPath.resolve(relativePath));
+    }
+
+    // Deepest paths first, so directories are empty when they are deleted
+    List<Path> targetFiles = list(targetPath);
+    targetFiles.sort(Comparator.comparingInt(Path::getNameCount).reversed());
+    for (Path targetFile : targetFiles) {
+      if (!sourceFiles.contains(targetPath.relativize(targetFile))) {
+        deleteIfExists(targetFile);
+      }
+    }
+
+    // Touching a watched file triggers a redeployment, so their last modified time is only updated when there is one anyway
+    if (copiedFiles + deletedFiles > previouslyWrittenFiles || !changedWatchedFiles.isEmpty()) {
+      for (Path relativePath : touchedWatchedFiles) {
+        setLastModified(sourcePath.resolve(relativePath), targetPath.resolve(relativePath));
+      }
+    }
+
+    changedWatchedFiles.sort(Comparator.comparing(descriptor::equals));
+    for (Path relativePath : changedWatchedFiles) {
+      copy(sourcePath.resolve(relativePath), targetPath.resolve(relativePath));
+    }
+  }
+
+  /**
+   * @return the number of files copied by the synchronizations because they were new or changed
+   */
+  public int getCopiedFiles() {
+    return copiedFiles;
+  }
+
+  /**
+   * @return the number of files deleted because they were removed from the artifact
+   */
+  public int getDeletedFiles() {
+    return deletedFiles;
+  }
+
+  public int getUnchangedFiles() {
+    return unchangedFiles;
+  }
+
+  private void copy(Path sourceFile, Path targetFile) throws IOException {
+    if (Files.isDirectory(targetFile)) {
+      FileUtils.deleteDirectory(targetFile.toFile());
+    }
+    Files.createDirectories(targetFile.getParent());
+    Files.copy(sourceFile, targetFile, REPLACE_EXISTING, COPY_ATTRIBUTES);
+    copiedFiles++;
+  }
+
+  private static void setLastModified(Path sourceFile, Path targetFile) throws IOException {
+    Files.setLastModifiedTime(targetFile, Files.getLastModifiedTime(sourceFile));
+  }
+
+  private static boolean isChanged(File sourceFile, File targetFile) throws IOException {
+    if (!targetFile.isFile() || sourceFile.length() != targetFile.length()) {
+      return true;
+    }
+    return sourceFile.lastModified() != targetFile.lastModified() && !FileUtils.contentEquals(sourceFile, targetFile);
+  }
+
+  private void deleteIfExists(Path path) throws IOException {
+    if (Files.isDirectory(path)) {
+      FileUtils.deleteDirectory(path.toFile());
+    } else if (Files.deleteIfExists(path)) {
+      deletedFiles++;
+    }
+  }
+
+  private static List<Path> list(Path root) throws IOException {
+    if (!Files.isDirectory(root)) {
+      return new ArrayList<>();
+    }
+    try (Stream<Path> paths = Files.walk(root)) {
+      return paths.filter(path -> !path.equals(root)).collect(Collectors.toList());
+    }
+  }
+}
@@ -12,6 +12,7 @@ package org.mule.tools.client.standalone.controller;
 import static org.apache.commons.lang3.SystemUtils.IS_OS_WINDOWS;
 
 import java.io.File;
+import java.util.Optional;
 
 public class MuleProcessController {
 
@@ -59,10 +60,18 @@ public class MuleProcessController {
     getController().deploy(path);
   }
 
+  public Optional<ExplodedArtifactSynchronizer> deployDelta(String path, String applicationName) {
+    return getController().deployDelta(path, applicationName);
+  }
+
   public boolean isDeployed(String appName) {
     return getController().isDeployed(appName);
   }
 
+  public long getAnchorLastModified(String appName) {
+    return getController().getAnchorLastModified(appName);
+  }
+
   public File getArtifactInternalRepository(String artifactName) {
     return getController().getArtifactInternalRepository(artifactName);
   }
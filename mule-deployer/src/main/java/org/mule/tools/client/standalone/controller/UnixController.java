@@ -9,9 +9,18 @@
  */
 package org.mule.tools.client.standalone.controller;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
 import java.util.regex.Matcher;
 
 import org.apache.commons.exec.*;
@@ -19,6 +28,11 @@ import org.mule.tools.client.standalone.exception.MuleControllerException;
 
 public class UnixController extends AbstractOSController {
 
+  // PID files written by the wrapper script of the Community and Enterprise runtimes
+  private static final String[] PID_FILES = {"bin/.mule_ee.pid", "bin/.mule.pid"};
+  private static final String PROC_FOLDER = "/proc";
+  private static final String WRAPPER = "wrapper";
+
   private Executor executor;
   private OutputStream outputStream;
   private ExecuteStreamHandler executeStreamHandler;
@@ -35,6 +49,10 @@ public class UnixController extends AbstractOSController {
 
   @Override
   public int getProcessId() {
+    OptionalInt processId = findRunningProcessId();
+    if (processId.isPresent()) {
+      return processId.getAsInt();
+    }
     if (isMuleRunning()) {
       return getProcessIdFromStatus();
     } else {
@@ -59,9 +77,66 @@ public class UnixController extends AbstractOSController {
 
   @Override
   public int status(String... args) {
+    if (args.length == 0 && findRunningProcessId().isPresent()) {
+      return 0;
+    }
     return runSync("status", args);
   }
 
+  /**
+   * Looks for a running runtime without executing the wrapper script, checking that the process of the PID file written by the
+   * script exists. It requires the proc filesystem, so it is only available on Linux.
+   *
+   * @return the id of the process of the runtime, or empty if it could not be confirmed that the runtime is running, in which
+   *         case the script has to be executed
+   */
+  protected OptionalInt findRunningProcessId() {
+    File procFolder = getProcFolder();
+    if (!procFolder.isDirectory()) {
+      return OptionalInt.empty();
+    }
+    for (String pidFileName : PID_FILES) {
+      File pidFile = new File(muleHome, pidFileName);
+      if (pidFile.isFile()) {
+        try {
+          int processId = Integer.parseInt(new String(Files.readAllBytes(pidFile.toPath()), UTF_8).trim());
+          // A stale PID file may point to a process id reused by another program, or by the wrapper of another runtime
+          File commandLine = new File(new File(procFolder, String.valueOf(processId)), "cmdline");
+          if (commandLine.isFile() && isWrapperOfThisRuntime(new String(Files.readAllBytes(commandLine.toPath()), UTF_8))) {
+            return OptionalInt.of(processId);
+          }
+        } catch (IOException | NumberFormatException e) {
+          // The script is executed to find out the status
+        }
+      }
+    }
+    return OptionalInt.empty();
+  }
+
+  /**
+   * @param commandLine the command line of a process, with its arguments separated by null characters
+   * @return whether the command line is the one of the wrapper of the runtime in {@code muleHome}, which receives the
+   *         configuration and the home folder of the runtime as arguments
+   */
+  private boolean isWrapperOfThisRuntime(String commandLine) throws IOException {
+    if (!commandLine.contains(WRAPPER)) {
+      return false;
+    }
+    Set<String> homes = new HashSet<>(asList(muleHome, new File(muleHome).getCanonicalPath()));
+    for (String argument : commandLine.split("\u0000")) {
+      for (String home : homes) {
+        if (argument.equals(home) || argument.endsWith("=" + home) || argument.contains(home + "/")) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  protected File getProcFolder() {
+    return new File(PROC_FOLDER);
+  }
+
   private ExecuteStreamHandler getExecuteStreamHandler(OutputStream outputStream) {
     if (executeStreamHandler == null) {
       executeStreamHandler = new PumpStreamHandler(outputStream);
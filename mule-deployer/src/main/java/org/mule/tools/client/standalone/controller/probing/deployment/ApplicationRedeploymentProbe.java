@@ -0,0 +1,46 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.client.standalone.controller.probing.deployment;
+
+import org.mule.tools.client.standalone.controller.MuleProcessController;
+import org.mule.tools.client.standalone.controller.probing.Probe;
+
+/**
+ * Checks if a Mule application that was already deployed is successfully redeployed.
+ * <p>
+ * The anchor file of the previous deployment is kept while the application is redeployed, so the application is considered
+ * redeployed once its anchor file is written again.
+ */
+public class ApplicationRedeploymentProbe implements Probe {
+
+  private final MuleProcessController mule;
+  private final String artifactName;
+  private final long previousAnchorLastModified;
+
+  /**
+   * @param mule A controller for the runtime instance.
+   * @param artifactName The application which status is being checked.
+   * @param previousAnchorLastModified The last modified time of the anchor file before the redeployment, or 0 if there was none.
+   */
+  public ApplicationRedeploymentProbe(MuleProcessController mule, String artifactName, long previousAnchorLastModified) {
+    this.mule = mule;
+    this.artifactName = artifactName;
+    this.previousAnchorLastModified = previousAnchorLastModified;
+  }
+
+  public boolean isSatisfied() {
+    long anchorLastModified = mule.getAnchorLastModified(artifactName);
+    return anchorLastModified != 0 && anchorLastModified != previousAnchorLastModified;
+  }
+
+  public String describeFailure() {
+    return "Application [" + artifactName + "] is not redeployed.";
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.client.standalone.controller.probing.deployment;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.mule.tools.client.standalone.controller.MuleProcessController;
+import org.mule.tools.client.standalone.exception.MuleControllerException;
+
+/**
+ * Follows the logs of a Mule Runtime while an artifact is being deployed, looking for the messages the runtime writes when the
+ * deployment of that artifact succeeds or fails.
+ * <p>
+ * Only the content written after the monitor is created is considered, so it should be created before the artifact is copied
+ * to the runtime. Each {@link #poll()} reads just the content appended since the previous one.
+ */
+public class DeploymentLogMonitor {
+
+  private static final int EXCERPT_LINES = 40;
+  private static final int READ_BUFFER_SIZE = 8 * 1024;
+
+  private final List<LogTail> tails = new ArrayList<>();
+  private final String successMarker;
+  private final List<String> failureMarkers = new ArrayList<>();
+  private final Deque<String> recentLines = new ArrayDeque<>();
+
+  private boolean deployed;
+  private boolean failed;
+  private int linesAfterFailure;
+
+  /**
+   * Creates a monitor for the deployment of an application, following the runtime log and the log of the application.
+   */
+  public static DeploymentLogMonitor forApplication(MuleProcessController mule, String applicationName) {
+    return new DeploymentLogMonitor(applicationName, "Started app '" + applicationName + "'",
+                                    "Failed to deploy app '" + applicationName + "'", mule::getLog,
+                                    () -> mule.getLog(applicationName));
+  }
+
+  /**
+   * Creates a monitor for the deployment of a domain, following the runtime log.
+   */
+  public static DeploymentLogMonitor forDomain(MuleProcessController mule, String domainName) {
+    return new DeploymentLogMonitor(domainName, "Started domain '" + domainName + "'",
+                                    "Failed to deploy domain '" + domainName + "'", mule::getLog);
+  }
+
+  @SafeVarargs
+  private DeploymentLogMonitor(String artifactName, String successMarker, String failureMarker, Supplier<File>... logs) {
+    this.successMarker = successMarker;
+    failureMarkers.add(failureMarker);
+    // Message logged by the deployer of Mule 4 for any kind of artifact
+    failureMarkers.add("Failed to deploy artifact [" + artifactName + "]");
+    for (Supplier<File> log : logs) {
+      tails.add(new LogTail(log));
+    }
+  }
+
+  /**
+   * Reads the content appended to the logs since the last poll.
+   */
+  public void poll() {
+    for (LogTail tail : tails) {
+      for (String line : tail.readLines()) {
+        process(line);
+      }
+    }
+  }
+
+  /**
+   * @return whether the runtime reported that the artifact was deployed
+   */
+  public boolean isDeployed() {
+    return deployed;
+  }
+
+  /**
+   * @return whether the runtime reported that the deployment of the artifact failed
+   */
+  public boolean isFailed() {
+    return failed;
+  }
+
+  /**
+   * @return the last lines read from the logs, which include the failure when the deployment failed
+   */
+  public String getExcerpt() {
+    return String.join(System.lineSeparator(), recentLines);
+  }
+
+  private void process(String line) {
+    if (failed) {
+      // Keep the lines following the failure, usually its cause, dropping the oldest ones
+      if (linesAfterFailure++ < EXCERPT_LINES / 2) {
+        addRecentLine(line);
+      }
+      return;
+    }
+    addRecentLine(line);
+    if (failureMarkers.stream().anyMatch(line::contains)) {
+      failed = true;
+    } else if (line.contains(successMarker)) {
+      deployed = true;
+    }
+  }
+
+  private void addRecentLine(String line) {
+    if (recentLines.size() == EXCERPT_LINES) {
+      recentLines.removeFirst();
+    }
+    recentLines.addLast(line);
+  }
+
+  /**
+   * Reads a log incrementally, starting from its size when it was created. Logs that do not exist yet are read from the
+   * beginning once they are created, and logs that get shorter, as when they are rolled, are read again from the beginning.
+   */
+  private static class LogTail {
+
+    private final Supplier<File> log;
+    private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+    private long offset;
+
+    private LogTail(Supplier<File> log) {
+      this.log = log;
+      File file = resolve();
+      offset = file != null ? file.length() : 0;
+    }
+
+    private List<String> readLines() {
+      List<String> lines = new ArrayList<>();
+      File file = resolve();
+      if (file == null) {
+        return lines;
+      }
+      long length = file.length();
+      if (length < offset) {
+        offset = 0;
+        partialLine.reset();
+      }
+      if (length == offset) {
+        return lines;
+      }
+      try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+        input.seek(offset);
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        int read;
+        while (offset < length && (read = input.read(buffer, 0, (int) Math.min(buffer.length, length - offset))) > 0) {
+          offset += read;
+          for (int i = 0; i < read; i++) {
+            if (buffer[i] == '\n') {
+              lines.add(new String(partialLine.toByteArray(), UTF_8).replace("\r", ""));
+              partialLine.reset();
+            } else {
+              partialLine.write(buffer[i]);
+            }
+          }
+        }
+      } catch (IOException e) {
+        // The log may be rolled while it is read, it is read again in the next poll
+      }
+      return lines;
+    }
+
+    private File resolve() {
+      try {
+        File file = log.get();
+        return file != null && file.isFile() ? file : null;
+      } catch (MuleControllerException e) {
+        return null;
+      }
+    }
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.client.standalone.controller.probing.deployment;
+
+import org.mule.tools.client.standalone.controller.probing.Probe;
+
+/**
+ * Checks a deployment {@link Probe}, finishing as soon as the {@link DeploymentLogMonitor} finds that the deployment succeeded
+ * or failed, so a failed deployment does not have to wait until the probe times out.
+ */
+public class LogMonitoringProbe implements Probe {
+
+  private final Probe probe;
+  private final DeploymentLogMonitor monitor;
+
+  public LogMonitoringProbe(Probe probe, DeploymentLogMonitor monitor) {
+    this.probe = probe;
+    this.monitor = monitor;
+  }
+
+  @Override
+  public boolean isSatisfied() {
+    monitor.poll();
+    return monitor.isFailed() || monitor.isDeployed() || probe.isSatisfied();
+  }
+
+  @Override
+  public String describeFailure() {
+    return probe.describeFailure();
+  }
+}
@@ -10,11 +10,15 @@
 package org.mule.tools.deployment;
 
 import org.mule.tools.client.core.exception.DeploymentException;
+import org.mule.tools.client.core.metrics.ClientMetrics;
 import org.mule.tools.model.Deployment;
 import org.mule.tools.utils.DeployerLog;
 
 import static org.mule.tools.deployment.AbstractDeployerFactory.getDeployerFactory;
 
+import java.io.File;
+import java.io.IOException;
+
 public class DefaultDeployer implements Deployer {
 
   /**
@@ -32,8 +36,16 @@ public class DefaultDeployer implements Deployer {
    */
   private final String applicationName;
 
+  /**
+   * Metrics of the requests performed during the deployment, and the file where they are written after each operation.
+   */
+  private ClientMetrics clientMetrics;
+  private File clientMetricsFile;
+
   public DefaultDeployer(Deployment deployment, DeployerLog log) throws DeploymentException {
     this(getDeployerFactory(deployment).createArtifactDeployer(deployment, log), deployment.getApplicationName(), log);
+    this.clientMetrics = deployment.getClientMetrics();
+    this.clientMetricsFile = deployment.getClientMetricsFile().orElse(null);
   }
 
   public DefaultDeployer(Deployer deployer, String applicationName, DeployerLog log) {
@@ -50,7 +62,11 @@ public class DefaultDeployer implements Deployer {
   @Override
   public void deploy() throws DeploymentException {
     log.info(String.format("Deploying artifact %s", applicationName));
-    deployer.deploy();
+    try {
+      deployer.deploy();
+    } finally {
+      writeClientMetrics();
+    }
     log.info(String.format("Artifact %s deployed", applicationName));
   }
 
@@ -63,7 +79,24 @@ public class DefaultDeployer implements Deployer {
   @Override
   public void undeploy() throws DeploymentException {
     log.info(String.format("Undeploying artifact %s", applicationName));
-    deployer.undeploy();
+    try {
+      deployer.undeploy();
+    } finally {
+      writeClientMetrics();
+    }
     log.info(String.format("Artifact %s undeployed", applicationName));
   }
+
+  private void writeClientMetrics() {
+    if (clientMetrics == null || clientMetricsFile == null || clientMetrics.getRequests() == 0) {
+      return;
+    }
+    try {
+      clientMetrics.writeTo(clientMetricsFile);
+      log.debug(String.format("Client metrics written to %s", clientMetricsFile.getAbsolutePath()));
+    } catch (IOException e) {
+      log.warn(String.format("Could not write the client metrics to %s: %s", clientMetricsFile.getAbsolutePath(),
+                             e.getMessage()));
+    }
+  }
 }
@@ -17,70 +17,176 @@ import org.mule.tools.deployment.artifact.ArtifactDeployer;
 import org.mule.tools.utils.DeployerLog;
 import org.mule.tools.verification.agent.AgentDeploymentVerification;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.stream.Collectors.toList;
+
 /**
- * Deploys mule artifacts to the Agent using the {@link AgentClient}.
+ * Deploys mule artifacts to the Agent using the {@link AgentClient}. When the deployment has several agents, the artifact is
+ * deployed to all of them concurrently and the failures of every agent are reported together.
  */
 public class AgentArtifactDeployer implements ArtifactDeployer {
 
   private static final Long DEFAULT_AGENT_TIMEOUT = 60000L;
+  private static final int DEFAULT_MAX_CONCURRENT_DEPLOYMENTS = 5;
 
   private final AgentDeployment deployment;
 
   /**
-   * The agent client. It should know how to call the agent API.
+   * The agent clients, one per agent. They should know how to call the agent API.
    */
-  private final AgentClient client;
+  private final List<AgentClient> clients;
 
   public AgentArtifactDeployer(Deployment deployment, DeployerLog log) {
-    this(deployment, new AgentClient(log, deployment));
+    this(deployment, createClients((AgentDeployment) deployment, log));
   }
 
   protected AgentArtifactDeployer(Deployment deployment, AgentClient client) {
+    this(deployment, singletonList(client));
+  }
+
+  protected AgentArtifactDeployer(Deployment deployment, List<AgentClient> clients) {
+    checkArgument(clients != null && !clients.isEmpty(), "The clients must not be empty");
     this.deployment = (AgentDeployment) deployment;
     if (!this.deployment.getDeploymentTimeout().isPresent()) {
       this.deployment.setDeploymentTimeout(DEFAULT_AGENT_TIMEOUT);
     }
-    this.client = client;
+    this.clients = clients;
+  }
+
+  private static List<AgentClient> createClients(AgentDeployment deployment, DeployerLog log) {
+    return deployment.getAgentUris().stream().map(uri -> new AgentClient(log, deployment, uri)).collect(toList());
   }
 
   /**
-   * Deploys the domain specified in the {@link Deployment} to the agent through the {@link AgentClient}.
+   * Deploys the domain specified in the {@link Deployment} to the agents through the {@link AgentClient}.
+   *
+   * @throws DeploymentException if the domain could not be deployed to any of the agents
    */
   @Override
-  public void deployDomain() {
-    client.deployDomain(deployment.getApplicationName(), deployment.getArtifact());
+  public void deployDomain() throws DeploymentException {
+    forEachAgent("deploy domain", client -> client.deployDomain(deployment.getApplicationName(), deployment.getArtifact()));
   }
 
   /**
-   * Undeploys the domain specified in the {@link Deployment} from the agent through the {@link AgentClient}.
+   * Undeploys the domain specified in the {@link Deployment} from the agents through the {@link AgentClient}.
+   *
+   * @throws DeploymentException if the domain could not be undeployed from any of the agents
    */
   @Override
-  public void undeployDomain() {
-    client.undeployDomain(deployment.getApplicationName());
+  public void undeployDomain() throws DeploymentException {
+    forEachAgent("undeploy domain", client -> client.undeployDomain(deployment.getApplicationName()));
   }
 
   /**
-   * Deploys the application specified in the {@link Deployment} to the agent through the {@link AgentClient}.
+   * Deploys the application specified in the {@link Deployment} to the agents through the {@link AgentClient}, and verifies it
+   * started in all of them.
    *
    * @throws DeploymentException
    */
   @Override
   public void deployApplication() throws DeploymentException {
-    client.deployApplication(deployment.getApplicationName(), deployment.getArtifact());
-    AgentDeploymentVerification verification = getDeploymentVerification();
-    verification.assertDeployment(deployment);
+    Map<AgentClient, RuntimeException> failures =
+        runInAgents(client -> client.deployApplication(deployment.getApplicationName(), deployment.getArtifact()));
+    if (failures.isEmpty()) {
+      getDeploymentVerification().assertDeployment(deployment);
+      return;
+    }
+
+    // Verify the agents the application was uploaded to, so the result of every agent is known
+    List<AgentClient> uploaded = clients.stream().filter(client -> !failures.containsKey(client)).collect(toList());
+    String verificationFailure = "";
+    if (!uploaded.isEmpty()) {
+      try {
+        getDeploymentVerification(uploaded).assertDeployment(deployment);
+      } catch (DeploymentException e) {
+        verificationFailure = ". " + e.getMessage();
+      }
+    }
+    throw aggregatedFailure("deploy application", failures, verificationFailure);
   }
 
   /**
-   * Undeploys the application specified in the {@link Deployment} from the agent through the {@link AgentClient}.
+   * Undeploys the application specified in the {@link Deployment} from the agents through the {@link AgentClient}.
+   *
+   * @throws DeploymentException if the application could not be undeployed from any of the agents
    */
   @Override
-  public void undeployApplication() {
-    client.undeployApplication(deployment.getApplicationName());
+  public void undeployApplication() throws DeploymentException {
+    forEachAgent("undeploy application", client -> client.undeployApplication(deployment.getApplicationName()));
   }
 
 
   public AgentDeploymentVerification getDeploymentVerification() {
-    return new AgentDeploymentVerification(client);
+    return getDeploymentVerification(clients);
+  }
+
+  protected AgentDeploymentVerification getDeploymentVerification(List<AgentClient> clients) {
+    return new AgentDeploymentVerification(clients);
+  }
+
+  private void forEachAgent(String operation, Consumer<AgentClient> action) throws DeploymentException {
+    Map<AgentClient, RuntimeException> failures = runInAgents(action);
+    if (!failures.isEmpty()) {
+      throw aggregatedFailure(operation, failures, "");
+    }
+  }
+
+  /**
+   * Runs the action for every agent, at most {@code maxConcurrentDeployments} at the same time. A single agent is handled in the
+   * calling thread, so its failure is propagated as it is.
+   *
+   * @return the failure of each agent the action failed for
+   */
+  private Map<AgentClient, RuntimeException> runInAgents(Consumer<AgentClient> action) throws DeploymentException {
+    if (clients.size() == 1) {
+      action.accept(clients.get(0));
+      return emptyMap();
+    }
+
+    Map<AgentClient, RuntimeException> failures = new ConcurrentHashMap<>();
+    ExecutorService executor = newFixedThreadPool(Math.min(getMaxConcurrentDeployments(), clients.size()));
+    try {
+      List<Callable<Void>> tasks = clients.stream().<Callable<Void>>map(client -> () -> {
+        try {
+          action.accept(client);
+        } catch (RuntimeException e) {
+          failures.put(client, e);
+        }
+        return null;
+      }).collect(toList());
+      executor.invokeAll(tasks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DeploymentException("Interrupted while deploying to the agents", e);
+    } finally {
+      executor.shutdownNow();
+    }
+    return failures;
+  }
+
+  private int getMaxConcurrentDeployments() {
+    Integer maxConcurrentDeployments = deployment.getMaxConcurrentDeployments();
+    return maxConcurrentDeployments != null && maxConcurrentDeployments > 0 ? maxConcurrentDeployments
+        : DEFAULT_MAX_CONCURRENT_DEPLOYMENTS;
+  }
+
+  private DeploymentException aggregatedFailure(String operation, Map<AgentClient, RuntimeException> failures,
+                                                String detail) {
+    StringBuilder message = new StringBuilder("Could not " + operation + " in " + failures.size() + " of " + clients.size()
+        + " agents:");
+    clients.stream().filter(failures::containsKey)
+        .forEach(client -> message.append(" ").append(client.getUri()).append(" (").append(failures.get(client).getMessage())
+            .append(")"));
+    return new DeploymentException(message.append(detail).toString(), failures.values().iterator().next());
   }
 }
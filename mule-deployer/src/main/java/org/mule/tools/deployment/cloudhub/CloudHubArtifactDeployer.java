@@ -10,6 +10,7 @@
 package org.mule.tools.deployment.cloudhub;
 
 import org.mule.tools.client.arm.model.User;
+import org.mule.tools.client.arm.model.UserInfo;
 import org.mule.tools.client.cloudhub.CloudHubClient;
 import org.mule.tools.client.cloudhub.model.Application;
 import org.mule.tools.client.cloudhub.model.Environment;
@@ -25,8 +26,15 @@ import org.mule.tools.verification.DeploymentVerification;
 import org.mule.tools.verification.cloudhub.CloudHubDeploymentVerification;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 /**
@@ -38,12 +46,14 @@ public class CloudHubArtifactDeployer implements ArtifactDeployer {
   private static final String DEFAULT_CH_WORKER_TYPE = "Micro";
   private static final Integer DEFAULT_CH_WORKERS = 1;
   private static final Long DEFAULT_CLOUDHUB_DEPLOYMENT_TIMEOUT = 600000L;
+  private static final int SNAPSHOT_THREADS = 2;
 
   private final DeployerLog log;
   private final CloudHubDeployment deployment;
 
   private CloudHubClient client;
   private DeploymentVerification deploymentVerification;
+  private PreDeploymentSnapshot snapshot;
 
   public CloudHubArtifactDeployer(Deployment deployment, DeployerLog log) {
     this(deployment, new CloudHubClient((CloudHubDeployment) deployment, log), log);
@@ -54,7 +64,7 @@ public class CloudHubArtifactDeployer implements ArtifactDeployer {
 
     this.log = log;
     this.client = cloudHubClient;
-    this.deploymentVerification = new CloudHubDeploymentVerification(client);
+    this.deploymentVerification = new CloudHubDeploymentVerification(client, log);
 
     this.deployment = (CloudHubDeployment) deployment;
     if (!this.deployment.getDeploymentTimeout().isPresent()) {
@@ -116,21 +126,59 @@ public class CloudHubArtifactDeployer implements ArtifactDeployer {
   /**
    * Creates or update an application in CloudHub.
    * <p>
-   * If the domain name is available it gets created. Otherwise, it tries to update the existent application.
+   * If the application exists it gets updated. Otherwise, it gets created if the domain name is available.
    *
    * @throws DeploymentException If the application is not available and cannot be updated
    */
   protected void createOrUpdateApplication() throws DeploymentException {
-    configureObjectStore();
-    if (client.isDomainAvailable(deployment.getApplicationName())) {
-      createApplication();
-    } else {
-      updateApplication();
-      try {
-        Thread.sleep(deployment.getWaitBeforeValidation());
-      } catch (InterruptedException e) {
-        log.warn("Could not wait for application start-up validation. Application may still be deploying.");
+    snapshot = takeSnapshot();
+    try {
+      if (snapshot.currentApplication == null && snapshot.domainAvailable) {
+        createApplication();
+      } else {
+        updateApplication();
+      }
+    } finally {
+      snapshot = null;
+    }
+  }
+
+  /**
+   * Fetches what is needed to know before uploading the application, running the lookups that do not depend on each other
+   * concurrently. The availability of the domain and the current user are only needed when the application does not exist.
+   */
+  private PreDeploymentSnapshot takeSnapshot() throws DeploymentException {
+    ExecutorService executor = newFixedThreadPool(SNAPSHOT_THREADS);
+    try {
+      CompletableFuture<Environment> environment =
+          deployment.getObjectStoreV2() == null ? supplyAsync(client::getEnvironment, executor) : completedFuture(null);
+
+      PreDeploymentSnapshot snapshot = new PreDeploymentSnapshot();
+      snapshot.currentApplication = client.getApplications(deployment.getApplicationName());
+      if (snapshot.currentApplication == null) {
+        CompletableFuture<UserInfo> me = supplyAsync(client::getMe, executor);
+        snapshot.domainAvailable = client.isDomainAvailable(deployment.getApplicationName());
+        snapshot.user = snapshot.domainAvailable ? join(me).user : null;
+      }
+
+      if (deployment.getObjectStoreV2() == null) {
+        deployment.setObjectStoreV2(!join(environment).getObjectStoreV1Enabled());
       }
+      return snapshot;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      // Propagate the failure of the lookup as if it was executed in this thread
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
     }
   }
 
@@ -139,7 +187,7 @@ public class CloudHubArtifactDeployer implements ArtifactDeployer {
    */
   protected void createApplication() {
     log.info("Creating application: " + deployment.getApplicationName());
-    User user = client.getMe().user;
+    User user = snapshot != null && snapshot.user != null ? snapshot.user : client.getMe().user;
     Application application = getApplication(null);
     if (user.isClient) {
       application.setUserId(user.id);
@@ -154,9 +202,16 @@ public class CloudHubArtifactDeployer implements ArtifactDeployer {
    *                             happens
    */
   protected void updateApplication() throws DeploymentException {
-    Application currentApplication = client.getApplications(deployment.getApplicationName());
+    Application currentApplication =
+        snapshot != null ? snapshot.currentApplication : client.getApplications(deployment.getApplicationName());
     if (currentApplication != null) {
       log.info("Application: " + deployment.getApplicationName() + " already exists, redeploying");
+      if (deploymentVerification instanceof CloudHubDeploymentVerification) {
+        // The status of the application is the one of the previous deployment until the new one starts
+        ((CloudHubDeploymentVerification) deploymentVerification)
+            .expectNewDeployment(client.getDeployments(currentApplication).stream()
+                .map(org.mule.tools.client.cloudhub.model.Deployment::getDeploymentId).collect(toList()));
+      }
       client.updateApplication(getApplication(currentApplication), deployment.getArtifact());
     } else {
       log.error("Application name: " + deployment.getApplicationName() + " is not available. Aborting.");
@@ -253,11 +308,13 @@ public class CloudHubArtifactDeployer implements ArtifactDeployer {
     return workers;
   }
 
-  private void configureObjectStore() {
-    if (deployment.getObjectStoreV2() == null) {
-      Environment environment = client.getEnvironment();
-      deployment.setObjectStoreV2(!environment.getObjectStoreV1Enabled());
-    }
-  }
+  /**
+   * The state of the application in CloudHub before it is deployed.
+   */
+  private static class PreDeploymentSnapshot {
 
+    private Application currentApplication;
+    private boolean domainAvailable;
+    private User user;
+  }
 }
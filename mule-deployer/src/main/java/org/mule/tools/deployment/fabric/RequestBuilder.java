@@ -40,6 +40,11 @@ public class RequestBuilder {
   private static final String NAME = "name";
   private static final String DOMAIN_WILDCARD = "*";
 
+  // Lookups memoized for the deployment, as building a request needs them several times
+  private String targetId;
+  private JsonObject targetInfo;
+  private JsonArray domains;
+
   protected RequestBuilder(RuntimeFabricDeployment deployment, RuntimeFabricClient client) {
     this.deployment = deployment;
     this.client = client;
@@ -89,17 +94,23 @@ public class RequestBuilder {
   }
 
   private String resolveUrl(RuntimeFabricDeploymentSettings deploymentSettings, String targetId) {
-    JsonArray domains = client.getDomainInfo(targetId);
-    if (deploymentSettings.getPublicUrl() == null && domains.size() > 0) {
+    if (deploymentSettings.getPublicUrl() != null) {
+      return deploymentSettings.getPublicUrl();
+    }
+    if (domains == null) {
+      domains = client.getDomainInfo(targetId);
+    }
+    if (domains.size() > 0) {
       String domain = domains.get(0).getAsString();
       return domain.replace(DOMAIN_WILDCARD, deployment.getApplicationName());
-    } else {
-      return deploymentSettings.getPublicUrl();
     }
+    return null;
   }
 
   private String resolveTag(String targetId, String muleVersion) {
-    JsonObject targetInfo = client.getTargetInfo(targetId);
+    if (targetInfo == null) {
+      targetInfo = client.getTargetInfo(targetId);
+    }
     if (targetInfo.has("runtimes")) {
       JsonArray runtimes = targetInfo.getAsJsonArray("runtimes");
       return getTag(runtimes, muleVersion);
@@ -126,9 +137,10 @@ public class RequestBuilder {
   }
 
   private String resolveTargetId() throws DeploymentException {
-    String targetName = deployment.getTarget();
-    JsonArray targets = client.getTargets();
-    return getTargetId(targets, targetName);
+    if (targetId == null) {
+      targetId = getTargetId(client.getTargets(), deployment.getTarget());
+    }
+    return targetId;
   }
 
   private String getTargetId(JsonArray targets, String targetName) throws DeploymentException {
@@ -171,14 +183,29 @@ public class RequestBuilder {
   }
 
   public String getDeploymentId(Target target) {
+    return findDeploymentId(target.targetId).orElseThrow(() -> new IllegalStateException("Could not find deployment ID."));
+  }
+
+  /**
+   * @return the id of the deployment of the application in the target, or empty if the application is not deployed there
+   * @throws DeploymentException if the target does not exist
+   */
+  public Optional<String> findDeploymentId() throws DeploymentException {
+    return findDeploymentId(resolveTargetId());
+  }
+
+  private Optional<String> findDeploymentId(String targetId) {
     Deployments deployments = client.getDeployments();
+    if (deployments == null || deployments.items == null) {
+      return empty();
+    }
     for (DeploymentGenericResponse deployment : deployments) {
-      if (StringUtils.equals(deployment.name, this.deployment.getApplicationName()) &&
-          StringUtils.equals(deployment.target.targetId, target.targetId)) {
-        return deployment.id;
+      if (StringUtils.equals(deployment.name, this.deployment.getApplicationName()) && deployment.target != null
+          && StringUtils.equals(deployment.target.targetId, targetId)) {
+        return ofNullable(deployment.id);
       }
     }
-    throw new IllegalStateException("Could not find deployment ID.");
+    return empty();
   }
 
   public DeploymentModify buildDeploymentModify() throws DeploymentException {
@@ -12,9 +12,9 @@ package org.mule.tools.deployment.fabric;
 import org.mule.tools.client.core.exception.ClientException;
 import org.mule.tools.client.core.exception.DeploymentException;
 import org.mule.tools.client.fabric.RuntimeFabricClient;
+import org.mule.tools.client.fabric.model.DeploymentDetailedResponse;
 import org.mule.tools.client.fabric.model.DeploymentModify;
 import org.mule.tools.client.fabric.model.DeploymentRequest;
-import org.mule.tools.client.fabric.model.Target;
 import org.mule.tools.deployment.artifact.ArtifactDeployer;
 import org.mule.tools.model.Deployment;
 import org.mule.tools.model.anypoint.RuntimeFabricDeployment;
@@ -22,6 +22,8 @@ import org.mule.tools.utils.DeployerLog;
 import org.mule.tools.verification.DeploymentVerification;
 import org.mule.tools.verification.fabric.RuntimeFabricDeploymentVerification;
 
+import java.util.Optional;
+
 import static com.google.common.base.Preconditions.checkArgument;
 
 public class RuntimeFabricArtifactDeployer implements ArtifactDeployer {
@@ -51,40 +53,65 @@ public class RuntimeFabricArtifactDeployer implements ArtifactDeployer {
     }
   }
 
+  /**
+   * Deploys the application to Runtime Fabric, modifying its deployment if the application is already deployed to the target.
+   *
+   * @throws DeploymentException
+   */
   @Override
   public void deployApplication() throws DeploymentException {
     try {
       log.info("Starting deployment to " + deployment.getTarget());
-      DeploymentRequest request = requestBuilder.buildDeploymentRequest();
-      client.deploy(request);
-    } catch (ClientException e) {
-      if (e.getStatusCode() == BAD_REQUEST) {
-        redeployApplication();
+      Optional<String> deploymentId = requestBuilder.findDeploymentId();
+      if (deploymentId.isPresent()) {
+        expectDeployment(client.redeploy(requestBuilder.buildDeploymentModify(), deploymentId.get()));
       } else {
-        throw new DeploymentException("Could not deploy application.", e);
+        createApplication();
       }
+    } catch (ClientException e) {
+      throw new DeploymentException("Could not deploy application.", e);
     }
     if (!deployment.getSkipDeploymentVerification()) {
       checkApplicationHasStarted();
     }
   }
 
+  private void createApplication() throws DeploymentException {
+    DeploymentRequest request = requestBuilder.buildDeploymentRequest();
+    try {
+      expectDeployment(client.deploy(request));
+    } catch (ClientException e) {
+      // The application may have been deployed since it was looked up
+      if (e.getStatusCode() == BAD_REQUEST) {
+        redeployApplication();
+      } else {
+        throw e;
+      }
+    }
+  }
+
   private void redeployApplication() throws DeploymentException {
     try {
       DeploymentModify modify = requestBuilder.buildDeploymentModify();
       String deploymentId = requestBuilder.getDeploymentId(modify.target);
-      client.redeploy(modify, deploymentId);
+      expectDeployment(client.redeploy(modify, deploymentId));
     } catch (IllegalStateException e) {
       throw new DeploymentException("Could not redeploy application.", e);
     }
 
   }
 
+  private void expectDeployment(DeploymentDetailedResponse response) {
+    if (response != null && response.id != null && deploymentVerification instanceof RuntimeFabricDeploymentVerification) {
+      ((RuntimeFabricDeploymentVerification) deploymentVerification).expectDeployment(response.id);
+    }
+  }
+
   @Override
   public void undeployApplication() throws DeploymentException {
     try {
-      Target target = requestBuilder.buildTarget();
-      String deploymentId = requestBuilder.getDeploymentId(target);
+      String deploymentId =
+          requestBuilder.findDeploymentId().orElseThrow(() -> new IllegalStateException("Could not find deployment ID."));
       client.deleteDeployment(deploymentId);
     } catch (ClientException | IllegalStateException e) {
       throw new DeploymentException("Could not undeploy application.", e);
@@ -12,10 +12,14 @@ package org.mule.tools.deployment.standalone;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 
+import org.mule.tools.client.standalone.controller.ExplodedArtifactSynchronizer;
 import org.mule.tools.client.standalone.controller.MuleProcessController;
 import org.mule.tools.client.standalone.controller.probing.PollingProber;
+import org.mule.tools.client.standalone.controller.probing.Probe;
 import org.mule.tools.client.standalone.controller.probing.Prober;
-import org.mule.tools.client.standalone.controller.probing.deployment.DeploymentProbe;
+import org.mule.tools.client.standalone.controller.probing.deployment.ApplicationRedeploymentProbe;
+import org.mule.tools.client.standalone.controller.probing.deployment.DeploymentLogMonitor;
+import org.mule.tools.client.standalone.controller.probing.deployment.LogMonitoringProbe;
 import org.mule.tools.client.core.exception.DeploymentException;
 import org.mule.tools.client.standalone.exception.MuleControllerException;
 import org.mule.tools.model.Deployment;
@@ -25,6 +29,7 @@ import org.mule.tools.utils.DeployerLog;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -41,9 +46,12 @@ public class StandaloneArtifactDeployer implements ArtifactDeployer {
   private final DeployerLog log;
 
   private static final long DEFAULT_POLLING_DELAY = 1000;
+  private static final String MULE_DOMAIN_PACKAGING = "mule-domain";
 
   private MuleProcessController controller;
   private Prober prober;
+  private DeploymentLogMonitor logMonitor;
+  private Long previousAnchorLastModified;
 
   public StandaloneArtifactDeployer(Deployment deployment, MuleProcessController controller, DeployerLog log, Prober prober) {
     this.deployment = (StandaloneDeployment) deployment;
@@ -86,24 +94,54 @@ public class StandaloneArtifactDeployer implements ArtifactDeployer {
   }
 
   /**
-   * Waits for the deployment to be done. It does that by creating a prober that verifies if the artifact is running.
+   * Waits for the deployment to be done. It does that by creating a prober that verifies if the artifact is running. The logs
+   * of the runtime are followed meanwhile, so the wait finishes as soon as the runtime reports that the deployment failed.
    * 
-   * @throws DeploymentException If the artifact is not running after the deploymentTimeout time span
+   * @throws DeploymentException If the deployment failed or the artifact is not running after the deploymentTimeout time span
    */
   public void waitForDeployments() throws DeploymentException {
     if (!deployment.getArtifact().exists()) {
       throw new DeploymentException("Application does not exist: " + deployment.getArtifact());
     }
     log.info("Waiting for artifact [" + deployment.getArtifact() + "] to be deployed.");
-    String app = FilenameUtils.getBaseName(deployment.getArtifact().getName());
+    String app = deployment.getApplicationName();
+    DeploymentLogMonitor monitor = logMonitor != null ? logMonitor : createLogMonitor(app);
+    Probe probe = previousAnchorLastModified != null
+        ? new ApplicationRedeploymentProbe(controller, app, previousAnchorLastModified)
+        : createProbe(deployment.getPackaging()).isDeployed(controller, app);
+    logMonitor = null;
+    previousAnchorLastModified = null;
     try {
-      DeploymentProbe probe = createProbe(deployment.getPackaging());
-      prober.check(probe.isDeployed(controller, app));
+      prober.check(new LogMonitoringProbe(probe, monitor));
     } catch (AssertionError e) {
       log.error("Couldn't deploy application [" + app + "] after [" + deployment.getDeploymentTimeout()
           + "] miliseconds. Check Mule Runtime log");
-      throw new DeploymentException("Application deployment timeout.");
+      throw new DeploymentException("Application deployment timeout." + formatExcerpt(monitor));
     }
+    if (monitor.isFailed()) {
+      log.error("Mule Runtime failed to deploy application [" + app + "]");
+      throw new DeploymentException("Application deployment failed." + formatExcerpt(monitor));
+    }
+  }
+
+  /**
+   * Starts following the logs of the runtime, so the messages logged once the artifact is copied are not missed.
+   *
+   * @param artifactName the name the artifact is deployed with
+   */
+  protected void startLogMonitor(String artifactName) {
+    logMonitor = createLogMonitor(artifactName);
+  }
+
+  protected DeploymentLogMonitor createLogMonitor(String artifactName) {
+    return MULE_DOMAIN_PACKAGING.equals(deployment.getPackaging())
+        ? DeploymentLogMonitor.forDomain(controller, artifactName)
+        : DeploymentLogMonitor.forApplication(controller, artifactName);
+  }
+
+  private static String formatExcerpt(DeploymentLogMonitor monitor) {
+    String excerpt = monitor.getExcerpt();
+    return excerpt.isEmpty() ? "" : " Mule Runtime log:" + System.lineSeparator() + excerpt;
   }
 
   /**
@@ -173,6 +211,7 @@ public class StandaloneArtifactDeployer implements ArtifactDeployer {
     renameApplicationToApplicationName();
     File domain = deployment.getArtifact();
     checkArgument(domain != null, "Domain cannot be null");
+    startLogMonitor(deployment.getApplicationName());
     try {
       controller.deployDomain(domain.getAbsolutePath());
     } catch (MuleControllerException e) {
@@ -194,10 +233,15 @@ public class StandaloneArtifactDeployer implements ArtifactDeployer {
    */
   @Override
   public void deployApplication() throws DeploymentException {
+    if (isDeltaRedeploy()) {
+      deployApplicationDelta();
+      return;
+    }
     renameApplicationToApplicationName();
     addDomainFromstandaloneDeployment(deployment);
     File application = deployment.getArtifact();
     checkState(application != null, "Application cannot be null");
+    startLogMonitor(deployment.getApplicationName());
     try {
       controller.deploy(application.getAbsolutePath());
     } catch (MuleControllerException e) {
@@ -206,6 +250,41 @@ public class StandaloneArtifactDeployer implements ArtifactDeployer {
     }
   }
 
+  private boolean isDeltaRedeploy() {
+    return deployment.isDeltaRedeploy().orElse(false) && deployment.getArtifact() != null
+        && deployment.getArtifact().isDirectory();
+  }
+
+  /**
+   * Deploys an exploded mule application to Standalone copying only the files that changed since it was deployed. The exploded
+   * application is deployed with the application name, so it does not need to be renamed. As the anchor file of the previous
+   * deployment is kept until the runtime writes it again, its last modified time is recorded to wait for the redeployment.
+   *
+   * @throws DeploymentException
+   */
+  protected void deployApplicationDelta() throws DeploymentException {
+    addDomainFromstandaloneDeployment(deployment);
+    File application = deployment.getArtifact();
+    startLogMonitor(deployment.getApplicationName());
+    long anchorLastModified = controller.getAnchorLastModified(deployment.getApplicationName());
+    try {
+      Optional<ExplodedArtifactSynchronizer> synchronizer =
+          controller.deployDelta(application.getAbsolutePath(), deployment.getApplicationName());
+      // If nothing changed the runtime does not redeploy the application, so it is just expected to be deployed
+      if (!synchronizer.isPresent() || synchronizer.get().getCopiedFiles() > 0 || synchronizer.get().getDeletedFiles() > 0) {
+        previousAnchorLastModified = anchorLastModified;
+      }
+      if (synchronizer.isPresent()) {
+        log.info(String.format("Redeployed application [%s]: %d files copied, %d deleted, %d unchanged",
+                               deployment.getApplicationName(), synchronizer.get().getCopiedFiles(),
+                               synchronizer.get().getDeletedFiles(), synchronizer.get().getUnchangedFiles()));
+      }
+    } catch (MuleControllerException e) {
+      log.error("Couldn't deploy application: " + application);
+      throw new DeploymentException("Couldn't deploy application: " + application);
+    }
+  }
+
   /**
    * Undeploys a mule application from Standalone.
    *
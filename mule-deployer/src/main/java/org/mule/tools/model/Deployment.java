@@ -13,11 +13,13 @@ package org.mule.tools.model;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.mule.tools.client.core.exception.DeploymentException;
+import org.mule.tools.client.core.metrics.ClientMetrics;
 
 import java.io.File;
 import java.util.Optional;
 
 import static java.lang.System.getProperty;
+import static org.mule.tools.client.core.metrics.ClientMetrics.CLIENT_METRICS_FILE_NAME;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
@@ -50,6 +52,10 @@ public abstract class Deployment {
   private String groupId;
   private String version;
 
+  private File clientMetricsFile;
+
+  private final ClientMetrics clientMetrics = new ClientMetrics();
+
   /**
    * Application file to be deployed.
    *
@@ -171,6 +177,10 @@ public abstract class Deployment {
     setArtifactId(project.getArtifactId());
     setGroupId(project.getGroupId());
     setVersion(project.getVersion());
+
+    if (project.getBuild() != null && project.getBuild().getDirectory() != null) {
+      setClientMetricsFile(new File(project.getBuild().getDirectory(), CLIENT_METRICS_FILE_NAME));
+    }
   }
 
   public void setArtifactId(String artifactId) {
@@ -196,4 +206,22 @@ public abstract class Deployment {
   public String getVersion() {
     return version;
   }
+
+  /**
+   * Metrics of the requests performed by the deployer clients for this deployment.
+   */
+  public ClientMetrics getClientMetrics() {
+    return clientMetrics;
+  }
+
+  /**
+   * File where the client metrics are written once the deployment finishes. If not set, they are not written.
+   */
+  public Optional<File> getClientMetricsFile() {
+    return Optional.ofNullable(clientMetricsFile);
+  }
+
+  public void setClientMetricsFile(File clientMetricsFile) {
+    this.clientMetricsFile = clientMetricsFile;
+  }
 }
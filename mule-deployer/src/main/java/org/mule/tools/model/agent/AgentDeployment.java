@@ -15,7 +15,10 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.mule.tools.client.core.exception.DeploymentException;
 import org.mule.tools.model.Deployment;
 
+import java.util.List;
+
 import static java.lang.System.getProperty;
+import static java.util.Collections.singletonList;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.mule.tools.client.AbstractMuleClient.DEFAULT_BASE_URL;
@@ -31,6 +34,22 @@ public class AgentDeployment extends Deployment {
   @Parameter
   protected String uri;
 
+  /**
+   * URIs of the agents to deploy to. When set, the artifact is deployed to all of them concurrently and {@code uri} is ignored.
+   *
+   * @since 3.5.0
+   */
+  @Parameter
+  protected List<String> uris;
+
+  /**
+   * Maximum number of agents the artifact is uploaded to at the same time when deploying to several agents.
+   *
+   * @since 3.5.0
+   */
+  @Parameter
+  protected Integer maxConcurrentDeployments;
+
 
   public String getUri() {
     return uri;
@@ -40,6 +59,32 @@ public class AgentDeployment extends Deployment {
     this.uri = uri;
   }
 
+  public List<String> getUris() {
+    return uris;
+  }
+
+  public void setUris(List<String> uris) {
+    this.uris = uris;
+  }
+
+  /**
+   * @return the URIs of the agents to deploy to, which is just {@code uri} unless {@code uris} is set
+   */
+  public List<String> getAgentUris() {
+    if (uris != null && !uris.isEmpty()) {
+      return uris;
+    }
+    return singletonList(uri);
+  }
+
+  public Integer getMaxConcurrentDeployments() {
+    return maxConcurrentDeployments;
+  }
+
+  public void setMaxConcurrentDeployments(Integer maxConcurrentDeployments) {
+    this.maxConcurrentDeployments = maxConcurrentDeployments;
+  }
+
   @Override
   public void setEnvironmentSpecificValues() throws DeploymentException {
     // TODO why we use a prop if this is a parameter ?
@@ -37,6 +37,8 @@ public class CloudHubDeployment extends AnypointDeployment {
   @Parameter
   protected Boolean persistentQueues = false;
 
+  // Not used anymore, the verification of a redeployment waits for the new deployment to start instead
+  @Deprecated
   @Parameter
   protected Integer waitBeforeValidation = 6000;
 
@@ -28,6 +28,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import static java.lang.System.getProperty;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
 public class StandaloneDeployment extends MuleRuntimeDeployment {
 
   @Parameter(readonly = true)
@@ -46,6 +49,9 @@ public class StandaloneDeployment extends MuleRuntimeDeployment {
   @Parameter
   protected String[] arguments;
 
+  @Parameter
+  protected Boolean deltaRedeploy;
+
   @Parameter
   @Deprecated
   private File script;
@@ -133,8 +139,27 @@ public class StandaloneDeployment extends MuleRuntimeDeployment {
     this.arguments = arguments;
   }
 
+  /**
+   * When deploying an exploded application that is already deployed, only copy the files that changed and delete the removed ones
+   * instead of copying the whole application.
+   *
+   * @since 3.5.0
+   */
+  public Optional<Boolean> isDeltaRedeploy() {
+    return Optional.ofNullable(deltaRedeploy);
+  }
+
+  public void setDeltaRedeploy(boolean deltaRedeploy) {
+    this.deltaRedeploy = deltaRedeploy;
+  }
+
   public void setEnvironmentSpecificValues() throws DeploymentException {
     super.setEnvironmentSpecificValues();
+
+    String deltaRedeploy = getProperty("mule.deltaRedeploy");
+    if (isNotBlank(deltaRedeploy)) {
+      setDeltaRedeploy(Boolean.valueOf(deltaRedeploy));
+    }
   }
 
   public File getScript() {
@@ -12,6 +12,7 @@ package org.mule.tools.validation.agent;
 import org.mule.tools.client.agent.AgentClient;
 import org.mule.tools.client.core.exception.DeploymentException;
 import org.mule.tools.model.Deployment;
+import org.mule.tools.model.agent.AgentDeployment;
 import org.mule.tools.validation.AbstractDeploymentValidator;
 import org.mule.tools.validation.EnvironmentSupportedVersions;
 
@@ -32,11 +33,12 @@ public class AgentDeploymentValidator extends AbstractDeploymentValidator {
   }
 
   /**
-   * Creates an Agent client based on the deployment configuration.
+   * Creates an Agent client based on the deployment configuration. When deploying to several agents, the first one is the one
+   * validated.
    *
    * @return The generated Agent client.
    */
   private AgentClient getAgentClient() {
-    return new AgentClient(null, deployment);
+    return new AgentClient(null, deployment, ((AgentDeployment) deployment).getAgentUris().get(0));
   }
 }
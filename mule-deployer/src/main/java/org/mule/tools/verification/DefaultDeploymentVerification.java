@@ -11,9 +11,11 @@ package org.mule.tools.verification;
 
 import org.mule.tools.client.OperationRetrier;
 import org.mule.tools.client.core.exception.DeploymentException;
+import org.mule.tools.client.core.metrics.ClientMetrics;
 import org.mule.tools.model.Deployment;
 
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -41,8 +43,13 @@ public class DefaultDeploymentVerification implements DeploymentVerification {
   @Override
   public void assertDeployment(Deployment deployment) throws DeploymentException {
     deployment.getDeploymentTimeout().ifPresent(retrier::setTimeout);
+    AtomicInteger attempts = new AtomicInteger();
+    long startTime = System.currentTimeMillis();
     try {
-      retrier.retry(() -> !isDeployed.test(deployment));
+      retrier.retry(() -> {
+        attempts.incrementAndGet();
+        return !isDeployed.test(deployment);
+      });
     } catch (InterruptedException | TimeoutException e) {
       onTimeout.accept(deployment);
       throw new DeploymentException("Validation timed out waiting for application to start. " +
@@ -50,6 +57,15 @@ public class DefaultDeploymentVerification implements DeploymentVerification {
     } catch (IllegalStateException e) {
       onTimeout.accept(deployment);
       throw new DeploymentException("Deployment has failed", e);
+    } finally {
+      recordVerification(deployment.getClientMetrics(), attempts.get(), System.currentTimeMillis() - startTime);
+    }
+  }
+
+  private void recordVerification(ClientMetrics metrics, int attempts, long elapsedMillis) {
+    if (metrics != null) {
+      metrics.recordVerification(elapsedMillis);
+      metrics.recordVerificationPolls(attempts);
     }
   }
 }
@@ -18,25 +18,50 @@ import org.mule.tools.verification.DefaultDeploymentVerification;
 import org.mule.tools.verification.DeploymentVerification;
 import org.mule.tools.verification.DeploymentVerificationStrategy;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.joining;
 
+
+/**
+ * Verifies that an application started in one or several agents. All the agents are checked in the same polling loop, and the
+ * ones where the application already started are not polled again.
+ */
 public class AgentDeploymentVerification implements DeploymentVerification {
 
   private static final String STARTED_STATUS = "STARTED";
 
-  private final AgentClient client;
+  private final List<AgentClient> clients;
+  private final Set<AgentClient> pendingClients = new LinkedHashSet<>();
   private DeploymentVerification verification;
 
   public AgentDeploymentVerification(AgentClient client) {
-    this.client = client;
+    this(singletonList(client));
+  }
+
+  public AgentDeploymentVerification(List<AgentClient> clients) {
+    this.clients = clients;
     this.verification = new DefaultDeploymentVerification(new AgentDeploymentVerificationStrategy());
   }
 
   @Override
   public void assertDeployment(Deployment deployment) throws DeploymentException {
-    verification.assertDeployment(deployment);
+    pendingClients.clear();
+    pendingClients.addAll(clients);
+    try {
+      verification.assertDeployment(deployment);
+    } catch (DeploymentException e) {
+      if (clients.size() > 1) {
+        throw new DeploymentException(e.getMessage() + ". The application did not start in the agents "
+            + pendingClients.stream().map(AgentClient::getUri).collect(joining(", ")), e);
+      }
+      throw e;
+    }
   }
 
   private class AgentDeploymentVerificationStrategy implements DeploymentVerificationStrategy {
@@ -44,14 +69,19 @@ public class AgentDeploymentVerification implements DeploymentVerification {
     @Override
     public Predicate<Deployment> isDeployed() {
       return (deployment) -> {
-        Application application = client.getApplication(deployment.getApplicationName());
-        return application != null && StringUtils.equals(application.state, STARTED_STATUS);
+        pendingClients.removeIf(client -> isStarted(client, deployment));
+        return pendingClients.isEmpty();
       };
     }
 
+    private boolean isStarted(AgentClient client, Deployment deployment) {
+      Application application = client.getApplication(deployment.getApplicationName());
+      return application != null && StringUtils.equals(application.state, STARTED_STATUS);
+    }
+
     @Override
     public Consumer<Deployment> onTimeout() {
-      return deployment -> client.undeployApplication(deployment.getApplicationName());
+      return deployment -> pendingClients.forEach(client -> client.undeployApplication(deployment.getApplicationName()));
     }
   }
 }
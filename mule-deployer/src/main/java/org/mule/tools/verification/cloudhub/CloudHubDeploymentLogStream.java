@@ -0,0 +1,154 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.verification.cloudhub;
+
+import org.mule.tools.client.cloudhub.CloudHubClient;
+import org.mule.tools.client.cloudhub.model.Application;
+import org.mule.tools.client.cloudhub.model.DeploymentLogRequest;
+import org.mule.tools.client.cloudhub.model.LogLevel;
+import org.mule.tools.client.cloudhub.model.LogRecord;
+import org.mule.tools.utils.DeployerLog;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.lang.System.lineSeparator;
+import static java.util.Arrays.asList;
+
+/**
+ * Follows the logs of a CloudHub deployment while it is being verified, looking for the messages the runtime writes when the
+ * application starts or fails to deploy.
+ * <p>
+ * Each {@link #poll(Application, String)} requests just the records logged since the last one seen, using its timestamp as the
+ * cursor. Warnings, errors and the startup and failure messages are forwarded to the {@link DeployerLog}, and only the last lines
+ * are kept to report them when the deployment fails.
+ */
+public class CloudHubDeploymentLogStream {
+
+  private static final int EXCERPT_LINES = 40;
+  private static final String STARTED_MARKER = "Started app '";
+  private static final List<String> FAILURE_MARKERS = asList("Failed to deploy artifact [", "Failed to deploy app '");
+
+  private final CloudHubClient client;
+  private final DeployerLog log;
+  private final Deque<String> recentLines = new ArrayDeque<>();
+  private final Set<String> startedInstances = new HashSet<>();
+  // Records with the same timestamp as the cursor, which are returned again by the next request
+  private final Set<String> recordsAtCursor = new HashSet<>();
+
+  private Long cursor;
+  private String failure;
+  private boolean available = true;
+
+  public CloudHubDeploymentLogStream(CloudHubClient client, DeployerLog log) {
+    this.client = client;
+    this.log = log;
+  }
+
+  /**
+   * Requests the records logged by the deployment since the last poll. If the logs can not be read, for instance because the
+   * user is not allowed to, the stream stops polling them.
+   *
+   * @param application the application being deployed
+   * @param deploymentId the id of the deployment being verified
+   */
+  public void poll(Application application, String deploymentId) {
+    if (!available) {
+      return;
+    }
+    DeploymentLogRequest request = new DeploymentLogRequest();
+    request.setDeploymentId(deploymentId);
+    request.setStartTime(cursor);
+    List<LogRecord> records;
+    try {
+      records = client.getLogs(application, request);
+    } catch (RuntimeException e) {
+      available = false;
+      log.debug("Could not read the logs of the deployment " + deploymentId + ": " + e.getMessage());
+      return;
+    }
+    if (records != null) {
+      records.forEach(this::process);
+    }
+  }
+
+  private void process(LogRecord record) {
+    if (record.getEvent() == null || record.getEvent().getMessage() == null) {
+      return;
+    }
+    Long timestamp = record.getEvent().getTimestamp();
+    if (timestamp != null) {
+      if (cursor != null && timestamp < cursor) {
+        return;
+      }
+      if (cursor == null || timestamp > cursor) {
+        cursor = timestamp;
+        recordsAtCursor.clear();
+      }
+      String recordKey = record.getRecordId() != null ? record.getRecordId() : record.getInstanceId() + ":" + record.getLine();
+      if (!recordsAtCursor.add(recordKey)) {
+        return;
+      }
+    }
+
+    String line = record.getEvent().getMessage().trim();
+    recentLines.addLast(line);
+    if (recentLines.size() > EXCERPT_LINES) {
+      recentLines.removeFirst();
+    }
+
+    if (FAILURE_MARKERS.stream().anyMatch(line::contains)) {
+      if (failure == null) {
+        failure = line;
+      }
+      log.error(line);
+    } else if (line.contains(STARTED_MARKER)) {
+      startedInstances.add(String.valueOf(record.getInstanceId()));
+      log.info(line);
+    } else if (record.getEvent().getPriority() == LogLevel.ERROR) {
+      log.error(line);
+    } else if (record.getEvent().getPriority() == LogLevel.WARN) {
+      log.warn(line);
+    } else {
+      log.debug(line);
+    }
+  }
+
+  /**
+   * @return whether the runtime logged that the application failed to deploy
+   */
+  public boolean isFailed() {
+    return failure != null;
+  }
+
+  /**
+   * @return the first message logged about the failure of the deployment, or {@code null} if it did not fail
+   */
+  public String getFailure() {
+    return failure;
+  }
+
+  /**
+   * @return the number of instances that logged that the application started
+   */
+  public int getStartedInstances() {
+    return startedInstances.size();
+  }
+
+  /**
+   * @return the last lines read from the logs
+   */
+  public String getExcerpt() {
+    return String.join(lineSeparator(), recentLines);
+  }
+}
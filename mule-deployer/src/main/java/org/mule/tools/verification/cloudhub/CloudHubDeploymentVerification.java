@@ -10,36 +10,76 @@
 package org.mule.tools.verification.cloudhub;
 
 import org.mule.tools.client.cloudhub.model.Application;
+import org.mule.tools.client.cloudhub.model.Instance;
 import org.mule.tools.client.cloudhub.CloudHubClient;
 import org.mule.tools.client.core.exception.DeploymentException;
 import org.mule.tools.model.Deployment;
+import org.mule.tools.utils.DeployerLog;
 import org.mule.tools.verification.DefaultDeploymentVerification;
 import org.mule.tools.verification.DeploymentVerification;
 import org.mule.tools.verification.DeploymentVerificationStrategy;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+import static java.lang.System.lineSeparator;
 import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
 import static org.apache.commons.lang3.StringUtils.equalsIgnoreCase;
 
 public class CloudHubDeploymentVerification implements DeploymentVerification {
 
   private final CloudHubClient client;
+  private final DeployerLog log;
   private DefaultDeploymentVerification verification;
+  private Set<String> previousDeploymentIds;
+  private CloudHubDeploymentLogStream logStream;
+  private String streamedDeploymentId;
 
   private static final String FAILED_STATUS = "FAIL";
   public static final String STARTED_STATUS = "STARTED";
   static final String DEPLOYMENT_IN_PROGRESS = "DEPLOYING";
 
   public CloudHubDeploymentVerification(CloudHubClient client) {
+    this(client, null);
+  }
+
+  /**
+   * @param log where the logs of the deployment are forwarded while it is verified. If {@code null}, the logs are not read.
+   */
+  public CloudHubDeploymentVerification(CloudHubClient client, DeployerLog log) {
     this.client = client;
+    this.log = log;
     this.verification = new DefaultDeploymentVerification(new CloudHubDeploymentVerificationStrategy());
   }
 
   @Override
   public void assertDeployment(Deployment deployment) throws DeploymentException {
-    verification.assertDeployment(deployment);
+    logStream = log != null ? new CloudHubDeploymentLogStream(client, log) : null;
+    streamedDeploymentId = null;
+    try {
+      verification.assertDeployment(deployment);
+    } catch (DeploymentException e) {
+      if (logStream != null && !logStream.getExcerpt().isEmpty()) {
+        log.error("Last lines logged by the deployment:" + lineSeparator() + logStream.getExcerpt());
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Makes the verification wait for a deployment other than the given ones. Right after an application is updated, its status
+   * may still be the one of the previous deployment, so the status of the new deployment is checked as well.
+   *
+   * @param previousDeploymentIds the ids of the deployments of the application before it was updated
+   */
+  public void expectNewDeployment(Collection<String> previousDeploymentIds) {
+    this.previousDeploymentIds = new HashSet<>(previousDeploymentIds);
   }
 
   private class CloudHubDeploymentVerificationStrategy implements DeploymentVerificationStrategy {
@@ -49,6 +89,12 @@ public class CloudHubDeploymentVerification implements DeploymentVerification {
       return (deployment) -> {
         Application application = client.getApplications(deployment.getApplicationName());
         if (application != null) {
+          if (logStream != null && followLogs(application)) {
+            return true;
+          }
+          if (previousDeploymentIds != null && !isNewDeploymentStarted(application)) {
+            return false;
+          }
           if (equalsIgnoreCase(application.getDeploymentUpdateStatus(), DEPLOYMENT_IN_PROGRESS)) {
             return false;
           } else if (containsIgnoreCase(application.getStatus(), FAILED_STATUS)
@@ -61,6 +107,55 @@ public class CloudHubDeploymentVerification implements DeploymentVerification {
       };
     }
 
+    /**
+     * Reads the logs of the deployment since the last poll.
+     *
+     * @return whether every worker logged that the application started
+     * @throws IllegalStateException if the runtime logged that the application failed to deploy
+     */
+    private boolean followLogs(Application application) {
+      if (streamedDeploymentId == null) {
+        streamedDeploymentId = findNewDeployment(application)
+            .map(org.mule.tools.client.cloudhub.model.Deployment::getDeploymentId).orElse(null);
+        if (streamedDeploymentId == null) {
+          return false;
+        }
+      }
+      logStream.poll(application, streamedDeploymentId);
+      if (logStream.isFailed()) {
+        throw new IllegalStateException("Deployment failed: " + logStream.getFailure());
+      }
+      int workers = application.getWorkers() != null && application.getWorkers().getAmount() != null
+          ? application.getWorkers().getAmount()
+          : 1;
+      return logStream.getStartedInstances() >= workers;
+    }
+
+    /**
+     * @return the newest deployment of the application, ignoring the ones it had before it was updated
+     */
+    private Optional<org.mule.tools.client.cloudhub.model.Deployment> findNewDeployment(Application application) {
+      return client.getDeployments(application).stream()
+          .filter(deployment -> previousDeploymentIds == null || !previousDeploymentIds.contains(deployment.getDeploymentId()))
+          .max(Comparator
+              .comparing(deployment -> deployment.getCreateTime() != null ? deployment.getCreateTime().getTime() : 0L));
+    }
+
+    private boolean isNewDeploymentStarted(Application application) {
+      Optional<org.mule.tools.client.cloudhub.model.Deployment> newDeployment = findNewDeployment(application);
+      if (!newDeployment.isPresent()) {
+        return false;
+      }
+      List<Instance> instances = newDeployment.get().getInstances();
+      if (instances == null || instances.isEmpty()) {
+        return false;
+      }
+      if (instances.stream().anyMatch(instance -> containsIgnoreCase(instance.getStatus(), FAILED_STATUS))) {
+        throw new IllegalStateException("Deployment " + newDeployment.get().getDeploymentId() + " failed");
+      }
+      return instances.stream().allMatch(instance -> equalsIgnoreCase(STARTED_STATUS, instance.getStatus()));
+    }
+
     @Override
     public Consumer<Deployment> onTimeout() {
       return deployment -> client.stopApplications(deployment.getApplicationName());
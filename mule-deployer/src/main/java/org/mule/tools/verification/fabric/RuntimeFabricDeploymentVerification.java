@@ -15,7 +15,10 @@ import org.mule.tools.client.fabric.RuntimeFabricClient;
 import org.mule.tools.client.fabric.model.DeploymentDetailedResponse;
 import org.mule.tools.client.fabric.model.DeploymentGenericResponse;
 import org.mule.tools.client.fabric.model.Deployments;
+import org.mule.tools.client.fabric.model.Replica;
 import org.mule.tools.model.Deployment;
+import org.mule.tools.model.anypoint.RuntimeFabricDeployment;
+import org.mule.tools.model.anypoint.RuntimeFabricDeploymentSettings;
 import org.mule.tools.verification.DefaultDeploymentVerification;
 import org.mule.tools.verification.DeploymentVerification;
 import org.mule.tools.verification.DeploymentVerificationStrategy;
@@ -27,10 +30,12 @@ public class RuntimeFabricDeploymentVerification implements DeploymentVerificati
 
   private final RuntimeFabricClient client;
   private DefaultDeploymentVerification verification;
+  private String deploymentId;
 
   private static final String FAILED_STATUS = "FAILED";
   private static final String APPLIED_STATUS = "APPLIED";
   private static final String STARTED_STATUS = "STARTED";
+  private static final String CRASH_LOOP = "CrashLoopBackOff";
 
   public RuntimeFabricDeploymentVerification(RuntimeFabricClient client) {
     this.client = client;
@@ -42,17 +47,19 @@ public class RuntimeFabricDeploymentVerification implements DeploymentVerificati
     verification.assertDeployment(deployment);
   }
 
-  private class RuntimeFabricDeploymentVerificationStrategy implements DeploymentVerificationStrategy {
-
-    private Deployments deployments;
-    private String deploymentId;
+  /**
+   * Makes the verification check the given deployment, as returned when the application was deployed or modified, instead of
+   * looking it up by the application name.
+   *
+   * @param deploymentId the id of the deployment of the application
+   */
+  public void expectDeployment(String deploymentId) {
+    this.deploymentId = deploymentId;
+  }
 
-    private RuntimeFabricDeploymentVerificationStrategy() {
-      deployments = client.getDeployments();
-    }
+  private class RuntimeFabricDeploymentVerificationStrategy implements DeploymentVerificationStrategy {
 
     @Override
-
     public Predicate<Deployment> isDeployed() {
       return (deployment) -> {
         String deploymentId = getDeploymentId(deployment);
@@ -63,22 +70,69 @@ public class RuntimeFabricDeploymentVerification implements DeploymentVerificati
         if (response != null) {
           if (StringUtils.equals(response.status, FAILED_STATUS)) {
             throw new IllegalStateException("Deployment failed");
-          } else if (StringUtils.equals(response.status, APPLIED_STATUS)
-              || StringUtils.equals(response.status, STARTED_STATUS)) {
-            return true;
           }
+          if (response.replicas != null && !response.replicas.isEmpty()) {
+            return areReplicasReady(response, getDesiredReplicas(deployment));
+          }
+          return isApplied(response);
         }
         return false;
       };
     }
 
+    private boolean isApplied(DeploymentDetailedResponse response) {
+      return StringUtils.equals(response.status, APPLIED_STATUS) || StringUtils.equals(response.status, STARTED_STATUS);
+    }
+
+    /**
+     * @return whether the desired number of replicas of the current version of the deployment are started or, if the replicas do
+     *         not report their status, whether the deployment is applied
+     * @throws IllegalStateException if a replica of the current version failed or is crash looping
+     */
+    private boolean areReplicasReady(DeploymentDetailedResponse response, int desiredReplicas) {
+      int readyReplicas = 0;
+      boolean statusReported = false;
+      for (Replica replica : response.replicas) {
+        if (!isCurrentVersion(replica, response)) {
+          continue;
+        }
+        if (StringUtils.equals(replica.status, FAILED_STATUS)
+            || StringUtils.containsIgnoreCase(replica.errorMessage, CRASH_LOOP)) {
+          throw new IllegalStateException("Replica " + replica.id + " failed"
+              + (replica.errorMessage != null ? ": " + replica.errorMessage : ""));
+        }
+        if (StringUtils.equals(replica.status, STARTED_STATUS)) {
+          readyReplicas++;
+        }
+        statusReported |= replica.status != null;
+      }
+      return statusReported ? readyReplicas >= desiredReplicas : isApplied(response);
+    }
+
+    private boolean isCurrentVersion(Replica replica, DeploymentDetailedResponse response) {
+      return replica.currentDeploymentVersion == null || response.version == null
+          || StringUtils.equals(replica.currentDeploymentVersion, response.version);
+    }
+
+    private int getDesiredReplicas(Deployment deployment) {
+      if (deployment instanceof RuntimeFabricDeployment) {
+        RuntimeFabricDeploymentSettings settings = ((RuntimeFabricDeployment) deployment).getDeploymentSettings();
+        if (settings != null && settings.getReplicationFactor() != null) {
+          return settings.getReplicationFactor();
+        }
+      }
+      return 1;
+    }
+
     private String getDeploymentId(Deployment deployment) {
       if (deploymentId == null) {
-        deployments = client.getDeployments();
-        for (DeploymentGenericResponse dep : deployments) {
-          if (StringUtils.equals(dep.name, deployment.getApplicationName())) {
-            deploymentId = dep.id;
-            return deploymentId;
+        Deployments deployments = client.getDeployments();
+        if (deployments != null && deployments.items != null) {
+          for (DeploymentGenericResponse dep : deployments) {
+            if (StringUtils.equals(dep.name, deployment.getApplicationName())) {
+              deploymentId = dep.id;
+              return deploymentId;
+            }
           }
         }
       }
@@ -0,0 +1,98 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.client.arm;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mule.tools.client.model.TargetType.server;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mule.tools.client.arm.model.Applications;
+import org.mule.tools.client.arm.model.Artifact;
+import org.mule.tools.client.arm.model.Data;
+import org.mule.tools.client.arm.model.Target;
+import org.mule.tools.client.arm.model.Targets;
+import org.mule.tools.model.anypoint.ArmDeployment;
+
+public class ArmClientTest {
+
+  private static final String SERVERS = ArmClient.HYBRID_API_V1 + "/servers";
+
+  private ArmClient client;
+
+  @Before
+  public void setUp() {
+    ArmDeployment armDeployment = new ArmDeployment();
+    armDeployment.setUri("https://anypoint.mulesoft.com");
+    armDeployment.setAuthToken("dummyToken");
+    armDeployment.setEnvironment("dummyEnv");
+    armDeployment.setArmInsecure(false);
+    client = spy(new ArmClient(armDeployment, null));
+
+    Targets targets = new Targets();
+    targets.data = new Target[] {target("1", "server-a"), target("2", "server-b")};
+    doReturn(targets).when(client).getTargets(SERVERS);
+
+    Applications applications = new Applications();
+    applications.data = new Data[] {application(10, "app-a", "2"), application(11, "app-b", "2"), application(12, "app-a", "1")};
+    doReturn(applications).when(client).getApplications(anyString());
+  }
+
+  @Test
+  public void targetsAreFetchedOnce() {
+    assertThat(client.findServerByName("server-a").id, is("1"));
+    assertThat(client.findServerByName("server-b").id, is("2"));
+
+    verify(client, times(1)).getTargets(SERVERS);
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void missingTargetFails() {
+    client.findServerByName("server-c");
+  }
+
+  @Test
+  public void applicationsAreFetchedOncePerTarget() {
+    assertThat(client.findApplicationId(new ApplicationMetadata(null, "app-a", server, "server-b")), is(10));
+    assertThat(client.findApplicationId(new ApplicationMetadata(null, "app-b", server, "server-b")), is(11));
+
+    verify(client, times(1)).getApplications("2");
+  }
+
+  @Test
+  public void applicationsOfOtherTargetsAreIgnored() {
+    assertThat(client.findApplicationId(new ApplicationMetadata(null, "app-a", server, "server-a")), is(12));
+    assertThat(client.findApplicationId(new ApplicationMetadata(null, "app-b", server, "server-a")), nullValue());
+  }
+
+  private static Target target(String id, String name) {
+    Target target = new Target();
+    target.id = id;
+    target.name = name;
+    return target;
+  }
+
+  private static Data application(int id, String name, String targetId) {
+    Data application = new Data();
+    application.id = id;
+    application.artifact = new Artifact();
+    application.artifact.name = name;
+    application.target = target(targetId, null);
+    return application;
+  }
+}
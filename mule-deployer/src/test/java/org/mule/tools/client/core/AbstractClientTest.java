@@ -9,11 +9,23 @@
  */
 package org.mule.tools.client.core;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+
+import javax.ws.rs.core.Response;
 
 import org.junit.Test;
 
+import com.google.gson.reflect.TypeToken;
+
 /**
  * @author Mulesoft Inc.
  * @since 3.0.0
@@ -33,4 +45,14 @@ public class AbstractClientTest {
     assertThat(userAgent, is("mule-deployer"));
   }
 
+  @Test
+  public void readJsonEntityFromStream() {
+    Response response = mock(Response.class);
+    when(response.readEntity(InputStream.class)).thenReturn(new ByteArrayInputStream("[\"first\",\"second\"]".getBytes(UTF_8)));
+
+    List<String> entity = new TesteableClient().readJsonEntity(response, new TypeToken<List<String>>() {}.getType());
+
+    assertThat(entity, contains("first", "second"));
+  }
+
 }
@@ -0,0 +1,95 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.client.core;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.ws.rs.core.Response;
+
+import org.junit.Test;
+import org.mule.tools.client.core.metrics.ClientMetrics;
+
+public class RequestSchedulerTest {
+
+  private final List<Long> delays = new ArrayList<>();
+
+  private final RequestScheduler scheduler = new RequestScheduler(0, 3) {
+
+    @Override
+    protected void sleep(long millis) {
+      delays.add(millis);
+    }
+  };
+
+  @Test
+  public void throttledRequestsHonorRetryAfter() {
+    ClientMetrics metrics = new ClientMetrics();
+    Response response = scheduler.execute("POST", responses(response(429, "2"), response(429, "1"), response(201, null)), null,
+                                          metrics);
+
+    assertThat(response.getStatus(), is(201));
+    assertThat(delays, contains(2000L, 1000L));
+    assertThat(metrics.getRequestRetries(), is(2L));
+  }
+
+  @Test
+  public void transientFailuresOfIdempotentRequestsAreRetriedWithBackoff() {
+    Response response = scheduler.execute("GET", responses(response(503, null), response(502, null), response(200, null)), null,
+                                          null);
+
+    assertThat(response.getStatus(), is(200));
+    assertThat(delays.size(), is(2));
+    assertThat(delays.get(0), lessThanOrEqualTo(500L));
+    assertThat(delays.get(1), lessThanOrEqualTo(1000L));
+  }
+
+  @Test
+  public void transientFailuresOfNonIdempotentRequestsAreNotRetried() {
+    Response response = scheduler.execute("POST", responses(response(503, null), response(200, null)), null, null);
+
+    assertThat(response.getStatus(), is(503));
+    assertThat(delays.isEmpty(), is(true));
+  }
+
+  @Test
+  public void lastResponseIsReturnedWhenRetriesAreExhausted() {
+    Response response = scheduler.execute("GET", responses(response(429, "120"), response(429, "120"), response(429, "120"),
+                                                           response(429, "120")),
+                                          null, null);
+
+    assertThat(response.getStatus(), is(429));
+    assertThat(delays.size(), is(3));
+    assertThat(delays, everyItem(is(60000L)));
+  }
+
+  private static Supplier<Response> responses(Response... responses) {
+    Iterator<Response> iterator = asList(responses).iterator();
+    return iterator::next;
+  }
+
+  private static Response response(int status, String retryAfter) {
+    Response response = mock(Response.class);
+    when(response.getStatus()).thenReturn(status);
+    when(response.getHeaderString("Retry-After")).thenReturn(retryAfter);
+    return response;
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.client.core.logging;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.Response.Status;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mule.tools.utils.DeployerLog;
+
+public class ClientLoggingFilterTest {
+
+  private static final String BODY = "{\"applications\":[\"first\",\"second\"]}";
+
+  private DeployerLog logMock;
+  private ClientRequestContext requestContextMock;
+  private ClientResponseContext responseContextMock;
+
+  @Before
+  public void setUp() {
+    logMock = mock(DeployerLog.class);
+    requestContextMock = mock(ClientRequestContext.class);
+    responseContextMock = mock(ClientResponseContext.class);
+    when(responseContextMock.getStatus()).thenReturn(200);
+    when(responseContextMock.getStatusInfo()).thenReturn(Status.OK);
+    when(responseContextMock.getHeaders()).thenReturn(new MultivaluedHashMap<>());
+    when(responseContextMock.hasEntity()).thenReturn(true);
+    when(responseContextMock.getEntityStream()).thenReturn(new ByteArrayInputStream(BODY.getBytes(UTF_8)));
+  }
+
+  @Test
+  public void loggedResponseBodyIsTruncated() throws IOException {
+    when(logMock.isDebugEnabled()).thenReturn(true);
+
+    new ClientLoggingFilter(logMock, 10).filter(requestContextMock, responseContextMock);
+
+    ArgumentCaptor<String> logged = ArgumentCaptor.forClass(String.class);
+    verify(logMock).debug(logged.capture());
+    assertThat(logged.getValue(), containsString(BODY.substring(0, 10) + "... (truncated)"));
+    assertThat(logged.getValue(), not(containsString(BODY)));
+
+    ArgumentCaptor<InputStream> entityStream = ArgumentCaptor.forClass(InputStream.class);
+    verify(responseContextMock).setEntityStream(entityStream.capture());
+    assertThat(IOUtils.toString(entityStream.getValue(), UTF_8), is(BODY));
+  }
+
+  @Test
+  public void responseBodyIsNotBufferedWithoutDebug() throws IOException {
+    new ClientLoggingFilter(logMock, 10).filter(requestContextMock, responseContextMock);
+
+    verify(responseContextMock, never()).getEntityStream();
+    verify(responseContextMock, never()).setEntityStream(any());
+    verify(logMock, never()).debug(any());
+  }
+
+  @Test
+  public void loggedRequestBodyIsTruncated() throws IOException {
+    ByteArrayOutputStream sent = new ByteArrayOutputStream();
+    RequestLoggingStream stream = new RequestLoggingStream(new StringBuilder(), sent, 10);
+
+    stream.write(BODY.getBytes(UTF_8));
+
+    assertThat(new String(sent.toByteArray(), UTF_8), is(BODY));
+    assertThat(stream.getRequestLog(), containsString(BODY.substring(0, 10) + "... (truncated)"));
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.client.core.metrics;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.core.Is.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+public class ClientMetricsTest {
+
+  private static final String APPLICATION_ID = "5a37fb2a-6e5f-4a3c-9b0f-1d2e3c4b5a69";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final ClientMetrics metrics = new ClientMetrics();
+
+  @Test
+  public void identifiersAreReplacedInEndpointTemplates() {
+    assertThat(ClientMetrics.getEndpointTemplate(URI.create("https://anypoint.mulesoft.com/hybrid/api/v1/applications/"
+        + APPLICATION_ID + "?targetId=42")), is("/hybrid/api/v1/applications/{id}"));
+    assertThat(ClientMetrics.getEndpointTemplate(URI.create("https://anypoint.mulesoft.com/hybrid/api/v1/servers/1234")),
+               is("/hybrid/api/v1/servers/{id}"));
+    assertThat(ClientMetrics.getEndpointTemplate(URI.create("https://anypoint.mulesoft.com/accounts/api/me")),
+               is("/accounts/api/me"));
+    assertThat(ClientMetrics.getEndpointTemplate(URI.create("http://localhost:9999")), is("/"));
+  }
+
+  @Test
+  public void requestsAreAggregatedByEndpoint() {
+    metrics.recordRequest("GET", URI.create("https://anypoint.mulesoft.com/hybrid/api/v1/applications/1"), 200, 10);
+    metrics.recordRequest("GET", URI.create("https://anypoint.mulesoft.com/hybrid/api/v1/applications/2"), 404, 20);
+    metrics.recordRequest("DELETE", URI.create("https://anypoint.mulesoft.com/hybrid/api/v1/applications/1"), 204, 30);
+
+    assertThat(metrics.getRequests(), is(3L));
+    assertThat(metrics.getEndpointRequests(), hasEntry("GET /hybrid/api/v1/applications/{id}", 2L));
+    assertThat(metrics.getEndpointRequests(), hasEntry("DELETE /hybrid/api/v1/applications/{id}", 1L));
+    assertThat(metrics.getStatusCodes(), hasEntry(404, 1));
+  }
+
+  @Test
+  public void metricsAreWrittenAsJson() throws IOException {
+    metrics.recordRequest("POST", URI.create("https://anypoint.mulesoft.com/cloudhub/api/v2/applications"), 200, 15);
+    metrics.recordBytesSent(2048);
+    metrics.recordBytesReceived(512);
+    metrics.recordRequestRetries(3);
+    metrics.recordVerificationPolls(12);
+    metrics.recordVerification(90000);
+    File metricsFile = new File(temporaryFolder.getRoot(), "target/" + ClientMetrics.CLIENT_METRICS_FILE_NAME);
+
+    metrics.writeTo(metricsFile);
+
+    JsonObject json = new JsonParser().parse(new String(Files.readAllBytes(metricsFile.toPath()), UTF_8)).getAsJsonObject();
+    assertThat(json.get("bytesSent").getAsLong(), is(2048L));
+    assertThat(json.get("bytesReceived").getAsLong(), is(512L));
+    assertThat(json.get("requestRetries").getAsLong(), is(3L));
+    assertThat(json.get("verificationPolls").getAsLong(), is(12L));
+    assertThat(json.get("verificationMillis").getAsLong(), is(90000L));
+    assertThat(json.getAsJsonObject("statusCodes").get("200").getAsInt(), is(1));
+    assertThat(json.getAsJsonObject("endpoints").getAsJsonObject("POST /cloudhub/api/v2/applications").get("maxMillis")
+        .getAsLong(), is(15L));
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.client.standalone.controller;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ControllerTest {
+
+  private static final String APPLICATION_NAME = "my-app";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Controller controller;
+  private File appsDir;
+  private File application;
+
+  @Before
+  public void setUp() throws IOException {
+    File muleHome = temporaryFolder.newFolder("mule_home");
+    appsDir = new File(muleHome, "apps");
+    appsDir.mkdirs();
+    controller = new Controller(mock(AbstractOSController.class), muleHome.getAbsolutePath());
+
+    application = temporaryFolder.newFolder("my-app-1.0.0-mule-application");
+    write(application, "flows.xml", "<flow/>");
+    write(application, ExplodedArtifactSynchronizer.DESCRIPTOR, "{}");
+  }
+
+  @Test
+  public void deployDeltaOfNotDeployedApplicationCopiesItWithTheApplicationName() throws IOException {
+    Optional<ExplodedArtifactSynchronizer> synchronizer = controller.deployDelta(application.getAbsolutePath(), APPLICATION_NAME);
+
+    assertThat(synchronizer.isPresent(), is(false));
+    assertThat(new File(appsDir, APPLICATION_NAME + "/flows.xml").isFile(), is(true));
+    assertThat(new File(appsDir, application.getName()).exists(), is(false));
+  }
+
+  @Test
+  public void deployDeltaOfDeployedApplicationSynchronizesIt() throws IOException {
+    controller.deployDelta(application.getAbsolutePath(), APPLICATION_NAME);
+    write(application, "flows.xml", "<flow name=\"changed\"/>");
+
+    Optional<ExplodedArtifactSynchronizer> synchronizer = controller.deployDelta(application.getAbsolutePath(), APPLICATION_NAME);
+
+    assertThat(synchronizer.isPresent(), is(true));
+    assertThat(synchronizer.get().getCopiedFiles(), is(1));
+    assertThat(new String(Files.readAllBytes(new File(appsDir, APPLICATION_NAME + "/flows.xml").toPath()), UTF_8),
+               is("<flow name=\"changed\"/>"));
+  }
+
+  @Test
+  public void anchorLastModifiedIsZeroWhenTheApplicationIsNotDeployed() throws IOException {
+    assertThat(controller.getAnchorLastModified(APPLICATION_NAME), is(0L));
+
+    File anchor = new File(appsDir, APPLICATION_NAME + Controller.ANCHOR_SUFFIX);
+    anchor.createNewFile();
+    anchor.setLastModified(1500000000000L);
+
+    assertThat(controller.getAnchorLastModified(APPLICATION_NAME), is(1500000000000L));
+  }
+
+  private static void write(File root, String path, String content) throws IOException {
+    File file = new File(root, path);
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), content.getBytes(UTF_8));
+  }
+}
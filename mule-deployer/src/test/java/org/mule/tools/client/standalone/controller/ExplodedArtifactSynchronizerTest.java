@@ -0,0 +1,136 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.client.standalone.controller;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ExplodedArtifactSynchronizerTest {
+
+  private static final long LAST_MODIFIED = 1500000000000L;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File source;
+  private File target;
+  private ExplodedArtifactSynchronizer synchronizer;
+
+  @Before
+  public void setUp() throws IOException {
+    source = temporaryFolder.newFolder("source");
+    target = temporaryFolder.newFolder("target");
+    synchronizer = new ExplodedArtifactSynchronizer();
+
+    write(source, "flows.xml", "<flow/>");
+    write(source, "repository/org/dependency/1.0/dependency-1.0.jar", "dependency");
+    write(source, "META-INF/mule-artifact/mule-artifact.json", "{}");
+    new ExplodedArtifactSynchronizer().synchronize(source, target);
+  }
+
+  @Test
+  public void unchangedFilesAreNotCopied() throws IOException {
+    synchronizer.synchronize(source, target);
+
+    assertThat(synchronizer.getCopiedFiles(), is(0));
+    assertThat(synchronizer.getUnchangedFiles(), is(3));
+  }
+
+  @Test
+  public void changedFilesAreCopied() throws IOException {
+    write(source, "flows.xml", "<flow name=\"changed\"/>");
+
+    synchronizer.synchronize(source, target);
+
+    assertThat(synchronizer.getCopiedFiles(), is(1));
+    assertThat(read(target, "flows.xml"), is("<flow name=\"changed\"/>"));
+  }
+
+  @Test
+  public void filesWithSameContentAndDifferentLastModifiedAreNotCopied() throws IOException {
+    new File(source, "flows.xml").setLastModified(LAST_MODIFIED + 60000);
+
+    synchronizer.synchronize(source, target);
+
+    assertThat(synchronizer.getCopiedFiles(), is(0));
+  }
+
+  @Test
+  public void lastModifiedOfFilesWithSameContentIsUpdated() throws IOException {
+    File sourceFile = new File(source, "repository/org/dependency/1.0/dependency-1.0.jar");
+    sourceFile.setLastModified(LAST_MODIFIED + 60000);
+
+    synchronizer.synchronize(source, target);
+
+    assertThat(synchronizer.getCopiedFiles(), is(0));
+    assertThat(new File(target, "repository/org/dependency/1.0/dependency-1.0.jar").lastModified(),
+               is(sourceFile.lastModified()));
+  }
+
+  @Test
+  public void lastModifiedOfWatchedFilesWithSameContentIsOnlyUpdatedWhenSomethingChanged() throws IOException {
+    File sourceConfig = new File(source, "flows.xml");
+    File targetConfig = new File(target, "flows.xml");
+    sourceConfig.setLastModified(LAST_MODIFIED + 60000);
+
+    synchronizer.synchronize(source, target);
+    assertThat(targetConfig.lastModified(), is(LAST_MODIFIED));
+
+    write(source, "repository/org/dependency/1.0/dependency-1.0.jar", "changed");
+    synchronizer.synchronize(source, target);
+    assertThat(targetConfig.lastModified(), is(sourceConfig.lastModified()));
+  }
+
+  @Test
+  public void filesWithSameSizeAndDifferentContentAreCopied() throws IOException {
+    write(source, "flows.xml", "<wolf/>");
+    new File(source, "flows.xml").setLastModified(LAST_MODIFIED + 60000);
+
+    synchronizer.synchronize(source, target);
+
+    assertThat(synchronizer.getCopiedFiles(), is(1));
+    assertThat(read(target, "flows.xml"), is("<wolf/>"));
+  }
+
+  @Test
+  public void removedFilesAreDeleted() throws IOException {
+    Files.delete(new File(source, "repository/org/dependency/1.0/dependency-1.0.jar").toPath());
+    Files.delete(new File(source, "repository/org/dependency/1.0").toPath());
+    write(source, "repository/org/dependency/2.0/dependency-2.0.jar", "dependency");
+
+    synchronizer.synchronize(source, target);
+
+    assertThat(synchronizer.getDeletedFiles(), is(1));
+    assertThat(synchronizer.getCopiedFiles(), is(1));
+    assertThat(new File(target, "repository/org/dependency/1.0").exists(), is(false));
+    assertThat(new File(target, "repository/org/dependency/2.0/dependency-2.0.jar").exists(), is(true));
+  }
+
+  private static void write(File root, String path, String content) throws IOException {
+    File file = new File(root, path);
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), content.getBytes(UTF_8));
+    file.setLastModified(LAST_MODIFIED);
+  }
+
+  private static String read(File root, String path) throws IOException {
+    return new String(Files.readAllBytes(new File(root, path).toPath()), UTF_8);
+  }
+}
@@ -13,19 +13,28 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mule.tools.client.standalone.exception.MuleControllerException;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.OptionalInt;
 import java.sql.Blob;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.powermock.api.mockito.PowerMockito.doReturn;
+import static org.powermock.api.mockito.PowerMockito.verifyPrivate;
 import static org.powermock.api.mockito.PowerMockito.spy;
 
 @RunWith(PowerMockRunner.class)
@@ -44,6 +53,9 @@ public class UnixControllerTest {
   @Rule
   public ExpectedException expected = ExpectedException.none();
 
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   @Before
   public void setUp() throws Exception {
     controllerSpy = spy(controller);
@@ -105,6 +117,67 @@ public class UnixControllerTest {
     controllerSpy.getProcessIdFromStatus();
   }
 
+  @Test
+  public void runningProcessIsFoundFromPidFile() throws Exception {
+    UnixController pidController =
+        createControllerWithPidFile(42, "%s/lib/boot/exec/wrapper-linux-x86-64\u0000%s/conf/wrapper.conf");
+
+    assertThat("Process id is not the expected", pidController.findRunningProcessId(), equalTo(OptionalInt.of(42)));
+    assertThat("Status is not the expected", pidController.status(), equalTo(RUNNING_STATUS));
+    assertThat("Process id is not the expected", pidController.getProcessId(), equalTo(42));
+    verifyPrivate(pidController, never()).invoke("runSync", anyString(), any());
+  }
+
+  @Test
+  public void processOfStalePidFileIsIgnored() throws Exception {
+    UnixController pidController = createControllerWithPidFile(42, "/usr/bin/another-program");
+
+    assertThat("Process id is not the expected", pidController.findRunningProcessId(), equalTo(OptionalInt.empty()));
+  }
+
+  @Test
+  public void wrapperOfAnotherRuntimeIsIgnored() throws Exception {
+    UnixController pidController =
+        createControllerWithPidFile(42, "/opt/mule/lib/boot/exec/wrapper-linux-x86-64\u0000/opt/mule/conf/wrapper.conf");
+
+    assertThat("Process id is not the expected", pidController.findRunningProcessId(), equalTo(OptionalInt.empty()));
+  }
+
+  @Test
+  public void wrapperOfRuntimeInFolderWithSamePrefixIsIgnored() throws Exception {
+    UnixController pidController =
+        createControllerWithPidFile(42, "%s-other/lib/boot/exec/wrapper-linux-x86-64\u0000-Dmule.home=%s-other");
+
+    assertThat("Process id is not the expected", pidController.findRunningProcessId(), equalTo(OptionalInt.empty()));
+  }
+
+  @Test
+  public void statusFallsBackToTheScriptWithoutPidFile() throws Exception {
+    UnixController pidController = spy(new UnixController(temporaryFolder.newFolder("mule").getAbsolutePath(), TIMEOUT));
+    doReturn(temporaryFolder.newFolder("proc")).when(pidController).getProcFolder();
+    doReturn(NOT_RUNNING_STATUS).when(pidController, "runSync", "status", new String[0]);
+
+    assertThat("Status is not the expected", pidController.status(), equalTo(NOT_RUNNING_STATUS));
+  }
+
+  /**
+   * @param commandLine the command line of the process, where {@code %s} is replaced by the home folder of the runtime
+   */
+  private UnixController createControllerWithPidFile(int processId, String commandLine) throws IOException {
+    File muleHome = temporaryFolder.newFolder("mule");
+    File procFolder = temporaryFolder.newFolder("proc");
+    new File(muleHome, "bin").mkdirs();
+    Files.write(new File(muleHome, "bin/.mule_ee.pid").toPath(), (processId + "\n").getBytes(Charset.forName("UTF-8")));
+    File processFolder = new File(procFolder, String.valueOf(processId));
+    processFolder.mkdirs();
+    Files.write(new File(processFolder, "cmdline").toPath(),
+                commandLine.replace("%s", muleHome.getAbsolutePath()).getBytes(Charset.forName("UTF-8")));
+
+    UnixController pidController = spy(new UnixController(muleHome.getAbsolutePath(), TIMEOUT));
+    doReturn(procFolder).when(pidController).getProcFolder();
+    return pidController;
+  }
+
   private void setStatusToOutputStreamInController(String status) throws Exception {
     OutputStream outputStream = new ByteArrayOutputStream();
     outputStream.write(status.getBytes(Charset.forName("UTF-8")));
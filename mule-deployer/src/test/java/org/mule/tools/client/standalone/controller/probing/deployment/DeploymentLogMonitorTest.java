@@ -0,0 +1,139 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.client.standalone.controller.probing.deployment;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.mule.tools.client.standalone.controller.MuleProcessController;
+import org.mule.tools.client.standalone.controller.probing.Probe;
+import org.mule.tools.client.standalone.exception.MuleControllerException;
+
+public class DeploymentLogMonitorTest {
+
+  private static final String APP = "my-app";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private MuleProcessController mule;
+  private File runtimeLog;
+  private File applicationLog;
+
+  @Before
+  public void setUp() throws IOException {
+    mule = mock(MuleProcessController.class);
+    runtimeLog = temporaryFolder.newFile("mule_ee.log");
+    applicationLog = new File(temporaryFolder.getRoot(), "mule-app-" + APP + ".log");
+    when(mule.getLog()).thenReturn(runtimeLog);
+    when(mule.getLog(APP)).thenAnswer(invocation -> {
+      if (!applicationLog.exists()) {
+        throw new MuleControllerException("There is no app log");
+      }
+      return applicationLog;
+    });
+  }
+
+  @Test
+  public void previousContentIsIgnored() throws IOException {
+    append(runtimeLog, "ERROR Failed to deploy artifact [" + APP + "]");
+
+    DeploymentLogMonitor monitor = DeploymentLogMonitor.forApplication(mule, APP);
+    monitor.poll();
+
+    assertThat(monitor.isFailed(), is(false));
+    assertThat(monitor.getExcerpt(), is(""));
+  }
+
+  @Test
+  public void failureIsDetected() throws IOException {
+    DeploymentLogMonitor monitor = DeploymentLogMonitor.forApplication(mule, APP);
+    append(runtimeLog, "INFO Deploying artifact [" + APP + "]\nERROR Failed to deploy artifact [" + APP + "]\n");
+    append(runtimeLog, "Caused by: the cause\n");
+    monitor.poll();
+
+    assertThat(monitor.isFailed(), is(true));
+    assertThat(monitor.isDeployed(), is(false));
+    assertThat(monitor.getExcerpt(), containsString("Caused by: the cause"));
+  }
+
+  @Test
+  public void failureOfOtherArtifactIsIgnored() throws IOException {
+    DeploymentLogMonitor monitor = DeploymentLogMonitor.forApplication(mule, APP);
+    append(runtimeLog, "ERROR Failed to deploy artifact [" + APP + "-other]\n");
+    monitor.poll();
+
+    assertThat(monitor.isFailed(), is(false));
+  }
+
+  @Test
+  public void successIsDetected() throws IOException {
+    DeploymentLogMonitor monitor = DeploymentLogMonitor.forApplication(mule, APP);
+    append(runtimeLog, "* Started app '" + APP + "'");
+    monitor.poll();
+    assertThat("Incomplete lines are not processed", monitor.isDeployed(), is(false));
+
+    append(runtimeLog, "  *\n");
+    monitor.poll();
+    assertThat(monitor.isDeployed(), is(true));
+  }
+
+  @Test
+  public void applicationLogIsFollowedOnceCreated() throws IOException {
+    DeploymentLogMonitor monitor = DeploymentLogMonitor.forApplication(mule, APP);
+    monitor.poll();
+    append(applicationLog, "ERROR Failed to deploy app '" + APP + "'\n");
+    monitor.poll();
+
+    assertThat(monitor.isFailed(), is(true));
+  }
+
+  @Test
+  public void rolledLogIsReadFromTheBeginning() throws IOException {
+    append(runtimeLog, "a long line written before the deployment started\n");
+    DeploymentLogMonitor monitor = DeploymentLogMonitor.forApplication(mule, APP);
+    Files.write(runtimeLog.toPath(), "* Started app '".concat(APP).concat("'\n").getBytes(UTF_8));
+    monitor.poll();
+
+    assertThat(monitor.isDeployed(), is(true));
+    assertThat(monitor.getExcerpt(), not(containsString("before the deployment")));
+  }
+
+  @Test
+  public void probeFinishesWhenDeploymentFails() throws IOException {
+    DeploymentLogMonitor monitor = DeploymentLogMonitor.forDomain(mule, APP);
+    Probe probe = new LogMonitoringProbe(new DomainDeploymentProbe().isDeployed(mule, APP), monitor);
+    assertThat(probe.isSatisfied(), is(false));
+
+    append(runtimeLog, "ERROR Failed to deploy domain '" + APP + "'\n");
+    assertThat(probe.isSatisfied(), is(true));
+    assertThat(monitor.isFailed(), is(true));
+  }
+
+  private static void append(File log, String content) throws IOException {
+    Files.write(log.toPath(), content.getBytes(UTF_8), CREATE, APPEND);
+  }
+}
@@ -20,7 +20,13 @@ import org.mule.tools.verification.agent.AgentDeploymentVerification;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.*;
 
 public class AgentArtifactDeployerTest {
@@ -87,4 +93,50 @@ public class AgentArtifactDeployerTest {
 
     verify(clientMock).undeployApplication(APPLICATION_NAME);
   }
+
+  @Test
+  public void deployApplicationToSeveralAgentsTest() throws DeploymentException {
+    when(deploymentMock.getApplicationName()).thenReturn(APPLICATION_NAME);
+    when(deploymentMock.getArtifact()).thenReturn(applicationFile);
+    when(deploymentMock.getMaxConcurrentDeployments()).thenReturn(2);
+    List<AgentClient> clients = asList(agentClientMock("http://agent1"), agentClientMock("http://agent2"),
+                                       agentClientMock("http://agent3"));
+    AgentArtifactDeployer multiAgentDeployer = spy(new AgentArtifactDeployer(deploymentMock, clients));
+    doReturn(deploymentVerificationMock).when(multiAgentDeployer).getDeploymentVerification();
+
+    multiAgentDeployer.deployApplication();
+
+    for (AgentClient client : clients) {
+      verify(client).deployApplication(APPLICATION_NAME, applicationFile);
+    }
+    verify(deploymentVerificationMock).assertDeployment(deploymentMock);
+  }
+
+  @Test
+  public void deployApplicationFailuresOfSeveralAgentsAreAggregatedTest() throws DeploymentException {
+    when(deploymentMock.getApplicationName()).thenReturn(APPLICATION_NAME);
+    when(deploymentMock.getArtifact()).thenReturn(applicationFile);
+    AgentClient failingClient = agentClientMock("http://agent2");
+    doThrow(new IllegalStateException("Connection refused")).when(failingClient).deployApplication(APPLICATION_NAME,
+                                                                                                   applicationFile);
+    AgentClient client = agentClientMock("http://agent1");
+    AgentArtifactDeployer multiAgentDeployer = spy(new AgentArtifactDeployer(deploymentMock, asList(client, failingClient)));
+    doReturn(deploymentVerificationMock).when(multiAgentDeployer).getDeploymentVerification(singletonList(client));
+
+    try {
+      multiAgentDeployer.deployApplication();
+      fail("The deployment should have failed");
+    } catch (DeploymentException e) {
+      assertThat(e.getMessage(),
+                 equalTo("Could not deploy application in 1 of 2 agents: http://agent2 (Connection refused)"));
+    }
+    verify(client).deployApplication(APPLICATION_NAME, applicationFile);
+    verify(deploymentVerificationMock).assertDeployment(deploymentMock);
+  }
+
+  private AgentClient agentClientMock(String uri) {
+    AgentClient client = mock(AgentClient.class);
+    when(client.getUri()).thenReturn(uri);
+    return client;
+  }
 }
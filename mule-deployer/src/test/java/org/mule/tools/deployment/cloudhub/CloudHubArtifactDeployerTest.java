@@ -102,6 +102,7 @@ public class CloudHubArtifactDeployerTest {
   @Test
   public void deployApplicationNew() throws DeploymentException {
     when(clientMock.isDomainAvailable(any())).thenReturn(true);
+    when(clientMock.getApplications(FAKE_APPLICATION_NAME)).thenReturn(null);
 
     doNothing().when(cloudHubArtifactDeployerSpy).checkApplicationHasStarted();
 
@@ -121,6 +122,7 @@ public class CloudHubArtifactDeployerTest {
     clientUserInfo.user.isClient = true;
     when(clientMock.getMe()).thenReturn(clientUserInfo);
     when(clientMock.isDomainAvailable(any())).thenReturn(true);
+    when(clientMock.getApplications(FAKE_APPLICATION_NAME)).thenReturn(null);
     doNothing().when(cloudHubArtifactDeployerSpy).checkApplicationHasStarted();
     cloudHubArtifactDeployerSpy.deployApplication();
     ArgumentCaptor<Application> applicationCaptor = ArgumentCaptor.forClass(Application.class);
@@ -141,6 +143,7 @@ public class CloudHubArtifactDeployerTest {
     clientUserInfo.user.isClient = false;
     when(clientMock.getMe()).thenReturn(clientUserInfo);
     when(clientMock.isDomainAvailable(any())).thenReturn(true);
+    when(clientMock.getApplications(FAKE_APPLICATION_NAME)).thenReturn(null);
     doNothing().when(cloudHubArtifactDeployerSpy).checkApplicationHasStarted();
     cloudHubArtifactDeployerSpy.deployApplication();
     ArgumentCaptor<Application> applicationCaptor = ArgumentCaptor.forClass(Application.class);
@@ -157,6 +160,7 @@ public class CloudHubArtifactDeployerTest {
   @Test
   public void deployApplicationSkipVerification() throws DeploymentException {
     when(clientMock.isDomainAvailable(any())).thenReturn(true);
+    when(clientMock.getApplications(FAKE_APPLICATION_NAME)).thenReturn(null);
 
     when(deploymentMock.getSkipDeploymentVerification()).thenReturn(true);
 
@@ -188,7 +192,9 @@ public class CloudHubArtifactDeployerTest {
 
     cloudHubArtifactDeployerSpy.deployApplication();
 
-    verify(clientMock).isDomainAvailable(any());
+    verify(clientMock, never()).isDomainAvailable(any());
+    verify(clientMock, never()).getMe();
+    verify(clientMock).getApplications(FAKE_APPLICATION_NAME);
     verify(cloudHubArtifactDeployerSpy).createOrUpdateApplication();
     verify(cloudHubArtifactDeployerSpy).updateApplication();
     verify(cloudHubArtifactDeployerSpy).startApplication();
@@ -196,11 +202,27 @@ public class CloudHubArtifactDeployerTest {
     verify(cloudHubArtifactDeployerSpy).checkApplicationHasStarted();
   }
 
+  @Test
+  public void deployApplicationWithDomainTakenByOtherApplication() throws DeploymentException {
+    expectedException.expect(DeploymentException.class);
+    expectedException.expectMessage("Domain " + FAKE_APPLICATION_NAME + " is not available. Aborting.");
+    when(clientMock.getApplications(FAKE_APPLICATION_NAME)).thenReturn(null);
+    when(clientMock.isDomainAvailable(any())).thenReturn(false);
+
+    try {
+      cloudHubArtifactDeployer.deployApplication();
+    } finally {
+      verify(clientMock, times(1)).getApplications(FAKE_APPLICATION_NAME);
+      verify(clientMock, never()).createApplication(any(), any());
+    }
+  }
+
   @Test
   public void deployApplicationVerificationStartedFail() throws DeploymentException {
     expectedException.expect(DeploymentException.class);
 
     when(clientMock.isDomainAvailable(any())).thenReturn(true);
+    when(clientMock.getApplications(FAKE_APPLICATION_NAME)).thenReturn(null);
 
     CloudHubDeploymentVerification verificationMock = mock(CloudHubDeploymentVerification.class);
     doThrow(DeploymentException.class).when(verificationMock).assertDeployment(deploymentMock);
@@ -295,6 +317,7 @@ public class CloudHubArtifactDeployerTest {
     when(deploymentMock.getSkipDeploymentVerification()).thenReturn(true);
 
     when(clientMock.isDomainAvailable(any())).thenReturn(true);
+    when(clientMock.getApplications(FAKE_APPLICATION_NAME)).thenReturn(null);
 
     cloudHubArtifactDeployer.deployApplication();
 
@@ -309,6 +332,7 @@ public class CloudHubArtifactDeployerTest {
     when(deploymentMock.getSkipDeploymentVerification()).thenReturn(true);
 
     when(clientMock.isDomainAvailable(any())).thenReturn(true);
+    when(clientMock.getApplications(FAKE_APPLICATION_NAME)).thenReturn(null);
 
     cloudHubArtifactDeployer.deployApplication();
 
@@ -331,6 +355,7 @@ public class CloudHubArtifactDeployerTest {
     cloudHubArtifactDeployer = new CloudHubArtifactDeployer(deployment, clientMock, logMock);
 
     when(clientMock.isDomainAvailable(any())).thenReturn(true);
+    when(clientMock.getApplications(FAKE_APPLICATION_NAME)).thenReturn(null);
 
     Environment mockEnvironment = mock(Environment.class);
     when(mockEnvironment.getObjectStoreV1Enabled()).thenReturn(true);
@@ -358,6 +383,7 @@ public class CloudHubArtifactDeployerTest {
     cloudHubArtifactDeployer = new CloudHubArtifactDeployer(deployment, clientMock, logMock);
 
     when(clientMock.isDomainAvailable(any())).thenReturn(true);
+    when(clientMock.getApplications(FAKE_APPLICATION_NAME)).thenReturn(null);
 
     Environment mockEnvironment = mock(Environment.class);
     when(mockEnvironment.getObjectStoreV1Enabled()).thenReturn(false);
@@ -15,18 +15,24 @@ import com.google.gson.JsonObject;
 import org.junit.Before;
 import org.junit.Test;
 import org.mule.tools.client.fabric.RuntimeFabricClient;
+import org.mule.tools.client.fabric.model.DeploymentGenericResponse;
+import org.mule.tools.client.fabric.model.Deployments;
 import org.mule.tools.client.fabric.model.Target;
 import org.mule.tools.model.anypoint.RuntimeFabricDeployment;
 import org.mule.tools.model.anypoint.RuntimeFabricDeploymentSettings;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Optional;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class RequestBuilderTest {
@@ -96,5 +102,46 @@ public class RequestBuilderTest {
     Target target = requestBuilder.buildTarget();
 
     assertThat("publicUrl is not the expected", target.deploymentSettings.getPublicUrl(), equalTo(definedUrl));
+    verify(runtimeFabricClientMock, never()).getDomainInfo(any());
+  }
+
+  @Test
+  public void targetLookupsAreMemoized() throws Exception {
+    requestBuilder.buildTarget();
+    requestBuilder.buildDeploymentModify();
+
+    verify(runtimeFabricClientMock, times(1)).getTargets();
+    verify(runtimeFabricClientMock, times(1)).getTargetInfo("sampleId");
+    verify(runtimeFabricClientMock, times(1)).getDomainInfo("sampleId");
+  }
+
+  @Test
+  public void findDeploymentIdInTarget() throws Exception {
+    when(runtimeFabricClientMock.getDeployments()).thenReturn(deployments(deployment("otherId", "test-app", "otherTarget"),
+                                                                          deployment("deploymentId", "test-app", "sampleId")));
+
+    assertThat(requestBuilder.findDeploymentId(), equalTo(Optional.of("deploymentId")));
+  }
+
+  @Test
+  public void findDeploymentIdNotDeployed() throws Exception {
+    when(runtimeFabricClientMock.getDeployments()).thenReturn(deployments(deployment("otherId", "other-app", "sampleId")));
+
+    assertThat(requestBuilder.findDeploymentId(), equalTo(Optional.empty()));
+  }
+
+  private Deployments deployments(DeploymentGenericResponse... items) {
+    Deployments deployments = new Deployments();
+    deployments.items = Arrays.asList(items);
+    return deployments;
+  }
+
+  private DeploymentGenericResponse deployment(String id, String name, String targetId) {
+    DeploymentGenericResponse deployment = new DeploymentGenericResponse();
+    deployment.id = id;
+    deployment.name = name;
+    deployment.target = new Target();
+    deployment.target.setTargetId(targetId);
+    return deployment;
   }
 }
@@ -13,7 +13,9 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.mule.tools.client.standalone.controller.ExplodedArtifactSynchronizer;
 import org.mule.tools.client.standalone.controller.MuleProcessController;
+import org.mule.tools.client.standalone.controller.probing.PollingProber;
 import org.mule.tools.client.standalone.controller.probing.Prober;
 import org.mule.tools.client.core.exception.DeploymentException;
 import org.mule.tools.client.standalone.exception.MuleControllerException;
@@ -22,8 +24,12 @@ import org.mule.tools.utils.DeployerLog;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Optional;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -89,6 +95,52 @@ public class StandaloneArtifactDeployerTest {
     deployer.deployApplication();
   }
 
+  @Test
+  public void deployExplodedApplicationDeltaTest() throws DeploymentException, IOException {
+    File explodedApplication = temporaryFolder.newFolder(ARTIFACT_NAME);
+    doReturn(explodedApplication).when(deploymentMock).getArtifact();
+    doReturn(Optional.of(true)).when(deploymentMock).isDeltaRedeploy();
+    doReturn(ARTIFACT_NAME).when(deploymentMock).getApplicationName();
+    doReturn(Optional.empty()).when(controllerMock).deployDelta(explodedApplication.getAbsolutePath(), ARTIFACT_NAME);
+
+    deployerSpy.deployApplication();
+
+    verify(controllerMock, times(1)).deployDelta(explodedApplication.getAbsolutePath(), ARTIFACT_NAME);
+    verify(controllerMock, never()).deploy(any());
+    verify(deployerSpy, never()).renameApplicationToApplicationName();
+  }
+
+  @Test
+  public void waitForDeploymentsAfterDeltaRedeployWaitsForTheAnchorToBeWrittenAgain() throws DeploymentException, IOException {
+    File explodedApplication = temporaryFolder.newFolder(ARTIFACT_NAME);
+    ExplodedArtifactSynchronizer synchronizer = mock(ExplodedArtifactSynchronizer.class);
+    doReturn(1).when(synchronizer).getCopiedFiles();
+    doReturn(explodedApplication).when(deploymentMock).getArtifact();
+    doReturn(Optional.of(true)).when(deploymentMock).isDeltaRedeploy();
+    doReturn("mule-application").when(deploymentMock).getPackaging();
+    doReturn(temporaryFolder.newFile("mule_ee.log")).when(controllerMock).getLog();
+    doReturn(Optional.of(synchronizer)).when(controllerMock).deployDelta(explodedApplication.getAbsolutePath(), ARTIFACT_NAME);
+    when(controllerMock.getAnchorLastModified(ARTIFACT_NAME)).thenReturn(1000L, 1000L, 1000L, 2000L);
+    doReturn(Optional.empty()).when(deploymentMock).getDomain();
+    deployer = new StandaloneArtifactDeployer(deploymentMock, controllerMock, logMock, new PollingProber(60000L, 10L));
+
+    deployer.deployApplication();
+    deployer.waitForDeployments();
+
+    verify(controllerMock, times(4)).getAnchorLastModified(ARTIFACT_NAME);
+    verify(controllerMock, never()).isDeployed(any());
+  }
+
+  @Test
+  public void deployPackagedApplicationWithDeltaRedeployTest() throws DeploymentException {
+    doReturn(Optional.of(true)).when(deploymentMock).isDeltaRedeploy();
+
+    deployerSpy.deployApplication();
+
+    verify(controllerMock, times(1)).deploy(artifactFile.getAbsolutePath());
+    verify(controllerMock, never()).deployDelta(any(), any());
+  }
+
   @Test(expected = DeploymentException.class)
   public void undeployApplicationNotExistentMuleHomeTest() throws DeploymentException {
     muleHome.delete();
@@ -143,4 +195,24 @@ public class StandaloneArtifactDeployerTest {
     deployer.verifyMuleIsStarted();
     verify(controllerMock, times(1)).isRunning();
   }
+
+  @Test
+  public void waitForDeploymentsFailsAsSoonAsTheRuntimeReportsTheFailure() throws IOException {
+    File runtimeLog = temporaryFolder.newFile("mule_ee.log");
+    doReturn(runtimeLog).when(controllerMock).getLog();
+    doReturn("mule-application").when(deploymentMock).getPackaging();
+    deployer = new StandaloneArtifactDeployer(deploymentMock, controllerMock, logMock, new PollingProber(60000L, 10L));
+    deployer.startLogMonitor(ARTIFACT_NAME);
+    Files.write(runtimeLog.toPath(), ("ERROR Failed to deploy artifact [" + ARTIFACT_NAME + "]\nCaused by: the cause\n")
+        .getBytes(UTF_8));
+
+    long start = System.currentTimeMillis();
+    try {
+      deployer.waitForDeployments();
+      throw new AssertionError("The deployment should have failed");
+    } catch (DeploymentException e) {
+      assertThat(e.getMessage(), containsString("Caused by: the cause"));
+    }
+    assertThat("The probe should not wait for the timeout", System.currentTimeMillis() - start < 60000L, is(true));
+  }
 }
@@ -13,7 +13,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mule.tools.client.core.exception.DeploymentException;
 
+import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.mockito.Mockito.spy;
 
@@ -43,4 +45,13 @@ public class AgentDeploymentTest {
     assertThat("The anypoint baseUri was not resolved to the default value",
                deploymentSpy.getUri(), equalTo(anypointUriDefaultValue));
   }
+
+  @Test
+  public void agentUrisDefaultToUriTest() {
+    deploymentSpy.setUri("http://agent");
+    assertThat(deploymentSpy.getAgentUris(), contains("http://agent"));
+
+    deploymentSpy.setUris(asList("http://agent1", "http://agent2"));
+    assertThat(deploymentSpy.getAgentUris(), contains("http://agent1", "http://agent2"));
+  }
 }
@@ -0,0 +1,108 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.verification.cloudhub;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mule.tools.client.cloudhub.CloudHubClient;
+import org.mule.tools.client.cloudhub.model.Application;
+import org.mule.tools.client.cloudhub.model.DeploymentLogRequest;
+import org.mule.tools.client.cloudhub.model.LogLevel;
+import org.mule.tools.client.cloudhub.model.LogMessage;
+import org.mule.tools.client.cloudhub.model.LogRecord;
+import org.mule.tools.utils.DeployerLog;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CloudHubDeploymentLogStreamTest {
+
+  private static final String DEPLOYMENT_ID = "deployment";
+
+  private CloudHubClient clientMock;
+  private DeployerLog logMock;
+  private Application application;
+  private CloudHubDeploymentLogStream logStream;
+
+  @Before
+  public void setUp() {
+    clientMock = mock(CloudHubClient.class);
+    logMock = mock(DeployerLog.class);
+    application = new Application();
+    logStream = new CloudHubDeploymentLogStream(clientMock, logMock);
+  }
+
+  @Test
+  public void recordsAlreadySeenAreSkipped() {
+    when(clientMock.getLogs(any(), any()))
+        .thenReturn(asList(record("1", 1000L, LogLevel.WARN, "Slow connection"), record("2", 2000L, LogLevel.INFO, "Starting")))
+        .thenReturn(asList(record("2", 2000L, LogLevel.INFO, "Starting"), record("3", 2000L, LogLevel.ERROR, "Timeout")));
+
+    logStream.poll(application, DEPLOYMENT_ID);
+    logStream.poll(application, DEPLOYMENT_ID);
+
+    ArgumentCaptor<DeploymentLogRequest> requests = ArgumentCaptor.forClass(DeploymentLogRequest.class);
+    verify(clientMock, times(2)).getLogs(any(), requests.capture());
+    assertThat(requests.getAllValues().get(0).getStartTime(), is(nullValue()));
+    assertThat(requests.getAllValues().get(1).getStartTime(), is(2000L));
+    assertThat(requests.getAllValues().get(1).getDeploymentId(), is(DEPLOYMENT_ID));
+    verify(logMock).warn("Slow connection");
+    verify(logMock).debug("Starting");
+    verify(logMock).error("Timeout");
+    assertThat(logStream.getExcerpt(), equalTo(String.join(System.lineSeparator(), "Slow connection", "Starting", "Timeout")));
+  }
+
+  @Test
+  public void startupAndFailureMessagesAreDetected() {
+    when(clientMock.getLogs(any(), any()))
+        .thenReturn(asList(record("1", 1000L, LogLevel.INFO, "**  Started app 'my-app'  **")))
+        .thenReturn(asList(record("2", 2000L, LogLevel.ERROR, "Failed to deploy artifact [my-app]")));
+
+    logStream.poll(application, DEPLOYMENT_ID);
+    assertThat(logStream.getStartedInstances(), is(1));
+    assertThat(logStream.isFailed(), is(false));
+
+    logStream.poll(application, DEPLOYMENT_ID);
+    assertThat(logStream.isFailed(), is(true));
+    assertThat(logStream.getFailure(), equalTo("Failed to deploy artifact [my-app]"));
+  }
+
+  @Test
+  public void logsAreNotPolledAgainWhenTheyCanNotBeRead() {
+    when(clientMock.getLogs(any(), any())).thenThrow(new IllegalStateException("Forbidden"));
+
+    logStream.poll(application, DEPLOYMENT_ID);
+    logStream.poll(application, DEPLOYMENT_ID);
+
+    verify(clientMock, times(1)).getLogs(any(), any());
+    assertThat(logStream.isFailed(), is(false));
+  }
+
+  private static LogRecord record(String id, Long timestamp, LogLevel priority, String message) {
+    LogMessage event = new LogMessage();
+    event.setTimestamp(timestamp);
+    event.setPriority(priority);
+    event.setMessage(message);
+    LogRecord record = new LogRecord();
+    record.setRecordId(id);
+    record.setInstanceId("instance");
+    record.setEvent(event);
+    return record;
+  }
+}
@@ -15,21 +15,34 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.mule.tools.client.cloudhub.CloudHubClient;
 import org.mule.tools.client.cloudhub.model.Application;
+import org.mule.tools.client.cloudhub.model.Instance;
+import org.mule.tools.client.cloudhub.model.LogMessage;
+import org.mule.tools.client.cloudhub.model.LogRecord;
 import org.mule.tools.client.core.exception.DeploymentException;
 import org.mule.tools.model.Deployment;
 import org.mule.tools.model.anypoint.CloudHubDeployment;
+import org.mule.tools.utils.DeployerLog;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class CloudHubDeploymentVerificationTest {
 
   private static final String APP_NAME = "app";
   private CloudHubClient clientMock;
+  private DeployerLog logMock;
   private Application application;
   private CloudHubDeploymentVerification verification;
   private Deployment deployment;
+  private List<org.mule.tools.client.cloudhub.model.Deployment> deployments;
 
   @Rule
   public ExpectedException expectedException = ExpectedException.none();
@@ -37,11 +50,15 @@ public class CloudHubDeploymentVerificationTest {
   @Before
   public void setUp() {
     clientMock = mock(CloudHubClient.class);
+    logMock = mock(DeployerLog.class);
     application = new Application();
     deployment = new CloudHubDeployment();
     deployment.setApplicationName(APP_NAME);
     verification = new CloudHubDeploymentVerification(clientMock);
     when(clientMock.getApplications(anyString())).thenReturn(application);
+    deployments = new ArrayList<>();
+    deployments.add(cloudHubDeployment("previous", 1000L, "STARTED"));
+    when(clientMock.getDeployments(any())).thenReturn(deployments);
   }
 
   @Test
@@ -78,4 +95,79 @@ public class CloudHubDeploymentVerificationTest {
     deployment.setDeploymentTimeout(1000L);
     verification.assertDeployment(deployment);
   }
+
+  @Test
+  public void assertRedeploymentWaitsForTheNewDeployment() throws DeploymentException {
+    expectedException.expect(DeploymentException.class);
+    expectedException.expectMessage("Validation timed out waiting for application to start. " +
+        "Please consider increasing the deploymentTimeout property.");
+    application.setStatus("STARTED");
+    deployment.setDeploymentTimeout(1000L);
+    verification.expectNewDeployment(singletonList("previous"));
+    verification.assertDeployment(deployment);
+  }
+
+  @Test
+  public void assertRedeploymentStarted() throws DeploymentException {
+    application.setStatus("STARTED");
+    deployments.add(cloudHubDeployment("new", 2000L, "STARTED"));
+    verification.expectNewDeployment(singletonList("previous"));
+    verification.assertDeployment(deployment); // Should pass without throwing exception
+  }
+
+  @Test
+  public void assertRedeploymentFailed() throws DeploymentException {
+    expectedException.expect(DeploymentException.class);
+    expectedException.expectMessage("Deployment has failed");
+    application.setStatus("STARTED");
+    deployments.add(cloudHubDeployment("new", 2000L, "DEPLOY_FAILED"));
+    verification.expectNewDeployment(singletonList("previous"));
+    verification.assertDeployment(deployment);
+  }
+
+  @Test
+  public void assertDeploymentStartedInLogs() throws DeploymentException {
+    application.setStatus("DEPLOYING");
+    when(clientMock.getLogs(any(), any())).thenReturn(singletonList(logRecord("**  Started app 'app'  **")));
+    verification = new CloudHubDeploymentVerification(clientMock, logMock);
+    verification.assertDeployment(deployment); // Should pass without throwing exception
+
+    verify(logMock).info("**  Started app 'app'  **");
+  }
+
+  @Test
+  public void assertDeploymentFailedInLogs() throws DeploymentException {
+    expectedException.expect(DeploymentException.class);
+    expectedException.expectMessage("Deployment has failed");
+    application.setStatus("DEPLOYING");
+    when(clientMock.getLogs(any(), any())).thenReturn(singletonList(logRecord("Failed to deploy artifact [app]")));
+    verification = new CloudHubDeploymentVerification(clientMock, logMock);
+    try {
+      verification.assertDeployment(deployment);
+    } finally {
+      verify(logMock).error("Last lines logged by the deployment:" + System.lineSeparator() + "Failed to deploy artifact [app]");
+    }
+  }
+
+  private static LogRecord logRecord(String message) {
+    LogMessage event = new LogMessage();
+    event.setTimestamp(1500L);
+    event.setMessage(message);
+    LogRecord record = new LogRecord();
+    record.setRecordId("record");
+    record.setDeploymentId("previous");
+    record.setEvent(event);
+    return record;
+  }
+
+  private static org.mule.tools.client.cloudhub.model.Deployment cloudHubDeployment(String id, long createTime,
+                                                                                    String instanceStatus) {
+    Instance instance = new Instance();
+    instance.setStatus(instanceStatus);
+    org.mule.tools.client.cloudhub.model.Deployment cloudHubDeployment = new org.mule.tools.client.cloudhub.model.Deployment();
+    cloudHubDeployment.setDeploymentId(id);
+    cloudHubDeployment.setCreateTime(new Date(createTime));
+    cloudHubDeployment.setInstances(singletonList(instance));
+    return cloudHubDeployment;
+  }
 }
@@ -18,12 +18,16 @@ import org.mule.tools.client.fabric.RuntimeFabricClient;
 import org.mule.tools.client.fabric.model.DeploymentDetailedResponse;
 import org.mule.tools.client.fabric.model.DeploymentGenericResponse;
 import org.mule.tools.client.fabric.model.Deployments;
+import org.mule.tools.client.fabric.model.Replica;
 import org.mule.tools.model.Deployment;
 import org.mule.tools.model.anypoint.RuntimeFabricDeployment;
+import org.mule.tools.model.anypoint.RuntimeFabricDeploymentSettings;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class RuntimeFabricDeploymentVerificationTest {
@@ -85,4 +89,71 @@ public class RuntimeFabricDeploymentVerificationTest {
     verification.assertDeployment(deployment);
   }
 
+  @Test
+  public void assertExpectedDeployment() throws DeploymentException {
+    deploymentDetailedResponse.status = "APPLIED";
+    verification.expectDeployment("2");
+    verification.assertDeployment(deployment);
+
+    verify(clientMock).getDeployment("2");
+    verify(clientMock, never()).getDeployments();
+  }
+
+  @Test
+  public void assertDeploymentDesiredReplicasStarted() throws DeploymentException {
+    RuntimeFabricDeploymentSettings settings = new RuntimeFabricDeploymentSettings();
+    settings.setReplicationFactor(2);
+    ((RuntimeFabricDeployment) deployment).setDeploymentSettings(settings);
+    deploymentDetailedResponse.status = "APPLYING";
+    deploymentDetailedResponse.version = "v2";
+    deploymentDetailedResponse.replicas = newArrayList(replica("v1", "STARTED", null), replica("v2", "STARTED", null),
+                                                       replica("v2", "STARTED", null));
+    verification.assertDeployment(deployment); // Should pass without throwing exception
+  }
+
+  @Test
+  public void assertDeploymentReplicasNotStarted() throws DeploymentException {
+    expectedException.expect(DeploymentException.class);
+    expectedException.expectMessage("Validation timed out waiting for application to start.");
+    deploymentDetailedResponse.status = "APPLIED";
+    deploymentDetailedResponse.replicas = newArrayList(replica("v1", "PENDING", null));
+    deployment.setDeploymentTimeout(1000L);
+    verification.assertDeployment(deployment);
+  }
+
+  @Test
+  public void assertDeploymentReplicasWithoutStatusApplied() throws DeploymentException {
+    deploymentDetailedResponse.status = "APPLIED";
+    deploymentDetailedResponse.replicas = newArrayList(replica("v1", null, null));
+    deployment.setDeploymentTimeout(1000L);
+    verification.assertDeployment(deployment); // Should pass without throwing exception
+  }
+
+  @Test
+  public void assertDeploymentReplicasWithoutStatusNotApplied() throws DeploymentException {
+    expectedException.expect(DeploymentException.class);
+    expectedException.expectMessage("Validation timed out waiting for application to start.");
+    deploymentDetailedResponse.status = "APPLYING";
+    deploymentDetailedResponse.replicas = newArrayList(replica("v1", null, null));
+    deployment.setDeploymentTimeout(1000L);
+    verification.assertDeployment(deployment);
+  }
+
+  @Test
+  public void assertDeploymentCrashLoopingReplica() throws DeploymentException {
+    expectedException.expect(DeploymentException.class);
+    expectedException.expectMessage("Deployment has failed");
+    deploymentDetailedResponse.status = "APPLYING";
+    deploymentDetailedResponse.replicas = newArrayList(replica("v1", "PENDING", "Back-off restarting: CrashLoopBackOff"));
+    verification.assertDeployment(deployment);
+  }
+
+  private Replica replica(String version, String status, String errorMessage) {
+    Replica replica = new Replica();
+    replica.id = "replica-" + version;
+    replica.currentDeploymentVersion = version;
+    replica.status = status;
+    replica.errorMessage = errorMessage;
+    return replica;
+  }
 }
@@ -10,17 +10,38 @@
 
 package org.mule.tools.maven.mojo;
 
+import static org.mule.tools.api.packager.archiver.PackageManifest.PACKAGE_MANIFEST_FILE_NAME;
+import static org.mule.tools.api.packager.structure.FolderNames.META_INF;
+import static org.mule.tools.api.packager.structure.FolderNames.MULE_ARTIFACT;
+
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.repository.RepositorySystem;
+import org.mule.tools.api.packager.ProjectInformation;
+import org.mule.tools.api.packager.archiver.PackageManifest;
+import org.mule.tools.maven.mojo.model.PackageVariant;
 import org.mule.tools.api.packager.resources.content.ResourcesContent;
 import org.mule.tools.api.packager.sources.ContentGenerator;
 import org.mule.tools.api.packager.sources.ContentGeneratorFactory;
+import org.mule.tools.api.packager.sources.MuleContentGenerator;
+import org.mule.tools.api.util.MavenProjectInformation;
 import org.mule.tools.api.util.Project;
+import org.mule.tools.api.util.fingerprint.FingerprintStore;
+import org.mule.tools.api.util.fingerprint.InputFingerprint;
 import org.mule.tools.api.validation.resolver.MulePluginResolver;
 import org.mule.tools.api.util.MavenProjectBuilder;
 
@@ -30,6 +51,10 @@ import org.mule.tools.api.util.MavenProjectBuilder;
  */
 public abstract class AbstractMuleMojo extends AbstractGenericMojo {
 
+  protected static final String PACKAGE_VARIANTS_FOLDER = "package-variants";
+  protected static final String LOCAL_REPOSITORY_VARIANT_FOLDER = "local-repository";
+  protected static final String TEST_JAR_VARIANT_FOLDER = "test-jar";
+
   @Component
   protected ProjectBuilder projectBuilder;
 
@@ -42,6 +67,36 @@ public abstract class AbstractMuleMojo extends AbstractGenericMojo {
   @Parameter(defaultValue = "${skipValidation}")
   protected boolean skipValidation = false;
 
+  /**
+   * When enabled, the mojos that support it are skipped if their inputs did not change since their last successful execution
+   * and their outputs still exist.
+   */
+  @Parameter(defaultValue = "${incrementalBuild}")
+  protected boolean incrementalBuild = false;
+
+  /**
+   * When enabled, the project files copied to the build directory whose last modified time changed are compared by content, and
+   * only written again if their content changed.
+   */
+  @Parameter(defaultValue = "${compareCopiedContent}")
+  protected boolean compareCopiedContent = false;
+
+  /**
+   * When enabled, the dependencies and the project sources are not copied to the build directory. They are recorded in a
+   * {@link PackageManifest} and streamed into the package from the local Maven repository and the project folder.
+   */
+  @Parameter(defaultValue = "${stagingFreePackaging}")
+  protected boolean stagingFreePackaging = false;
+
+  /**
+   * Additional packages built from the same content as the main package, each one attached with its own classifier.
+   */
+  @Parameter
+  protected List<PackageVariant> packageVariants = new ArrayList<>();
+
+  @Parameter(readonly = true, defaultValue = "${plugin}")
+  protected PluginDescriptor pluginDescriptor;
+
   protected ContentGenerator contentGenerator;
 
   protected static ResourcesContent resourcesContent;
@@ -49,15 +104,169 @@ public abstract class AbstractMuleMojo extends AbstractGenericMojo {
   public void execute() throws MojoExecutionException, MojoFailureException {
     if (!hasExecutedBefore()) {
       initMojo();
+      Optional<InputFingerprint> fingerprint = incrementalBuild ? computeInputFingerprint() : Optional.empty();
+      if (fingerprint.isPresent() && isUpToDate(fingerprint.get())) {
+        getLog().info("Skipping execution because its inputs did not change since the last build");
+        return;
+      }
+      if (fingerprint.isPresent()) {
+        invalidateFingerprint(fingerprint.get());
+      }
       doExecute();
+      if (fingerprint.isPresent()) {
+        saveFingerprint(fingerprint.get());
+      }
     } else {
       getLog().debug("Skipping execution because it has already been run");
     }
   }
 
+  /**
+   * Mojos supporting up-to-date checks return the fingerprint of their inputs.
+   *
+   * @return the fingerprint of the inputs of this mojo, or empty if it must always be executed
+   * @throws IOException if the inputs could not be read
+   */
+  protected Optional<InputFingerprint> getInputFingerprint() throws IOException {
+    return Optional.empty();
+  }
+
+  /**
+   * @return the files or folders generated by this mojo, all of them must exist for it to be considered up to date
+   */
+  protected Collection<Path> getOutputs() {
+    return Collections.emptyList();
+  }
+
+  /**
+   * Creates a fingerprint initialized with the inputs shared by all the mojos: the plugin version, the POM model and the
+   * packaging parameters.
+   *
+   * @param id identifier of the mojo
+   * @return a new fingerprint
+   */
+  protected InputFingerprint newInputFingerprint(String id) {
+    return new InputFingerprint(id)
+        .withValue("pluginVersion", pluginDescriptor != null ? pluginDescriptor.getVersion() : null)
+        .withModel(project.getModel())
+        .withValue("classifier", classifier)
+        .withValue("testJar", testJar)
+        .withValue("lightweightPackage", lightweightPackage)
+        .withValue("useLocalRepository", useLocalRepository)
+        .withValue("stagingFreePackaging", stagingFreePackaging)
+        .withValue("packageVariants", packageVariants);
+  }
+
+  /**
+   * @return the folder where the content only needed by the package variants is generated
+   */
+  protected Path getPackageVariantsFolder() {
+    return Paths.get(project.getBuild().getDirectory()).resolve(PACKAGE_VARIANTS_FOLDER);
+  }
+
+  /**
+   * @return the folder where the mule-artifact content of the lightweight package variants using the local repository is
+   *         generated
+   */
+  protected Path getLocalRepositoryVariantMuleArtifactFolder() {
+    return getPackageVariantsFolder().resolve(LOCAL_REPOSITORY_VARIANT_FOLDER).resolve(META_INF.value())
+        .resolve(MULE_ARTIFACT.value());
+  }
+
+  /**
+   * @return whether a lightweight package variant using the local repository is built from the content of this build, which
+   *         requires its own classloader-model.json files
+   */
+  protected boolean hasLocalRepositoryPackageVariant() {
+    return !lightweightPackage
+        && packageVariants.stream().anyMatch(variant -> variant.isUseLocalRepository() && variant.isTestJar() == testJar);
+  }
+
+  /**
+   * @return the folder where the content of the test-jar package variants that differs from the main package (the repository,
+   *         the classloader-model.json and mule-artifact.json files) is generated
+   */
+  protected Path getTestJarVariantFolder() {
+    return getPackageVariantsFolder().resolve(TEST_JAR_VARIANT_FOLDER);
+  }
+
+  protected Path getTestJarVariantMuleArtifactFolder() {
+    return getTestJarVariantFolder().resolve(META_INF.value()).resolve(MULE_ARTIFACT.value());
+  }
+
+  /**
+   * @return whether a test-jar package variant is built from the content of this build, which requires its own content
+   *         generated with the test dependencies
+   */
+  protected boolean hasTestJarPackageVariant() {
+    return !testJar && packageVariants.stream().anyMatch(PackageVariant::isTestJar);
+  }
+
+  /**
+   * @return the project information of the test-jar package variants
+   */
+  protected ProjectInformation getTestJarVariantProjectInformation() {
+    return MavenProjectInformation.getProjectInformation(session, project, projectBaseFolder, true, getDeployments(),
+                                                         getPackagingType().resolveClassifier(classifier, lightweightPackage,
+                                                                                              true),
+                                                         customDomains);
+  }
+
+  protected PackageManifest getPackageManifest() throws IOException {
+    return new PackageManifest(Paths.get(project.getBuild().getDirectory()).resolve(PACKAGE_MANIFEST_FILE_NAME).toFile());
+  }
+
+  /**
+   * @return the manifest where the dependencies of the test-jar package variants are recorded when the package is staging free
+   */
+  protected PackageManifest getTestJarVariantPackageManifest() throws IOException {
+    return new PackageManifest(getTestJarVariantFolder().resolve(PACKAGE_MANIFEST_FILE_NAME).toFile());
+  }
+
+  protected FingerprintStore getFingerprintStore() {
+    return new FingerprintStore(Paths.get(project.getBuild().getDirectory()));
+  }
+
+  private Optional<InputFingerprint> computeInputFingerprint() {
+    try {
+      return getInputFingerprint();
+    } catch (IOException | RuntimeException e) {
+      getLog().debug("Could not compute the inputs fingerprint, the execution will not be skipped", e);
+      return Optional.empty();
+    }
+  }
+
+  private boolean isUpToDate(InputFingerprint fingerprint) {
+    try {
+      return getFingerprintStore().isUpToDate(fingerprint, getOutputs());
+    } catch (RuntimeException e) {
+      getLog().debug("Could not check the outputs of the previous execution, it will not be skipped", e);
+      return false;
+    }
+  }
+
+  private void invalidateFingerprint(InputFingerprint fingerprint) throws MojoExecutionException {
+    try {
+      getFingerprintStore().invalidate(fingerprint.getId());
+    } catch (IOException e) {
+      throw new MojoExecutionException("Could not delete the inputs fingerprint", e);
+    }
+  }
+
+  private void saveFingerprint(InputFingerprint fingerprint) {
+    try {
+      getFingerprintStore().save(fingerprint);
+    } catch (IOException e) {
+      getLog().warn("Could not save the inputs fingerprint, the next build will not be incremental", e);
+    }
+  }
+
   public ContentGenerator getContentGenerator() {
     if (contentGenerator == null) {
       contentGenerator = ContentGeneratorFactory.create(getProjectInformation());
+      if (contentGenerator instanceof MuleContentGenerator) {
+        ((MuleContentGenerator) contentGenerator).setCompareContent(compareCopiedContent);
+      }
     }
     return contentGenerator;
   }
@@ -9,7 +9,27 @@
  */
 package org.mule.tools.maven.mojo;
 
+import static java.util.Collections.singletonList;
+import static org.mule.tools.api.packager.archiver.PackageManifest.PACKAGE_MANIFEST_FILE_NAME;
+import static org.mule.tools.api.packager.structure.FolderNames.MAVEN;
+import static org.mule.tools.api.packager.structure.FolderNames.META_INF;
+import static org.mule.tools.api.packager.structure.FolderNames.MULE_SRC;
+import static org.mule.tools.api.packager.structure.PackagerFiles.POM_PROPERTIES;
+import static org.mule.tools.api.packager.structure.PackagerFiles.POM_XML;
+import org.mule.tools.api.packager.ProjectInformation;
+import org.mule.tools.api.packager.packaging.PackagingType;
+import org.mule.tools.api.packager.sources.ContentGenerator;
+import org.mule.tools.api.packager.sources.MuleContentGenerator;
+import org.mule.tools.api.util.exclude.MuleExclusionMatcher;
+import org.mule.tools.api.util.fingerprint.InputFingerprint;
+
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
@@ -28,12 +48,42 @@ public class GenerateSourcesMojo extends AbstractMuleMojo {
   public void doExecute() throws MojoFailureException {
     getLog().debug("Generating mule source code...");
     try {
-      getContentGenerator().createContent();
+      ContentGenerator contentGenerator = getContentGenerator();
+      if (stagingFreePackaging && contentGenerator instanceof MuleContentGenerator) {
+        ((MuleContentGenerator) contentGenerator).setPackageManifest(getPackageManifest());
+      }
+      contentGenerator.createContent();
     } catch (IllegalArgumentException | IOException e) {
       throw new MojoFailureException("Fail to generate sources", e);
     }
   }
 
+  @Override
+  protected Optional<InputFingerprint> getInputFingerprint() throws IOException {
+    ProjectInformation projectInformation = getProjectInformation();
+    return Optional.of(newInputFingerprint("generate-sources")
+        .withFileTree(projectInformation.getProjectBaseFolder(), singletonList(projectInformation.getBuildDirectory()),
+                      new MuleExclusionMatcher(projectInformation.getProjectBaseFolder()), true));
+  }
+
+  @Override
+  protected Collection<Path> getOutputs() {
+    ProjectInformation projectInformation = getProjectInformation();
+    Path metaInfFolder = projectInformation.getBuildDirectory().resolve(META_INF.value());
+    Path mavenFolder = metaInfFolder.resolve(MAVEN.value()).resolve(projectInformation.getGroupId())
+        .resolve(projectInformation.getArtifactId());
+    List<Path> outputs = new ArrayList<>();
+    outputs.add(mavenFolder.resolve(POM_XML));
+    outputs.add(mavenFolder.resolve(POM_PROPERTIES));
+    if (getPackagingType() != PackagingType.MULE_DOMAIN_BUNDLE) {
+      outputs.add(metaInfFolder.resolve(MULE_SRC.value()).resolve(projectInformation.getArtifactId()));
+      if (stagingFreePackaging) {
+        outputs.add(Paths.get(project.getBuild().getDirectory()).resolve(PACKAGE_MANIFEST_FILE_NAME));
+      }
+    }
+    return outputs;
+  }
+
   @Override
   public String getPreviousRunPlaceholder() {
     return "MULE_MAVEN_PLUGIN_GENERATE_SOURCES_PREVIOUS_RUN_PLACEHOLDER";
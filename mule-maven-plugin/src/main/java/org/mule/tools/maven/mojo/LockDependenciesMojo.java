@@ -0,0 +1,62 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.maven.mojo;
+
+import static java.lang.String.format;
+import static java.util.Optional.empty;
+import org.mule.tools.api.util.MavenComponents;
+import org.mule.tools.api.util.SourcesProcessor;
+
+import java.io.IOException;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+
+/**
+ * Resolves the application dependencies, and the additional dependencies of its plugins, and writes them to the
+ * mule-dependencies.lock.json file in the project base folder. While the project model does not change, following builds read
+ * the dependency graphs from it instead of resolving them against the Maven repositories. This goal is not bound to any phase,
+ * it must be run again to update the lockfile.
+ */
+@Mojo(name = "lock-dependencies")
+public class LockDependenciesMojo extends AbstractMuleMojo {
+
+  @Override
+  public void doExecute() throws MojoFailureException {
+    getLog().debug("Locking dependencies...");
+
+    MavenComponents mavenComponents =
+        new MavenComponents()
+            .withLog(getLog())
+            .withProject(project)
+            .withOutputDirectory(outputDirectory)
+            .withSession(session)
+            .withSharedLibraries(sharedLibraries)
+            .withProjectBuilder(projectBuilder)
+            .withRepositorySystem(repositorySystem)
+            .withLocalRepository(localRepository)
+            .withRemoteArtifactRepositories(remoteArtifactRepositories)
+            .withClassifier(classifier)
+            .withAdditionalPluginDependencies(additionalPluginDependencies)
+            .withProjectBaseFolder(projectBaseFolder);
+
+    try {
+      new SourcesProcessor(mavenComponents).lockDependencies(empty());
+    } catch (IOException e) {
+      throw new MojoFailureException(format("There was an exception while locking the dependencies of [%s]", project.toString()),
+                                     e);
+    }
+  }
+
+  @Override
+  public String getPreviousRunPlaceholder() {
+    return "MULE_MAVEN_PLUGIN_LOCK_DEPENDENCIES_PREVIOUS_RUN_PLACEHOLDER";
+  }
+}
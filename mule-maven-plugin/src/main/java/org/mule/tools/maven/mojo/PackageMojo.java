@@ -12,20 +12,39 @@ package org.mule.tools.maven.mojo;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.lang.Math.min;
+import static java.lang.Runtime.getRuntime;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.mule.tools.api.classloader.Constants.CLASSLOADER_MODEL_FILE_NAME;
 import static org.mule.tools.api.packager.packaging.Classifier.MULE_APPLICATION_EXAMPLE;
 import static org.mule.tools.api.packager.packaging.Classifier.MULE_APPLICATION_TEMPLATE;
 import static org.mule.tools.api.packager.packaging.Classifier.MULE_PLUGIN;
 import static org.mule.tools.api.packager.packaging.Classifier.MULE_POLICY;
 import static org.mule.tools.api.packager.packaging.PackagingType.MULE_DOMAIN_BUNDLE;
+import static org.mule.tools.api.packager.structure.FolderNames.META_INF;
+import static org.mule.tools.api.packager.structure.FolderNames.MULE_ARTIFACT;
+import static org.mule.tools.api.packager.structure.FolderNames.MULE_SRC;
+import static org.mule.tools.api.packager.structure.FolderNames.REPOSITORY;
+import static org.mule.tools.api.packager.structure.PackagerFiles.MULE_ARTIFACT_JSON;
+import org.mule.tools.api.packager.archiver.PackageManifest;
+import org.mule.tools.api.packager.builder.MulePackageBuilder;
 import org.mule.tools.api.packager.builder.PackageBuilder;
 import org.mule.tools.api.packager.builder.PackageBuilderFactory;
 import org.mule.tools.api.packager.packaging.PackagingOptions;
+import org.mule.tools.maven.mojo.model.PackageVariant;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Component;
@@ -46,6 +65,7 @@ public class PackageMojo extends AbstractMuleMojo {
 
   private static final String JAR_EXTENSION = "jar";
   private static final String ZIP_EXTENSION = "zip";
+  private static final String PREVIOUS_ARCHIVE_EXTENSION = ".previous";
 
   @Component
   protected MavenProjectHelper helper;
@@ -55,6 +75,13 @@ public class PackageMojo extends AbstractMuleMojo {
 
   @Parameter(defaultValue = "${attachMuleSources}")
   protected boolean attachMuleSources = false;
+
+  /**
+   * When enabled, the package of the previous build is kept while the new one is created, so the entries that did not change are
+   * copied from it without compressing them again.
+   */
+  @Parameter(defaultValue = "${incrementalArchive}")
+  protected boolean incrementalArchive = false;
   protected PackagingOptions options;
 
   @Override
@@ -62,15 +89,32 @@ public class PackageMojo extends AbstractMuleMojo {
     getLog().debug("Packaging...");
 
     String targetFolder = project.getBuild().getDirectory();
-    File destinationFile = getDestinationFile(targetFolder);
+    Map<String, PackageVariant> variants = getPackageVariants();
+    ExecutorService executor =
+        variants.isEmpty() ? null : newFixedThreadPool(min(variants.size(), getRuntime().availableProcessors()));
     try {
-      getPackageBuilder().createPackage(Paths.get(targetFolder), destinationFile.toPath());
-    } catch (ArchiverException | IOException e) {
-      throw new MojoExecutionException("Exception creating the Mule App", e);
+      Map<String, Future<File>> variantPackages = new LinkedHashMap<>();
+      if (!variants.isEmpty()) {
+        prepareLocalRepositoryVariant(targetFolder);
+        prepareTestJarVariant(targetFolder);
+        // Variants are independent archives built from the same content, they are written while the main package is created
+        variants.forEach((variantClassifier, variant) -> variantPackages
+            .put(variantClassifier, executor.submit(() -> createPackageVariant(targetFolder, variantClassifier, variant))));
+      }
+
+      File destinationFile = createPackage(targetFolder);
+      helper.attachArtifact(this.project, getType(),
+                            getPackagingType().resolveClassifier(classifier, lightweightPackage, testJar),
+                            destinationFile);
+
+      for (Map.Entry<String, Future<File>> variantPackage : variantPackages.entrySet()) {
+        helper.attachArtifact(this.project, getType(), variantPackage.getKey(), getVariantPackage(variantPackage.getValue()));
+      }
+    } finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
     }
-    helper.attachArtifact(this.project, getType(),
-                          getPackagingType().resolveClassifier(classifier, lightweightPackage, testJar),
-                          destinationFile);
 
     if (project.getPackaging().equals(MULE_POLICY.toString())) {
       File policyYaml = new File(projectBaseFolder, format("%s.yaml", project.getArtifactId()));
@@ -80,6 +124,191 @@ public class PackageMojo extends AbstractMuleMojo {
     }
   }
 
+  private File createPackage(String targetFolder) throws MojoExecutionException {
+    File previousArchive = incrementalArchive ? keepPreviousArchive(targetFolder) : null;
+    File destinationFile = getDestinationFile(targetFolder);
+    try {
+      PackageBuilder packageBuilder = getPackageBuilder();
+      if (packageBuilder instanceof MulePackageBuilder) {
+        if (stagingFreePackaging) {
+          ((MulePackageBuilder) packageBuilder).withPackageManifest(getPackageManifest());
+        }
+        if (previousArchive != null) {
+          ((MulePackageBuilder) packageBuilder).withPreviousArchive(previousArchive);
+        }
+      }
+      packageBuilder.createPackage(Paths.get(targetFolder), destinationFile.toPath());
+      if (previousArchive != null) {
+        Files.deleteIfExists(previousArchive.toPath());
+      }
+    } catch (ArchiverException | IOException e) {
+      throw new MojoExecutionException("Exception creating the Mule App", e);
+    }
+    return destinationFile;
+  }
+
+  /**
+   * Validates the package variants and resolves their classifiers.
+   *
+   * @return the package variants by classifier, in the order they were declared
+   * @throws MojoExecutionException if a variant can not be built from the content of this build or its classifier is duplicated
+   */
+  protected Map<String, PackageVariant> getPackageVariants() throws MojoExecutionException {
+    Map<String, PackageVariant> variants = new LinkedHashMap<>();
+    if (packageVariants.isEmpty()) {
+      return variants;
+    }
+    if (getPackagingType().equals(MULE_DOMAIN_BUNDLE)) {
+      throw new MojoExecutionException("Package variants are not supported for domain bundles");
+    }
+    for (PackageVariant variant : packageVariants) {
+      checkPackageVariantIsSupported(variant);
+      String variantClassifier = getPackagingType().resolveClassifier(getVariantBaseClassifier(variant),
+                                                                      variant.isLightweightPackage(), variant.isTestJar());
+      if (variantClassifier.equals(getClassifier()) || variants.put(variantClassifier, variant) != null) {
+        throw new MojoExecutionException(format("There is more than one package with classifier [%s]", variantClassifier));
+      }
+    }
+    return variants;
+  }
+
+  private void checkPackageVariantIsSupported(PackageVariant variant) throws MojoExecutionException {
+    if (testJar && !variant.isTestJar()) {
+      throw new MojoExecutionException(format("Package variant %s can not be built, a package without the test dependencies can "
+          + "not be built from a test-jar one", variant));
+    }
+    if (variant.isTestJar() != testJar && (variant.isLightweightPackage() != lightweightPackage
+        || variant.isUseLocalRepository() != useLocalRepository)) {
+      throw new MojoExecutionException(format("Package variant %s can not be built, lightweightPackage and useLocalRepository of "
+          + "a test-jar variant must be the same as in the main package, as its dependencies are generated with that structure",
+                                              variant));
+    }
+    if (lightweightPackage && !variant.isLightweightPackage()) {
+      throw new MojoExecutionException(format("Package variant %s can not be built, a heavyweight package can not be built from "
+          + "a lightweight one as the repository is not generated", variant));
+    }
+    if (lightweightPackage && variant.isUseLocalRepository() != useLocalRepository) {
+      throw new MojoExecutionException(format("Package variant %s can not be built, useLocalRepository must be the same as in the "
+          + "main package when the main package is lightweight", variant));
+    }
+  }
+
+  private String getVariantBaseClassifier(PackageVariant variant) {
+    return variant.getClassifier() != null ? variant.getClassifier() : classifier;
+  }
+
+  /**
+   * The classloader-model.json files of a lightweight package using the local repository are generated in their own folder when
+   * the main package is heavyweight, the rest of the mule-artifact folder content is shared with the main package.
+   */
+  private void prepareLocalRepositoryVariant(String targetFolder) throws MojoExecutionException {
+    if (!hasLocalRepositoryPackageVariant()) {
+      return;
+    }
+    Path muleArtifactFolder = Paths.get(targetFolder).resolve(META_INF.value()).resolve(MULE_ARTIFACT.value());
+    Path variantMuleArtifactFolder = getLocalRepositoryVariantMuleArtifactFolder();
+    if (!Files.isRegularFile(variantMuleArtifactFolder.resolve(CLASSLOADER_MODEL_FILE_NAME))) {
+      throw new MojoExecutionException(format("The classloader model of the package variants using the local repository was not "
+          + "generated in [%s]", variantMuleArtifactFolder));
+    }
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(muleArtifactFolder, Files::isRegularFile)) {
+      for (Path file : files) {
+        if (!file.getFileName().toString().equals(CLASSLOADER_MODEL_FILE_NAME)) {
+          Files.copy(file, variantMuleArtifactFolder.resolve(file.getFileName()), REPLACE_EXISTING);
+        }
+      }
+    } catch (IOException e) {
+      throw new MojoExecutionException(format("Exception preparing the content of the package variants in [%s]",
+                                              variantMuleArtifactFolder),
+                                       e);
+    }
+  }
+
+  /**
+   * The repository, classloader-model.json and mule-artifact.json files of the test-jar package variants are generated in their
+   * own folder when the main package is not a test-jar, the rest of the mule-artifact folder content is shared with the main
+   * package.
+   */
+  private void prepareTestJarVariant(String targetFolder) throws MojoExecutionException {
+    if (!hasTestJarPackageVariant()) {
+      return;
+    }
+    Path muleArtifactFolder = Paths.get(targetFolder).resolve(META_INF.value()).resolve(MULE_ARTIFACT.value());
+    Path variantMuleArtifactFolder = getTestJarVariantMuleArtifactFolder();
+    if (!Files.isRegularFile(variantMuleArtifactFolder.resolve(MULE_ARTIFACT_JSON))) {
+      throw new MojoExecutionException(format("The mule-artifact.json of the test-jar package variants was not generated in [%s]",
+                                              variantMuleArtifactFolder));
+    }
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(muleArtifactFolder, Files::isRegularFile)) {
+      for (Path file : files) {
+        String fileName = file.getFileName().toString();
+        if (!fileName.equals(CLASSLOADER_MODEL_FILE_NAME) && !fileName.equals(MULE_ARTIFACT_JSON)) {
+          Files.copy(file, variantMuleArtifactFolder.resolve(file.getFileName()), REPLACE_EXISTING);
+        }
+      }
+    } catch (IOException e) {
+      throw new MojoExecutionException(format("Exception preparing the content of the package variants in [%s]",
+                                              variantMuleArtifactFolder),
+                                       e);
+    }
+  }
+
+  /**
+   * @return the manifest of a test-jar package variant: the dependencies recorded with the test ones and the rest of the entries
+   *         of the main package
+   */
+  private PackageManifest getTestJarVariantManifest() throws IOException {
+    PackageManifest variantManifest = getTestJarVariantPackageManifest();
+    String muleSrcLocation = META_INF.value() + "/" + MULE_SRC.value() + "/";
+    getPackageManifest().getEntries(muleSrcLocation).forEach(variantManifest::addEntry);
+    return variantManifest;
+  }
+
+  private File createPackageVariant(String targetFolder, String variantClassifier, PackageVariant variant)
+      throws MojoExecutionException, IOException {
+    String fileName = project.getBuild().getFinalName() + "-" + variantClassifier + "." + getType();
+    File previousArchive = incrementalArchive ? keepPreviousArchive(targetFolder, fileName) : null;
+    File destinationFile = getDestinationFile(targetFolder, fileName);
+
+    MulePackageBuilder packageBuilder =
+        ((MulePackageBuilder) PackageBuilderFactory.create(getPackagingType(), buildPackagingOptions(variant)))
+            .withOriginFolder(Paths.get(targetFolder));
+    boolean builtWithTestDependencies = variant.isTestJar() && !testJar;
+    if (builtWithTestDependencies) {
+      packageBuilder.withMuleArtifact(getTestJarVariantMuleArtifactFolder().toFile());
+      if (!lightweightPackage) {
+        packageBuilder.withRepository(getTestJarVariantFolder().resolve(REPOSITORY.value()).toFile());
+      }
+    } else if (variant.isUseLocalRepository() && !lightweightPackage) {
+      packageBuilder.withMuleArtifact(getLocalRepositoryVariantMuleArtifactFolder().toFile());
+    }
+    if (stagingFreePackaging) {
+      packageBuilder.withPackageManifest(builtWithTestDependencies ? getTestJarVariantManifest() : getPackageManifest());
+    }
+    if (previousArchive != null) {
+      packageBuilder.withPreviousArchive(previousArchive);
+    }
+    packageBuilder.createPackage(destinationFile.toPath());
+    if (previousArchive != null) {
+      Files.deleteIfExists(previousArchive.toPath());
+    }
+    return destinationFile;
+  }
+
+  private File getVariantPackage(Future<File> variantPackage) throws MojoExecutionException {
+    try {
+      return variantPackage.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("Interrupted while creating the package variants", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof MojoExecutionException) {
+        throw (MojoExecutionException) e.getCause();
+      }
+      throw new MojoExecutionException("Exception creating the Mule App", e.getCause());
+    }
+  }
+
   /**
    * Given a {@code targetFolder}, it returns a new {@link File} to the new compressed file where the complete Mule app will be
    * stored. If the file already exists, it will delete it and create a new one.
@@ -90,7 +319,11 @@ public class PackageMojo extends AbstractMuleMojo {
    */
   protected File getDestinationFile(String targetFolder) throws MojoExecutionException {
     checkArgument(targetFolder != null, "The target folder must not be null");
-    Path destinationPath = Paths.get(targetFolder, getFileName());
+    return getDestinationFile(targetFolder, getFileName());
+  }
+
+  private File getDestinationFile(String targetFolder, String fileName) throws MojoExecutionException {
+    Path destinationPath = Paths.get(targetFolder, fileName);
     try {
       Files.deleteIfExists(destinationPath);
     } catch (IOException e) {
@@ -99,6 +332,31 @@ public class PackageMojo extends AbstractMuleMojo {
     return destinationPath.toFile();
   }
 
+  /**
+   * Moves the package created by a previous build, if any, out of the way of the new one.
+   *
+   * @param targetFolder folder in which the package is stored
+   * @return the previous package, or {@code null} if there is none
+   * @throws MojoExecutionException if the previous package could not be moved
+   */
+  protected File keepPreviousArchive(String targetFolder) throws MojoExecutionException {
+    return keepPreviousArchive(targetFolder, getFileName());
+  }
+
+  private File keepPreviousArchive(String targetFolder, String fileName) throws MojoExecutionException {
+    Path destinationPath = Paths.get(targetFolder, fileName);
+    if (!Files.isRegularFile(destinationPath)) {
+      return null;
+    }
+    Path previousArchivePath = Paths.get(targetFolder, fileName + PREVIOUS_ARCHIVE_EXTENSION);
+    try {
+      Files.move(destinationPath, previousArchivePath, REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new MojoExecutionException(String.format("Exception moving the file [%s]", destinationPath), e);
+    }
+    return previousArchivePath.toFile();
+  }
+
   protected String getFileName() {
     return project.getBuild().getFinalName() + "-" + getClassifier() + "." + getType();
   }
@@ -117,6 +375,17 @@ public class PackageMojo extends AbstractMuleMojo {
                                 testJar, useLocalRepository);
   }
 
+  protected PackagingOptions buildPackagingOptions(PackageVariant variant) {
+    String variantClassifier = getVariantBaseClassifier(variant);
+    boolean isMuleApplicationTemplate = MULE_APPLICATION_TEMPLATE.equals(variantClassifier);
+    boolean isMuleApplicationExample = MULE_APPLICATION_EXAMPLE.equals(variantClassifier);
+    boolean isMuleReusableApp = MULE_PLUGIN.equals(variantClassifier);
+    return new PackagingOptions(isMuleApplicationTemplate || variant.isOnlyMuleSources(),
+                                isMuleReusableApp || variant.isLightweightPackage(),
+                                isMuleApplicationExample || variant.isAttachMuleSources(),
+                                variant.isTestJar(), variant.isUseLocalRepository());
+  }
+
   private String getType() {
     return getPackagingType().equals(MULE_DOMAIN_BUNDLE) ? ZIP_EXTENSION : JAR_EXTENSION;
   }
@@ -10,10 +10,24 @@
 
 package org.mule.tools.maven.mojo;
 
+import static java.util.Collections.emptyList;
+import static org.mule.tools.api.packager.structure.FolderNames.CLASSES;
+import static org.mule.tools.api.packager.structure.FolderNames.META_INF;
+import static org.mule.tools.api.packager.structure.FolderNames.MULE_ARTIFACT;
+import static org.mule.tools.api.packager.structure.PackagerFiles.MULE_ARTIFACT_JSON;
 import static org.mule.tools.maven.mojo.model.lifecycle.MavenLifecyclePhase.VALIDATE;
 import org.mule.tools.api.exception.ValidationException;
+import org.mule.tools.api.packager.ProjectInformation;
+import org.mule.tools.api.packager.sources.ContentGeneratorFactory;
+import org.mule.tools.api.packager.sources.MuleContentGenerator;
+import org.mule.tools.api.util.fingerprint.InputFingerprint;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
@@ -35,6 +49,10 @@ public class ProcessClassesMojo extends AbstractMuleMojo {
     getLog().debug("Generating process-classes code...");
     try {
       getContentGenerator().copyDescriptorFile();
+      if (hasTestJarPackageVariant()) {
+        ((MuleContentGenerator) ContentGeneratorFactory.create(getTestJarVariantProjectInformation()))
+            .createDescriptorFile(getTestJarVariantMuleArtifactFolder());
+      }
       if (!skipValidation) {
         getLog().debug("executing validations in process-classes for Mule application");
         getProjectValidator().isProjectValid(VALIDATE.id());
@@ -46,6 +64,29 @@ public class ProcessClassesMojo extends AbstractMuleMojo {
     }
   }
 
+  @Override
+  protected Optional<InputFingerprint> getInputFingerprint() throws IOException {
+    ProjectInformation projectInformation = getProjectInformation();
+    return Optional.of(newInputFingerprint("process-classes")
+        .withValue("skipValidation", skipValidation)
+        .withValue("strictCheck", strictCheck)
+        .withValue("disableSemver", disableSemver)
+        .withArtifacts(project.getArtifacts())
+        .withFile(projectInformation.getProjectBaseFolder().resolve(MULE_ARTIFACT_JSON))
+        .withFileTree(projectInformation.getBuildDirectory().resolve(CLASSES.value()), emptyList()));
+  }
+
+  @Override
+  protected Collection<Path> getOutputs() {
+    List<Path> outputs = new ArrayList<>();
+    outputs.add(getProjectInformation().getBuildDirectory().resolve(META_INF.value()).resolve(MULE_ARTIFACT.value())
+        .resolve(MULE_ARTIFACT_JSON));
+    if (hasTestJarPackageVariant()) {
+      outputs.add(getTestJarVariantMuleArtifactFolder().resolve(MULE_ARTIFACT_JSON));
+    }
+    return outputs;
+  }
+
   @Override
   public String getPreviousRunPlaceholder() {
     return "MULE_MAVEN_PLUGIN_PROCESS_CLASSES_PREVIOUS_RUN_PLACEHOLDER";
@@ -17,6 +17,7 @@ import java.util.Optional;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 
 import org.mule.tools.api.packager.packaging.PackagingType;
@@ -28,6 +29,14 @@ import org.mule.tools.api.packager.resources.processor.ResourcesContentProcessor
     requiresDependencyResolution = ResolutionScope.RUNTIME)
 public class ProcessResourcesMojo extends AbstractMuleMojo {
 
+  /**
+   * When enabled, the applications of a domain bundle are embedded as lightweight packages using the local repository, and their
+   * repositories are merged into a single repository of the bundle, where each artifact is stored once. The repository of the
+   * bundle must be the local Maven repository of the runtime the applications are deployed to.
+   */
+  @Parameter(defaultValue = "${mergeBundleRepositories}")
+  protected boolean mergeBundleRepositories = false;
+
   @Override
   public void doExecute() throws MojoFailureException {
     try {
@@ -43,7 +52,8 @@ public class ProcessResourcesMojo extends AbstractMuleMojo {
   protected Optional<ResourcesContentProcessor> getResourcesContentProcessor() {
     PackagingType packaging = PackagingType.fromString(getProjectInformation().getPackaging());
     if (packaging == PackagingType.MULE_DOMAIN_BUNDLE) {
-      return Optional.of(new DomainBundleProjectResourcesContentProcessor(Paths.get(project.getBuild().getDirectory())));
+      return Optional.of(new DomainBundleProjectResourcesContentProcessor(Paths.get(project.getBuild().getDirectory()),
+                                                                          mergeBundleRepositories));
     } else {
       return Optional.empty();
     }
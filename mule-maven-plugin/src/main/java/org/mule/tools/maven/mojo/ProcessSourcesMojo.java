@@ -12,11 +12,29 @@ package org.mule.tools.maven.mojo;
 
 import static java.lang.String.format;
 import static java.util.Optional.empty;
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+import static org.mule.tools.api.classloader.ClassLoaderModelJsonSerializer.deserialize;
+import static org.mule.tools.api.classloader.Constants.CLASSLOADER_MODEL_FILE_NAME;
+import static org.mule.tools.api.classloader.model.resolver.DependencyLockfile.LOCKFILE_NAME;
+import static org.mule.tools.api.packager.archiver.PackageManifest.PACKAGE_MANIFEST_FILE_NAME;
+import static org.mule.tools.api.packager.packaging.Classifier.MULE_PLUGIN;
 import static org.mule.tools.api.packager.structure.FolderNames.META_INF;
 import static org.mule.tools.api.packager.structure.FolderNames.MULE_ARTIFACT;
+import static org.mule.tools.api.packager.structure.FolderNames.REPOSITORY;
+import org.mule.tools.api.classloader.model.Artifact;
 import org.mule.tools.api.util.MavenComponents;
 import org.mule.tools.api.util.SourcesProcessor;
+import org.mule.tools.api.util.fingerprint.InputFingerprint;
 
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -66,16 +84,110 @@ public class ProcessSourcesMojo extends AbstractMuleMojo {
     SourcesProcessor sourcesProcessor = new SourcesProcessor(mavenComponents);
 
     try {
+      if (stagingFreePackaging) {
+        sourcesProcessor.setPackageManifest(getPackageManifest());
+      }
+      if (hasLocalRepositoryPackageVariant()) {
+        File localRepositoryMuleArtifactFolder = getLocalRepositoryVariantMuleArtifactFolder().toFile();
+        deleteDirectory(localRepositoryMuleArtifactFolder);
+        sourcesProcessor.setLocalRepositoryMuleArtifactFolder(localRepositoryMuleArtifactFolder);
+      }
       sourcesProcessor
           .process(prettyPrinting, lightweightPackage, useLocalRepository, testJar, outputDirectory,
                    getProjectInformation().getBuildDirectory().resolve(META_INF.value()).resolve(MULE_ARTIFACT.value()).toFile(),
                    empty());
+      if (hasTestJarPackageVariant()) {
+        processTestJarVariant(mavenComponents);
+      }
     } catch (Exception e) {
       String message = format("There was an exception while creating the repository of [%s]", project.toString());
       throw new MojoFailureException(message, e);
     }
   }
 
+  @Override
+  protected Optional<InputFingerprint> getInputFingerprint() {
+    if (lightweightPackage && !useLocalRepository) {
+      // Nothing is generated, so there are no outputs to check before skipping the execution
+      return Optional.empty();
+    }
+    return Optional.of(newInputFingerprint("process-sources")
+        .withValue("prettyPrinting", prettyPrinting)
+        .withArtifacts(project.getArtifacts())
+        .withFile(projectBaseFolder.toPath().resolve(LOCKFILE_NAME)));
+  }
+
+  /**
+   * @return the classloader-model.json files of the application and of its mule-plugins, and the repository with the dependencies
+   *         or, if they are not staged, the package manifest where they are recorded
+   */
+  @Override
+  protected Collection<Path> getOutputs() {
+    List<Path> outputs = new ArrayList<>();
+    if (lightweightPackage && !useLocalRepository) {
+      return outputs;
+    }
+    Path muleArtifactFolder =
+        getProjectInformation().getBuildDirectory().resolve(META_INF.value()).resolve(MULE_ARTIFACT.value());
+    Path classLoaderModelFile = muleArtifactFolder.resolve(CLASSLOADER_MODEL_FILE_NAME);
+    outputs.add(classLoaderModelFile);
+    if (!classLoaderModelFile.toFile().isFile()) {
+      return outputs;
+    }
+    List<Artifact> dependencies = deserialize(classLoaderModelFile.toFile()).getDependencies();
+
+    if (!lightweightPackage) {
+      if (stagingFreePackaging) {
+        outputs.add(Paths.get(project.getBuild().getDirectory()).resolve(PACKAGE_MANIFEST_FILE_NAME));
+      } else {
+        File repositoryFolder = new File(outputDirectory, REPOSITORY.value());
+        outputs.add(repositoryFolder.toPath());
+        dependencies.stream()
+            .filter(dependency -> !StringUtils.equals(dependency.getArtifactCoordinates().getScope(), "provided"))
+            .forEach(dependency -> outputs.add(new File(dependency.getFormattedMavenDirectory(repositoryFolder),
+                                                        dependency.getFormattedArtifactFileName()).toPath()));
+      }
+    }
+    if (useLocalRepository) {
+      addMulePluginClassLoaderModels(outputs, dependencies, muleArtifactFolder);
+    }
+    if (hasLocalRepositoryPackageVariant()) {
+      Path variantFolder = getLocalRepositoryVariantMuleArtifactFolder();
+      outputs.add(variantFolder.resolve(CLASSLOADER_MODEL_FILE_NAME));
+      addMulePluginClassLoaderModels(outputs, dependencies, variantFolder);
+    }
+    if (hasTestJarPackageVariant()) {
+      outputs.add(getTestJarVariantMuleArtifactFolder().resolve(CLASSLOADER_MODEL_FILE_NAME));
+      if (!lightweightPackage) {
+        outputs.add(stagingFreePackaging ? getTestJarVariantFolder().resolve(PACKAGE_MANIFEST_FILE_NAME)
+            : getTestJarVariantFolder().resolve(REPOSITORY.value()));
+      }
+    }
+    return outputs;
+  }
+
+  /**
+   * Generates the repository and the classloader-model.json files of the test-jar package variants, with the same structure as
+   * the main package but including the test dependencies.
+   */
+  private void processTestJarVariant(MavenComponents mavenComponents) throws Exception {
+    File variantFolder = getTestJarVariantFolder().toFile();
+    deleteDirectory(variantFolder);
+    SourcesProcessor variantSourcesProcessor = new SourcesProcessor(mavenComponents);
+    if (stagingFreePackaging) {
+      variantSourcesProcessor.setPackageManifest(getTestJarVariantPackageManifest());
+    }
+    variantSourcesProcessor.process(prettyPrinting, lightweightPackage, useLocalRepository, true, variantFolder,
+                                    getTestJarVariantMuleArtifactFolder().toFile(), empty());
+  }
+
+  private static void addMulePluginClassLoaderModels(List<Path> outputs, List<Artifact> dependencies, Path muleArtifactFolder) {
+    dependencies.stream()
+        .filter(dependency -> StringUtils.equals(dependency.getArtifactCoordinates().getClassifier(), MULE_PLUGIN.toString()))
+        .forEach(dependency -> outputs.add(dependency.getFormattedMavenDirectory(muleArtifactFolder.toFile()).toPath()
+            .resolve(CLASSLOADER_MODEL_FILE_NAME)));
+  }
+
   @Override
   public String getPreviousRunPlaceholder() {
     return "MULE_MAVEN_PLUGIN_PROCESS_SOURCES_PREVIOUS_RUN_PLACEHOLDER";
@@ -0,0 +1,98 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.tools.maven.mojo.model;
+
+/**
+ * An additional package built by the package goal from the same content as the main package, so it does not require another
+ * build. Each variant is attached with its own classifier.
+ *
+ * <pre>
+ * &lt;packageVariants&gt;
+ *   &lt;packageVariant&gt;
+ *     &lt;lightweightPackage&gt;true&lt;/lightweightPackage&gt;
+ *     &lt;useLocalRepository&gt;true&lt;/useLocalRepository&gt;
+ *   &lt;/packageVariant&gt;
+ * &lt;/packageVariants&gt;
+ * </pre>
+ */
+public class PackageVariant {
+
+  private String classifier;
+
+  private boolean lightweightPackage = false;
+
+  private boolean useLocalRepository = false;
+
+  private boolean testJar = false;
+
+  private boolean attachMuleSources = false;
+
+  private boolean onlyMuleSources = false;
+
+  public String getClassifier() {
+    return classifier;
+  }
+
+  public void setClassifier(String classifier) {
+    this.classifier = classifier;
+  }
+
+  public boolean isLightweightPackage() {
+    return lightweightPackage;
+  }
+
+  public void setLightweightPackage(boolean lightweightPackage) {
+    this.lightweightPackage = lightweightPackage;
+  }
+
+  /**
+   * @return whether the variant is a lightweight package using the local repository, as {@code useLocalRepository} is ignored
+   *         for heavyweight packages
+   */
+  public boolean isUseLocalRepository() {
+    return lightweightPackage && useLocalRepository;
+  }
+
+  public void setUseLocalRepository(boolean useLocalRepository) {
+    this.useLocalRepository = useLocalRepository;
+  }
+
+  public boolean isTestJar() {
+    return testJar;
+  }
+
+  public void setTestJar(boolean testJar) {
+    this.testJar = testJar;
+  }
+
+  public boolean isAttachMuleSources() {
+    return attachMuleSources;
+  }
+
+  public void setAttachMuleSources(boolean attachMuleSources) {
+    this.attachMuleSources = attachMuleSources;
+  }
+
+  public boolean isOnlyMuleSources() {
+    return onlyMuleSources;
+  }
+
+  public void setOnlyMuleSources(boolean onlyMuleSources) {
+    this.onlyMuleSources = onlyMuleSources;
+  }
+
+  @Override
+  public String toString() {
+    return "PackageVariant{classifier=" + classifier + ", lightweightPackage=" + lightweightPackage + ", useLocalRepository="
+        + isUseLocalRepository() + ", testJar=" + testJar + ", attachMuleSources=" + attachMuleSources + ", onlyMuleSources="
+        + onlyMuleSources + "}";
+  }
+}
@@ -11,6 +11,7 @@
 package org.mule.tools.maven.mojo;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.ArgumentMatchers.any;
@@ -19,6 +20,7 @@ import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
 
 import org.apache.maven.model.Build;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -30,12 +32,14 @@ import org.junit.rules.TemporaryFolder;
 import org.mule.tools.api.packager.builder.PackageBuilder;
 import org.mule.tools.api.packager.packaging.Classifier;
 import org.mule.tools.api.packager.packaging.PackagingType;
+import org.mule.tools.maven.mojo.model.PackageVariant;
 
 public class PackageMojoTest extends AbstractMuleMojoTest {
 
   private static final String TYPE = "jar";
   private static final String VERSION = "1.0";
   private static final String LIGHT_PACKAGE_CLASSIFIER = "light-package";
+  private static final String TEST_JAR_CLASSIFIER = "test-jar";
   private static final String FINAL_NAME = ARTIFACT_ID + "-" + VERSION;
 
   @Rule
@@ -154,6 +158,78 @@ public class PackageMojoTest extends AbstractMuleMojoTest {
                mojo.buildPackagingOptions().isAttachMuleSources(), equalTo(true));
   }
 
+  @Test
+  public void packageVariantsAreResolvedByClassifier() throws MojoExecutionException {
+    when(projectMock.getPackaging()).thenReturn(MULE_APPLICATION);
+    PackageVariant lightweightVariant = new PackageVariant();
+    lightweightVariant.setLightweightPackage(true);
+    lightweightVariant.setUseLocalRepository(true);
+    mojo.packageVariants.add(lightweightVariant);
+
+    Map<String, PackageVariant> variants = mojo.getPackageVariants();
+
+    assertThat(variants.keySet(), contains(MULE_APPLICATION + "-" + LIGHT_PACKAGE_CLASSIFIER));
+    assertThat(mojo.buildPackagingOptions(lightweightVariant).isLightweightPackage(), is(true));
+    assertThat(mojo.buildPackagingOptions(lightweightVariant).isUseLocalRepository(), is(true));
+  }
+
+  @Test
+  public void packageVariantWithTheMainClassifierFails() throws MojoExecutionException {
+    when(projectMock.getPackaging()).thenReturn(MULE_APPLICATION);
+    mojo.packageVariants.add(new PackageVariant());
+
+    expectedException.expect(MojoExecutionException.class);
+    mojo.getPackageVariants();
+  }
+
+  @Test
+  public void testJarPackageVariantIsResolvedByClassifier() throws MojoExecutionException {
+    when(projectMock.getPackaging()).thenReturn(MULE_APPLICATION);
+    PackageVariant testVariant = new PackageVariant();
+    testVariant.setTestJar(true);
+    mojo.packageVariants.add(testVariant);
+
+    Map<String, PackageVariant> variants = mojo.getPackageVariants();
+
+    assertThat(variants.keySet(), contains(MULE_APPLICATION + "-" + TEST_JAR_CLASSIFIER));
+    assertThat(mojo.buildPackagingOptions(testVariant).isTestPackage(), is(true));
+    assertThat(mojo.hasTestJarPackageVariant(), is(true));
+  }
+
+  @Test
+  public void packageVariantWithoutTestJarOfTestJarPackageFails() throws MojoExecutionException {
+    when(projectMock.getPackaging()).thenReturn(MULE_APPLICATION);
+    mojo.testJar = true;
+    mojo.packageVariants.add(new PackageVariant());
+
+    expectedException.expect(MojoExecutionException.class);
+    mojo.getPackageVariants();
+  }
+
+  @Test
+  public void lightweightTestJarPackageVariantOfHeavyweightPackageFails() throws MojoExecutionException {
+    when(projectMock.getPackaging()).thenReturn(MULE_APPLICATION);
+    PackageVariant testVariant = new PackageVariant();
+    testVariant.setTestJar(true);
+    testVariant.setLightweightPackage(true);
+    mojo.packageVariants.add(testVariant);
+
+    expectedException.expect(MojoExecutionException.class);
+    mojo.getPackageVariants();
+  }
+
+  @Test
+  public void heavyweightPackageVariantOfLightweightPackageFails() throws MojoExecutionException {
+    when(projectMock.getPackaging()).thenReturn(MULE_APPLICATION);
+    mojo.lightweightPackage = true;
+    PackageVariant heavyweightVariant = new PackageVariant();
+    heavyweightVariant.setClassifier(Classifier.MULE_APPLICATION_EXAMPLE.toString());
+    mojo.packageVariants.add(heavyweightVariant);
+
+    expectedException.expect(MojoExecutionException.class);
+    mojo.getPackageVariants();
+  }
+
   private class PackageMojoImpl extends PackageMojo {
 
     @Override
@@ -20,6 +20,7 @@ import static org.mule.tools.api.classloader.model.util.ArtifactUtils.toBundleDe
 import static org.mule.tools.api.packager.packaging.Classifier.MULE_PLUGIN;
 
 import org.mule.maven.client.api.model.BundleDependency;
+import org.mule.maven.client.api.model.BundleDescriptor;
 import org.mule.maven.client.internal.AetherMavenClient;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.tools.api.classloader.model.Artifact;
@@ -36,6 +37,7 @@ import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 import com.vdurmont.semver4j.Semver;
@@ -68,13 +70,38 @@ public class AdditionalPluginDependenciesResolver {
   private AetherMavenClient aetherMavenClient;
   private List<Plugin> pluginsWithAdditionalDependencies;
   private File temporaryFolder;
+  private DependencyLockfile lockfile;
+  private Map<List<BundleDescriptor>, List<BundleDependency>> resolvedAdditionalDependencies = new LinkedHashMap<>();
 
   public AdditionalPluginDependenciesResolver(AetherMavenClient muleMavenPluginClient,
                                               List<Plugin> additionalPluginDependencies,
                                               File temporaryFolder) {
+    this(muleMavenPluginClient, additionalPluginDependencies, temporaryFolder, null);
+  }
+
+  /**
+   * @param muleMavenPluginClient client used to resolve the additional dependencies
+   * @param additionalPluginDependencies additional dependencies declared by the application
+   * @param temporaryFolder folder where the effective models of the plugins are built
+   * @param lockfile lockfile read instead of resolving the additional dependencies when it is valid for the project, may be
+   *        {@code null}
+   */
+  public AdditionalPluginDependenciesResolver(AetherMavenClient muleMavenPluginClient,
+                                              List<Plugin> additionalPluginDependencies,
+                                              File temporaryFolder,
+                                              DependencyLockfile lockfile) {
     this.aetherMavenClient = muleMavenPluginClient;
     this.pluginsWithAdditionalDependencies = new ArrayList<>(additionalPluginDependencies);
     this.temporaryFolder = temporaryFolder;
+    this.lockfile = lockfile;
+  }
+
+  /**
+   * @return the additional dependencies resolved by this resolver, by the additional dependencies requested, so they can be
+   *         {@link DependencyLockfile#write locked}. Dependencies read from the lockfile are not included.
+   */
+  public Map<List<BundleDescriptor>, List<BundleDependency>> getResolvedAdditionalDependencies() {
+    return resolvedAdditionalDependencies;
   }
 
   public Map<BundleDependency, List<BundleDependency>> resolveDependencies(List<BundleDependency> applicationDependencies,
@@ -99,12 +126,25 @@ public class AdditionalPluginDependenciesResolver {
   }
 
   private List<BundleDependency> resolveDependencies(List<Dependency> additionalDependencies) {
-    return aetherMavenClient.resolveArtifactDependencies(additionalDependencies.stream()
+    List<BundleDescriptor> additionalDescriptors = additionalDependencies.stream()
         .map(additionalDependency -> toBundleDescriptor(additionalDependency))
-        .collect(toList()),
-                                                         of(aetherMavenClient.getMavenConfiguration()
-                                                             .getLocalMavenRepositoryLocation()),
-                                                         empty());
+        .collect(toList());
+    if (lockfile != null) {
+      Optional<List<BundleDependency>> lockedDependencies =
+          lockfile.readAdditionalDependencies(additionalDescriptors,
+                                              descriptor -> new File(aetherMavenClient.resolveBundleDescriptor(descriptor)
+                                                  .getBundleUri()));
+      if (lockedDependencies.isPresent()) {
+        return lockedDependencies.get();
+      }
+    }
+    List<BundleDependency> resolvedDependencies =
+        aetherMavenClient.resolveArtifactDependencies(additionalDescriptors,
+                                                      of(aetherMavenClient.getMavenConfiguration()
+                                                          .getLocalMavenRepositoryLocation()),
+                                                      empty());
+    resolvedAdditionalDependencies.put(additionalDescriptors, resolvedDependencies);
+    return resolvedDependencies;
   }
 
   private BundleDependency getPluginBundleDependency(Plugin plugin, List<BundleDependency> mulePlugins) {
@@ -9,13 +9,17 @@
  */
 package org.mule.tools.api.classloader.model.resolver;
 
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Arrays.asList;
 import static java.util.Optional.empty;
 import org.mule.maven.client.api.MavenReactorResolver;
 import org.mule.maven.client.api.model.BundleDependency;
+import org.mule.maven.client.api.model.BundleDescriptor;
 import org.mule.maven.client.api.model.BundleScope;
 import org.mule.maven.client.internal.AetherMavenClient;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -25,9 +29,19 @@ public class ApplicationDependencyResolver {
   protected static final String MULE_DOMAIN_CLASSIFIER = "mule-domain";
 
   private final AetherMavenClient muleMavenPluginClient;
+  private final DependencyLockfile lockfile;
 
   public ApplicationDependencyResolver(AetherMavenClient muleMavenPluginClient) {
+    this(muleMavenPluginClient, null);
+  }
+
+  /**
+   * @param muleMavenPluginClient client used to resolve the dependency graph
+   * @param lockfile lockfile read instead of resolving the dependency graph when it is valid for the project, may be {@code null}
+   */
+  public ApplicationDependencyResolver(AetherMavenClient muleMavenPluginClient, DependencyLockfile lockfile) {
     this.muleMavenPluginClient = muleMavenPluginClient;
+    this.lockfile = lockfile;
   }
 
   /**
@@ -60,6 +74,45 @@ public class ApplicationDependencyResolver {
    */
   public List<BundleDependency> resolveApplicationDependencies(File pomFile, boolean includeTestDependencies,
                                                                Optional<MavenReactorResolver> mavenReactorResolver) {
+    if (lockfile != null) {
+      Optional<List<BundleDependency>> lockedDependencies = lockfile.read(includeTestDependencies, this::resolveArtifact);
+      if (lockedDependencies.isPresent()) {
+        return lockedDependencies.get();
+      }
+    }
+    return doResolveApplicationDependencies(pomFile, includeTestDependencies, mavenReactorResolver);
+  }
+
+  /**
+   * Resolves the application dependencies, with and without test dependencies, and the additional dependencies of their
+   * plugins, and writes them to the lockfile, so following builds use them while the project model does not change.
+   *
+   * @param pomFile pom file
+   * @param mavenReactorResolver {@link MavenReactorResolver}
+   * @param mulePluginClassLoaderModelResolver resolver of the class loader models of the plugins
+   * @param additionalPluginDependenciesResolver resolver of the additional dependencies of the plugins, not reading the lockfile
+   * @throws IOException if the lockfile could not be written
+   */
+  public void lockApplicationDependencies(File pomFile, Optional<MavenReactorResolver> mavenReactorResolver,
+                                          ClassloaderModelResolver mulePluginClassLoaderModelResolver,
+                                          AdditionalPluginDependenciesResolver additionalPluginDependenciesResolver)
+      throws IOException {
+    checkState(lockfile != null, "No lockfile has been configured");
+    List<BundleDependency> dependencies = doResolveApplicationDependencies(pomFile, false, mavenReactorResolver);
+    List<BundleDependency> testDependencies = doResolveApplicationDependencies(pomFile, true, mavenReactorResolver);
+    for (List<BundleDependency> resolvedDependencies : asList(dependencies, testDependencies)) {
+      additionalPluginDependenciesResolver
+          .resolveDependencies(resolvedDependencies, mulePluginClassLoaderModelResolver.resolve(resolvedDependencies));
+    }
+    lockfile.write(dependencies, testDependencies, additionalPluginDependenciesResolver.getResolvedAdditionalDependencies());
+  }
+
+  private File resolveArtifact(BundleDescriptor descriptor) {
+    return new File(muleMavenPluginClient.resolveBundleDescriptor(descriptor).getBundleUri());
+  }
+
+  private List<BundleDependency> doResolveApplicationDependencies(File pomFile, boolean includeTestDependencies,
+                                                                  Optional<MavenReactorResolver> mavenReactorResolver) {
     List<BundleDependency> resolvedApplicationDependencies =
         muleMavenPluginClient
             .resolveArtifactDependencies(pomFile, includeTestDependencies, true, empty(), mavenReactorResolver, empty())
@@ -27,6 +27,7 @@ import java.util.stream.Collectors;
 import static org.mule.tools.api.classloader.model.ApplicationClassLoaderModelAssembler.CLASS_LOADER_MODEL_VERSION;
 import static org.mule.tools.api.classloader.model.util.ArtifactUtils.toArtifactCoordinates;
 import static org.mule.tools.api.classloader.model.util.ArtifactUtils.toArtifacts;
+import static org.mule.tools.api.classloader.model.util.ArtifactUtils.toCanonicalArtifacts;
 import static org.mule.tools.api.classloader.model.util.ArtifactUtils.updatePackagesResources;
 
 public abstract class ClassloaderModelResolver {
@@ -65,7 +66,7 @@ public abstract class ClassloaderModelResolver {
 
       List<BundleDependency> dependencyDependencies =
           resolveConflicts(dependencyListEntry.getValue(), dependencies);
-      dependencyClassloaderModel.setDependencies(updatePackagesResources(toArtifacts(dependencyDependencies)));
+      dependencyClassloaderModel.setDependencies(updatePackagesResources(toCanonicalArtifacts(dependencyDependencies)));
       classloaderModels.add(dependencyClassloaderModel);
     }
     return classloaderModels;
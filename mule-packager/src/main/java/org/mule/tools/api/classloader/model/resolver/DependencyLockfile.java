@@ -0,0 +1,406 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.tools.api.classloader.model.resolver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import org.mule.maven.client.api.model.BundleDependency;
+import org.mule.maven.client.api.model.BundleDescriptor;
+import org.mule.maven.client.api.model.BundleScope;
+import org.mule.tools.api.util.PackagerLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Lockfile with the resolved dependency graph of an application, and of the additional dependencies of its plugins, so builds
+ * can skip collecting the graphs from the Maven repositories while the project model does not change.
+ * <p>
+ * The lockfile is only written by an explicit request, see {@link ApplicationDependencyResolver#lockApplicationDependencies}.
+ * It stores, for each dependency, its coordinates, scope, the location of its file relative to the local repository and the
+ * size, last modified time and SHA-256 checksum of the file. Files outside the local repository are locked without their
+ * location. A lockfile is only used if it was generated from a project with the same {@link #digest(MavenProject) model digest};
+ * otherwise the graph is resolved as usual. Locked files missing from the local repository are requested by their coordinates,
+ * so a lockfile can be used with a cold local repository, and every file must have the locked content. A locked file is only
+ * hashed when its size matches but its last modified time does not, so reading a lockfile does not read the dependencies
+ * themselves.
+ */
+public class DependencyLockfile {
+
+  public static final String LOCKFILE_NAME = "mule-dependencies.lock.json";
+
+  private static final String FORMAT_VERSION = "3.0";
+  private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+  private final File lockfile;
+  private final Path localRepository;
+  private final String modelDigest;
+  private final PackagerLog log;
+  private Optional<LockfileModel> model;
+
+  /**
+   * @param lockfile the lockfile, usually {@link #LOCKFILE_NAME} in the project base folder. Non null.
+   * @param localRepository the local Maven repository the locked files are relative to. Non null.
+   * @param modelDigest the {@link #digest(MavenProject) digest} of the current project model. Non null.
+   * @param log the log where the reasons for ignoring the lockfile are reported. Non null.
+   */
+  public DependencyLockfile(File lockfile, File localRepository, String modelDigest, PackagerLog log) {
+    checkArgument(lockfile != null, "The lockfile must not be null");
+    checkArgument(localRepository != null, "The local repository must not be null");
+    checkArgument(modelDigest != null, "The model digest must not be null");
+    checkArgument(log != null, "The log must not be null");
+    this.lockfile = lockfile;
+    this.localRepository = localRepository.toPath().toAbsolutePath().normalize();
+    this.modelDigest = modelDigest;
+    this.log = log;
+  }
+
+  public File getFile() {
+    return lockfile;
+  }
+
+  /**
+   * Computes the digest a lockfile must have been generated from to be used with a project. It covers what the resolution of the
+   * dependency graph depends on: the dependencies and dependency management of the effective model, so changes inherited from a
+   * parent or imported from a BOM are detected, the coordinates of the parent chain and the ids of the active profiles.
+   *
+   * @param project the project of the application, with its effective model
+   * @return the SHA-256 of the resolved model
+   */
+  public static String digest(MavenProject project) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    for (Dependency dependency : project.getModel().getDependencies()) {
+      putDependency(hasher, "dependency", dependency);
+    }
+    DependencyManagement dependencyManagement = project.getModel().getDependencyManagement();
+    if (dependencyManagement != null) {
+      for (Dependency dependency : dependencyManagement.getDependencies()) {
+        putDependency(hasher, "managed", dependency);
+      }
+    }
+    for (MavenProject parent = project.getParent(); parent != null; parent = parent.getParent()) {
+      putLine(hasher, "parent", parent.getGroupId() + ":" + parent.getArtifactId() + ":" + parent.getVersion());
+    }
+    // Keyed by the model that declares them, including the parents and the settings
+    new TreeMap<>(project.getInjectedProfileIds())
+        .forEach((modelId, profileIds) -> putLine(hasher, "profiles", modelId + "=" + String.join(",", profileIds)));
+    return hasher.hash().toString();
+  }
+
+  private static void putDependency(Hasher hasher, String name, Dependency dependency) {
+    StringBuilder value = new StringBuilder(dependency.getManagementKey())
+        .append(':').append(dependency.getVersion())
+        .append(':').append(dependency.getScope())
+        .append(':').append(dependency.isOptional());
+    for (Exclusion exclusion : dependency.getExclusions()) {
+      value.append(":!").append(exclusion.getGroupId()).append(':').append(exclusion.getArtifactId());
+    }
+    putLine(hasher, name, value.toString());
+  }
+
+  private static void putLine(Hasher hasher, String name, String value) {
+    hasher.putString(name, UTF_8).putString("=", UTF_8).putString(value, UTF_8).putString("\n", UTF_8);
+  }
+
+  /**
+   * Reads the locked dependency graph.
+   *
+   * @param includeTestDependencies whether the graph with the test dependencies is required
+   * @param artifactResolver resolves the file of a locked dependency that is not available in the local repository
+   * @return the locked dependencies, or empty if there is no lockfile or it can not be used for the current project
+   */
+  public Optional<List<BundleDependency>> read(boolean includeTestDependencies,
+                                               Function<BundleDescriptor, File> artifactResolver) {
+    Optional<LockfileModel> model = getModel();
+    if (!model.isPresent()) {
+      return Optional.empty();
+    }
+    List<LockedDependency> lockedDependencies =
+        includeTestDependencies ? model.get().testDependencies : model.get().dependencies;
+    return lockedDependencies == null ? Optional.empty() : toBundleDependencies(lockedDependencies, artifactResolver);
+  }
+
+  /**
+   * Reads the locked dependency graph of the additional dependencies of a plugin.
+   *
+   * @param additionalDependencies the additional dependencies to resolve
+   * @param artifactResolver resolves the file of a locked dependency that is not available in the local repository
+   * @return the locked dependencies, or empty if there is no lockfile, it can not be used for the current project or those
+   *         additional dependencies were not locked
+   */
+  public Optional<List<BundleDependency>> readAdditionalDependencies(List<BundleDescriptor> additionalDependencies,
+                                                                     Function<BundleDescriptor, File> artifactResolver) {
+    Optional<LockfileModel> model = getModel();
+    if (!model.isPresent() || model.get().additionalDependencies == null) {
+      return Optional.empty();
+    }
+    List<String> requested = toCoordinates(additionalDependencies);
+    return model.get().additionalDependencies.stream()
+        .filter(locked -> requested.equals(locked.requested))
+        .findFirst()
+        .flatMap(locked -> toBundleDependencies(locked.dependencies, artifactResolver));
+  }
+
+  private Optional<LockfileModel> getModel() {
+    if (model == null) {
+      model = readModel();
+    }
+    return model;
+  }
+
+  private Optional<LockfileModel> readModel() {
+    if (!lockfile.isFile()) {
+      return Optional.empty();
+    }
+
+    LockfileModel model;
+    try (Reader reader = Files.newBufferedReader(lockfile.toPath(), UTF_8)) {
+      model = GSON.fromJson(reader, LockfileModel.class);
+    } catch (IOException | JsonParseException e) {
+      log.warn(format("Ignoring dependency lockfile [%s] as it could not be read: %s", lockfile, e.getMessage()));
+      return Optional.empty();
+    }
+    if (model == null || !FORMAT_VERSION.equals(model.formatVersion)) {
+      log.warn(format("Ignoring dependency lockfile [%s] as its format is not supported", lockfile));
+      return Optional.empty();
+    }
+    if (!modelDigest.equals(model.modelDigest)) {
+      log.warn(format("Ignoring dependency lockfile [%s] as the project model changed since it was generated", lockfile));
+      return Optional.empty();
+    }
+    return Optional.of(model);
+  }
+
+  private Optional<List<BundleDependency>> toBundleDependencies(List<LockedDependency> lockedDependencies,
+                                                                Function<BundleDescriptor, File> artifactResolver) {
+    try {
+      return Optional.of(toBundleDependencies(lockedDependencies, artifactResolver, new HashMap<>(), new HashMap<>()));
+    } catch (InvalidLockfileException e) {
+      log.warn(format("Ignoring dependency lockfile [%s]: %s", lockfile, e.getMessage()));
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Writes the lockfile.
+   *
+   * @param dependencies the resolved dependencies, without test dependencies
+   * @param testDependencies the resolved dependencies, including test dependencies
+   * @param additionalDependencies the resolved additional dependencies of the plugins, by the additional dependencies requested
+   * @throws IOException if the lockfile or the dependency files could not be read or written
+   */
+  public void write(List<BundleDependency> dependencies, List<BundleDependency> testDependencies,
+                    Map<List<BundleDescriptor>, List<BundleDependency>> additionalDependencies)
+      throws IOException {
+    Map<Path, String> checksums = new HashMap<>();
+    LockfileModel model = new LockfileModel();
+    model.formatVersion = FORMAT_VERSION;
+    model.modelDigest = modelDigest;
+    model.dependencies = toLockedDependencies(dependencies, checksums);
+    model.testDependencies = toLockedDependencies(testDependencies, checksums);
+    Map<List<String>, LockedAdditionalDependencies> lockedAdditionalDependencies = new LinkedHashMap<>();
+    for (Map.Entry<List<BundleDescriptor>, List<BundleDependency>> entry : additionalDependencies.entrySet()) {
+      LockedAdditionalDependencies locked = new LockedAdditionalDependencies();
+      locked.requested = toCoordinates(entry.getKey());
+      locked.dependencies = toLockedDependencies(entry.getValue(), checksums);
+      lockedAdditionalDependencies.putIfAbsent(locked.requested, locked);
+    }
+    model.additionalDependencies = new ArrayList<>(lockedAdditionalDependencies.values());
+
+    try (Writer writer = Files.newBufferedWriter(lockfile.toPath(), UTF_8)) {
+      GSON.toJson(model, writer);
+    }
+    this.model = null;
+  }
+
+  private static List<String> toCoordinates(List<BundleDescriptor> descriptors) {
+    return descriptors.stream()
+        .map(descriptor -> descriptor.getGroupId() + ":" + descriptor.getArtifactId() + ":" + descriptor.getType() + ":"
+            + descriptor.getClassifier().orElse("") + ":" + descriptor.getVersion())
+        .collect(toList());
+  }
+
+  private List<LockedDependency> toLockedDependencies(List<BundleDependency> dependencies, Map<Path, String> checksums)
+      throws IOException {
+    List<LockedDependency> lockedDependencies = new ArrayList<>();
+    for (BundleDependency dependency : dependencies) {
+      BundleDescriptor descriptor = dependency.getDescriptor();
+      LockedDependency lockedDependency = new LockedDependency();
+      lockedDependency.groupId = descriptor.getGroupId();
+      lockedDependency.artifactId = descriptor.getArtifactId();
+      lockedDependency.version = descriptor.getVersion();
+      lockedDependency.baseVersion = descriptor.getBaseVersion();
+      lockedDependency.type = descriptor.getType();
+      lockedDependency.classifier = descriptor.getClassifier().orElse(null);
+      lockedDependency.scope = dependency.getScope() != null ? dependency.getScope().name() : null;
+      if (dependency.getBundleUri() != null) {
+        Path file = new File(dependency.getBundleUri()).toPath().toAbsolutePath().normalize();
+        // Files outside the local repository, like the ones of the reactor, are requested by their coordinates when read
+        lockedDependency.file =
+            file.startsWith(localRepository) ? localRepository.relativize(file).toString().replace('\\', '/') : null;
+        lockedDependency.size = file.toFile().length();
+        lockedDependency.lastModified = file.toFile().lastModified();
+        lockedDependency.sha256 = checksum(file, checksums);
+      }
+      lockedDependency.dependencies = toLockedDependencies(dependency.getTransitiveDependencies(), checksums);
+      lockedDependencies.add(lockedDependency);
+    }
+    return lockedDependencies;
+  }
+
+  private List<BundleDependency> toBundleDependencies(List<LockedDependency> lockedDependencies,
+                                                      Function<BundleDescriptor, File> artifactResolver,
+                                                      Map<String, Path> resolvedFiles, Map<Path, String> checksums)
+      throws InvalidLockfileException {
+    List<BundleDependency> dependencies = new ArrayList<>();
+    for (LockedDependency lockedDependency : lockedDependencies) {
+      BundleDescriptor descriptor = new BundleDescriptor.Builder()
+          .setGroupId(lockedDependency.groupId)
+          .setArtifactId(lockedDependency.artifactId)
+          .setVersion(lockedDependency.version)
+          .setBaseVersion(lockedDependency.baseVersion)
+          .setType(lockedDependency.type)
+          .setClassifier(lockedDependency.classifier)
+          .build();
+      BundleDependency.Builder builder = new BundleDependency.Builder().setDescriptor(descriptor);
+      if (lockedDependency.scope != null) {
+        builder.setScope(BundleScope.valueOf(lockedDependency.scope));
+      }
+      if (lockedDependency.sha256 != null) {
+        Path file = getLockedFile(lockedDependency, descriptor, artifactResolver, resolvedFiles);
+        if (!isUnchanged(file, lockedDependency, checksums)) {
+          throw new InvalidLockfileException(format("[%s] does not match the locked checksum", file));
+        }
+        builder.setBundleUri(file.toUri());
+      }
+      if (lockedDependency.dependencies != null) {
+        toBundleDependencies(lockedDependency.dependencies, artifactResolver, resolvedFiles, checksums)
+            .forEach(builder::addTransitiveDependency);
+      }
+      dependencies.add(builder.build());
+    }
+    return dependencies;
+  }
+
+  private Path getLockedFile(LockedDependency lockedDependency, BundleDescriptor descriptor,
+                             Function<BundleDescriptor, File> artifactResolver, Map<String, Path> resolvedFiles)
+      throws InvalidLockfileException {
+    if (lockedDependency.file != null) {
+      Path file = localRepository.resolve(lockedDependency.file);
+      if (Files.isRegularFile(file)) {
+        return file;
+      }
+    }
+    String coordinates = toCoordinates(singletonList(descriptor)).get(0);
+    Path file = resolvedFiles.get(coordinates);
+    if (file == null) {
+      try {
+        File resolvedFile = artifactResolver.apply(descriptor);
+        file = resolvedFile != null ? resolvedFile.toPath() : null;
+      } catch (RuntimeException e) {
+        throw new InvalidLockfileException(format("[%s] could not be resolved: %s", coordinates, e.getMessage()));
+      }
+      if (file == null || !Files.isRegularFile(file)) {
+        throw new InvalidLockfileException(format("[%s] could not be resolved", coordinates));
+      }
+      resolvedFiles.put(coordinates, file);
+    }
+    return file;
+  }
+
+  private static boolean isUnchanged(Path file, LockedDependency lockedDependency, Map<Path, String> checksums)
+      throws InvalidLockfileException {
+    if (file.toFile().length() != lockedDependency.size) {
+      return false;
+    }
+    if (file.toFile().lastModified() == lockedDependency.lastModified) {
+      return true;
+    }
+    // The file may have been downloaded again, or the lockfile generated in another machine
+    try {
+      return checksum(file, checksums).equals(lockedDependency.sha256);
+    } catch (IOException e) {
+      throw new InvalidLockfileException(format("[%s] could not be read: %s", file, e.getMessage()));
+    }
+  }
+
+  private static String checksum(Path file, Map<Path, String> checksums) throws IOException {
+    String checksum = checksums.get(file);
+    if (checksum == null) {
+      checksum = com.google.common.io.Files.asByteSource(file.toFile()).hash(Hashing.sha256()).toString();
+      checksums.put(file, checksum);
+    }
+    return checksum;
+  }
+
+  private static class InvalidLockfileException extends Exception {
+
+    InvalidLockfileException(String message) {
+      super(message);
+    }
+  }
+
+  private static class LockfileModel {
+
+    private String formatVersion;
+    private String modelDigest;
+    private List<LockedDependency> dependencies;
+    private List<LockedDependency> testDependencies;
+    private List<LockedAdditionalDependencies> additionalDependencies;
+  }
+
+  private static class LockedAdditionalDependencies {
+
+    private List<String> requested;
+    private List<LockedDependency> dependencies;
+  }
+
+  private static class LockedDependency {
+
+    private String groupId;
+    private String artifactId;
+    private String version;
+    private String baseVersion;
+    private String type;
+    private String classifier;
+    private String scope;
+    private String file;
+    private long size;
+    private long lastModified;
+    private String sha256;
+    private List<LockedDependency> dependencies;
+  }
+}
@@ -30,6 +30,7 @@ import org.mule.maven.client.api.model.BundleDescriptor;
 import org.mule.tools.api.classloader.model.ApplicationGAVModel;
 import org.mule.tools.api.classloader.model.Artifact;
 import org.mule.tools.api.classloader.model.ArtifactCoordinates;
+import org.mule.tools.api.classloader.model.ArtifactCoordinatesPool;
 import org.mule.tools.api.util.FileJarExplorer;
 import org.mule.tools.api.util.JarInfo;
 
@@ -91,6 +92,25 @@ public class ArtifactUtils {
     return dependencies.stream().map(ArtifactUtils::toArtifact).collect(toList());
   }
 
+  /**
+   * Converts a {@link List<BundleDependency>} to a {@link List<Artifact>} whose coordinates are canonical, so artifacts
+   * referenced from many places share the same coordinates. As canonical coordinates can not be modified, this must only be used
+   * for artifacts whose coordinates are not updated afterwards.
+   *
+   * @param dependencies the bundle dependency list to be converted.
+   * @return the corresponding artifact list, each one with normalized version.
+   */
+  public static List<Artifact> toCanonicalArtifacts(Collection<BundleDependency> dependencies) {
+    ArtifactCoordinatesPool pool = ArtifactCoordinatesPool.getInstance();
+    return dependencies.stream().map(dependency -> {
+      BundleDescriptor descriptor = dependency.getDescriptor();
+      ArtifactCoordinates artifactCoordinates =
+          pool.canonical(descriptor.getGroupId(), descriptor.getArtifactId(), descriptor.getBaseVersion(), descriptor.getType(),
+                         descriptor.getClassifier().orElse(null));
+      return new Artifact(artifactCoordinates, dependency.getBundleUri());
+    }).collect(toList());
+  }
+
   /**
    * Checks if a {@link Artifact} instance represents a mule-plugin.
    *
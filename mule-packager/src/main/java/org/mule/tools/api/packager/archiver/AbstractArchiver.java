@@ -18,6 +18,7 @@ import java.io.IOException;
 
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.plexus.archiver.ArchiverException;
+import org.codehaus.plexus.archiver.zip.AbstractZipArchiver;
 import org.codehaus.plexus.util.DirectoryScanner;
 
 /**
@@ -33,6 +34,8 @@ public class AbstractArchiver {
 
   private org.codehaus.plexus.archiver.AbstractArchiver archiver;
 
+  private File previousArchive;
+
   public AbstractArchiver(org.codehaus.plexus.archiver.AbstractArchiver archiver) {
     this.archiver = archiver;
   }
@@ -53,6 +56,14 @@ public class AbstractArchiver {
     addResource(ROOT_LOCATION, resource, includes, excludes);
   }
 
+  /**
+   * @param file file that is going to be added to the archive, it is read when the archive is created.
+   * @param archivePath path of the file in the archive.
+   */
+  public void addFile(File file, String archivePath) throws ArchiverException {
+    archiver.addFile(file, archivePath);
+  }
+
   /**
    * Defines the file in which to store the archive
    * 
@@ -62,13 +73,27 @@ public class AbstractArchiver {
     archiver.setDestFile(destFile);
   }
 
+  /**
+   * Defines a previous version of the archive. When set, the entries that did not change are copied from it without compressing
+   * them again. Only applies to zip archives.
+   *
+   * @param previousArchive the previous version of the archive, ignored if it does not exist
+   */
+  public void setPreviousArchive(File previousArchive) {
+    this.previousArchive = previousArchive;
+  }
+
   /**
    * It saves the archive in the file sytem
    * 
    * @throws IOException in case of failure to write
    */
   public void createArchive() throws IOException {
-    archiver.createArchive();
+    if (previousArchive != null && previousArchive.isFile() && archiver instanceof AbstractZipArchiver) {
+      new IncrementalZipWriter(previousArchive).write((AbstractZipArchiver) archiver);
+    } else {
+      archiver.createArchive();
+    }
   }
 
   protected void addResource(String resourceLocation, File resource, String[] includes, String[] excludes) {
@@ -12,6 +12,7 @@ package org.mule.tools.api.packager.archiver;
 
 import static org.mule.tools.api.packager.structure.FolderNames.APPLICATIONS;
 import static org.mule.tools.api.packager.structure.FolderNames.DOMAIN;
+import static org.mule.tools.api.packager.structure.FolderNames.REPOSITORY;
 
 import java.io.File;
 
@@ -29,6 +30,8 @@ public class DomainBundleArchiver extends AbstractArchiver {
 
   public final static String DOMAIN_LOCATION = DOMAIN.value() + File.separator;
 
+  public final static String REPOSITORY_LOCATION = REPOSITORY.value() + File.separator;
+
   public DomainBundleArchiver() {
     this(new ZipArchiver());
   }
@@ -44,4 +47,8 @@ public class DomainBundleArchiver extends AbstractArchiver {
   public void addDomain(File resource, String[] includes, String[] excludes) throws ArchiverException {
     addResource(DOMAIN_LOCATION, resource, includes, excludes);
   }
+
+  public void addRepository(File resource, String[] includes, String[] excludes) throws ArchiverException {
+    addResource(REPOSITORY_LOCATION, resource, includes, excludes);
+  }
 }
@@ -0,0 +1,205 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.tools.api.packager.archiver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.apache.commons.compress.archivers.zip.UnixStat.DEFAULT_DIR_PERM;
+import static org.apache.commons.compress.archivers.zip.UnixStat.DIR_FLAG;
+import static org.apache.commons.io.output.NullOutputStream.NULL_OUTPUT_STREAM;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.io.IOUtils;
+import org.codehaus.plexus.archiver.ArchiveEntry;
+import org.codehaus.plexus.archiver.ResourceIterator;
+import org.codehaus.plexus.archiver.zip.AbstractZipArchiver;
+import org.codehaus.plexus.components.io.resources.PlexusIoResource;
+
+/**
+ * Writes a zip archive reusing the compressed content of the entries that did not change since a previous version of the same
+ * archive.
+ * <p>
+ * An entry of the previous archive is reused when it has the same path, size, CRC and compression method as the new content. Its
+ * compressed bytes are copied as they are, with the last modified time and mode of the new content, so only the entries that
+ * changed are deflated again. Computing the CRC of the new content requires reading it, but that is much cheaper than
+ * compressing it. The last modified time is not compared, as zip archives store it with a precision of two seconds.
+ * <p>
+ * The archive is written with the settings of the archiver the resources come from: compression, recompression of added zips,
+ * encoding and comment. Duplicated entries are resolved by the resources of the archiver, following its duplicate behavior.
+ */
+public class IncrementalZipWriter {
+
+  private static final byte[] ZIP_HEADER = {'P', 'K', 3, 4};
+
+  private final File previousArchive;
+
+  private boolean compress = true;
+  private boolean recompressAddedZips = true;
+
+  private int reusedEntries;
+  private int compressedEntries;
+
+  /**
+   * @param previousArchive the previous version of the archive. Non null.
+   */
+  public IncrementalZipWriter(File previousArchive) {
+    checkArgument(previousArchive != null, "The previous archive must not be null");
+    this.previousArchive = previousArchive;
+  }
+
+  /**
+   * Writes the archive defined by the archiver to its destination file. The destination may be the previous archive itself, as
+   * the new archive is written to a temporary file that replaces the destination once it is complete.
+   *
+   * @param archiver defines the entries of the new archive, in the order they are written, and how they are written
+   * @throws IOException if the previous archive could not be read or the new one could not be written
+   */
+  public void write(AbstractZipArchiver archiver) throws IOException {
+    compress = archiver.isCompress();
+    recompressAddedZips = archiver.isRecompressAddedZips();
+    ResourceIterator resources = archiver.getResources();
+    Path destinationPath = archiver.getDestFile().toPath().toAbsolutePath();
+    Path temporaryFile = Files.createTempFile(destinationPath.getParent(), destinationPath.getFileName().toString(), ".tmp");
+    try {
+      try (ZipFile previous = new ZipFile(previousArchive);
+          ZipArchiveOutputStream output = new ZipArchiveOutputStream(temporaryFile.toFile())) {
+        if (archiver.getEncoding() != null) {
+          output.setEncoding(archiver.getEncoding());
+        }
+        if (archiver.getComment() != null) {
+          output.setComment(archiver.getComment());
+        }
+        Set<String> writtenDirectories = new HashSet<>();
+        while (resources.hasNext()) {
+          ArchiveEntry entry = resources.next();
+          String name = entry.getName().replace('\\', '/');
+          if (entry.getType() == ArchiveEntry.DIRECTORY) {
+            writeDirectory(output, name.endsWith("/") ? name : name + "/", entry.getMode(), writtenDirectories);
+          } else if (entry.getType() == ArchiveEntry.FILE) {
+            writeParentDirectories(output, name, writtenDirectories);
+            writeFile(previous, output, name, entry);
+          }
+        }
+      }
+      Files.move(temporaryFile, destinationPath, REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
+
+  /**
+   * @return the number of entries whose compressed content was copied from the previous archive
+   */
+  public int getReusedEntries() {
+    return reusedEntries;
+  }
+
+  /**
+   * @return the number of entries that were compressed again
+   */
+  public int getCompressedEntries() {
+    return compressedEntries;
+  }
+
+  private void writeFile(ZipFile previous, ZipArchiveOutputStream output, String name, ArchiveEntry entry) throws IOException {
+    PlexusIoResource resource = entry.getResource();
+    ZipArchiveEntry newEntry = new ZipArchiveEntry(name);
+    newEntry.setTime(resource.getLastModified());
+    newEntry.setUnixMode(entry.getMode());
+
+    int method = getMethod(entry);
+
+    ZipArchiveEntry previousEntry = previous.getEntry(name);
+    if (isUnchanged(previousEntry, resource.getSize(), method) && previousEntry.getCrc() == crc(entry)) {
+      ZipArchiveEntry reusedEntry = new ZipArchiveEntry(previousEntry);
+      reusedEntry.setTime(newEntry.getTime());
+      reusedEntry.setUnixMode(entry.getMode());
+      output.addRawArchiveEntry(reusedEntry, previous.getRawInputStream(previousEntry));
+      reusedEntries++;
+      return;
+    }
+
+    newEntry.setMethod(method);
+    output.putArchiveEntry(newEntry);
+    try (InputStream content = entry.getInputStream()) {
+      IOUtils.copy(content, output);
+    }
+    output.closeArchiveEntry();
+    compressedEntries++;
+  }
+
+  private static boolean isUnchanged(ZipArchiveEntry previousEntry, long size, int method) {
+    return previousEntry != null && !previousEntry.isDirectory() && previousEntry.getSize() == size
+        && previousEntry.getMethod() == method && previousEntry.getCrc() != ZipArchiveEntry.CRC_UNKNOWN;
+  }
+
+  /**
+   * @return the compression method of the entry, which is stored when the archiver does not compress, or when it does not
+   *         recompress added zips and the entry is a zip
+   */
+  private int getMethod(ArchiveEntry entry) throws IOException {
+    if (!compress || (!recompressAddedZips && isZip(entry))) {
+      return ZipEntry.STORED;
+    }
+    return ZipEntry.DEFLATED;
+  }
+
+  private static boolean isZip(ArchiveEntry entry) throws IOException {
+    byte[] header = new byte[ZIP_HEADER.length];
+    try (InputStream content = entry.getInputStream()) {
+      return IOUtils.read(content, header) == header.length && Arrays.equals(header, ZIP_HEADER);
+    }
+  }
+
+  private static long crc(ArchiveEntry entry) throws IOException {
+    CRC32 crc = new CRC32();
+    try (InputStream content = new CheckedInputStream(entry.getInputStream(), crc)) {
+      IOUtils.copy(content, NULL_OUTPUT_STREAM);
+    }
+    return crc.getValue();
+  }
+
+  private void writeParentDirectories(ZipArchiveOutputStream output, String name, Set<String> writtenDirectories)
+      throws IOException {
+    int separator = name.lastIndexOf('/');
+    if (separator > 0) {
+      writeDirectory(output, name.substring(0, separator + 1), DIR_FLAG | DEFAULT_DIR_PERM, writtenDirectories);
+    }
+  }
+
+  private void writeDirectory(ZipArchiveOutputStream output, String name, int mode, Set<String> writtenDirectories)
+      throws IOException {
+    if (writtenDirectories.contains(name)) {
+      return;
+    }
+    writeParentDirectories(output, name.substring(0, name.length() - 1), writtenDirectories);
+    writtenDirectories.add(name);
+
+    ZipArchiveEntry directoryEntry = new ZipArchiveEntry(name);
+    directoryEntry.setUnixMode(mode);
+    output.putArchiveEntry(directoryEntry);
+    output.closeArchiveEntry();
+  }
+}
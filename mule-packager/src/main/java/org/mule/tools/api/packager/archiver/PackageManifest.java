@@ -0,0 +1,121 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.tools.api.packager.archiver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Entries of a package that are not staged in the build directory, as a map of archive path to source file. The package
+ * builder streams them directly from their source location, usually the local Maven repository or the project folder, so
+ * their content is only written once, to the package itself.
+ * <p>
+ * The manifest is kept in a file in the build directory, as it is filled and consumed by different build steps.
+ */
+public class PackageManifest {
+
+  public static final String PACKAGE_MANIFEST_FILE_NAME = "mule-package-manifest.json";
+
+  private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+  private static final Type ENTRIES_TYPE = new TypeToken<LinkedHashMap<String, String>>() {}.getType();
+
+  private final File manifestFile;
+  private final Map<String, String> entries = new LinkedHashMap<>();
+
+  /**
+   * Creates a manifest backed by the given file, loading its entries if it already exists.
+   *
+   * @param manifestFile the file where the manifest is stored. Non null.
+   * @throws IOException if the existing manifest could not be read
+   */
+  public PackageManifest(File manifestFile) throws IOException {
+    checkArgument(manifestFile != null, "The manifest file must not be null");
+    this.manifestFile = manifestFile;
+    if (manifestFile.isFile()) {
+      try (Reader reader = Files.newBufferedReader(manifestFile.toPath(), UTF_8)) {
+        Map<String, String> storedEntries = GSON.fromJson(reader, ENTRIES_TYPE);
+        if (storedEntries != null) {
+          entries.putAll(storedEntries);
+        }
+      } catch (JsonParseException e) {
+        throw new IOException("Could not read the package manifest " + manifestFile, e);
+      }
+    }
+  }
+
+  /**
+   * @param archivePath path of the entry in the package, using '/' as separator
+   * @param source the file whose content is the content of the entry
+   */
+  public void addEntry(String archivePath, File source) {
+    checkArgument(archivePath != null, "The archive path must not be null");
+    checkArgument(source != null, "The source file must not be null");
+    entries.put(normalize(archivePath), source.getAbsolutePath());
+  }
+
+  /**
+   * Removes all the entries under a location of the package, so the build step that owns it can add them again.
+   *
+   * @param archiveLocation location in the package, like {@code repository/}
+   */
+  public void removeEntries(String archiveLocation) {
+    String location = normalize(archiveLocation);
+    entries.keySet().removeIf(archivePath -> archivePath.startsWith(location));
+  }
+
+  /**
+   * @param archiveLocation location in the package, like {@code repository/}
+   * @return the entries under the given location, as archive path to source file, in the order they were added
+   */
+  public Map<String, File> getEntries(String archiveLocation) {
+    String location = normalize(archiveLocation);
+    Map<String, File> locationEntries = new LinkedHashMap<>();
+    entries.forEach((archivePath, source) -> {
+      if (archivePath.startsWith(location)) {
+        locationEntries.put(archivePath, new File(source));
+      }
+    });
+    return locationEntries;
+  }
+
+  /**
+   * Writes the manifest to its file.
+   *
+   * @throws IOException if the manifest could not be written
+   */
+  public void save() throws IOException {
+    File parent = manifestFile.getParentFile();
+    if (parent != null) {
+      Files.createDirectories(parent.toPath());
+    }
+    try (Writer writer = Files.newBufferedWriter(manifestFile.toPath(), UTF_8)) {
+      GSON.toJson(entries, ENTRIES_TYPE, writer);
+    }
+  }
+
+  private static String normalize(String archivePath) {
+    return archivePath.replace('\\', '/');
+  }
+}
@@ -13,6 +13,7 @@ package org.mule.tools.api.packager.builder;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static org.mule.tools.api.packager.structure.FolderNames.APPLICATIONS;
+import static org.mule.tools.api.packager.structure.FolderNames.BUNDLE_REPOSITORY;
 import static org.mule.tools.api.packager.structure.FolderNames.DOMAIN;
 import static org.mule.tools.api.packager.structure.FolderNames.MAVEN;
 import static org.mule.tools.api.packager.structure.FolderNames.META_INF;
@@ -34,6 +35,7 @@ public class DomainBundlePackageBuilder implements PackageBuilder {
   private File domainFolder = null;
   private File applicationsFolder = null;
   private File mavenFolder = null;
+  private File repositoryFolder = null;
 
   private DomainBundleArchiver archiver;
 
@@ -58,6 +60,17 @@ public class DomainBundlePackageBuilder implements PackageBuilder {
     return this;
   }
 
+  /**
+   * @param folder the repository merged from the repositories of the applications, see
+   *        {@link org.mule.tools.api.packager.resources.processor.DomainBundleRepositoryMerger}. Optional.
+   */
+  public DomainBundlePackageBuilder withRepository(File folder) {
+    checkArgument(folder != null, "The folder must not be null");
+    checkArgument(folder.exists(), "The folder must exist");
+    repositoryFolder = folder;
+    return this;
+  }
+
   public DomainBundlePackageBuilder withArchiver(AbstractArchiver archiver) {
     checkArgument(archiver != null, "Archiver must not be null");
     this.archiver = (DomainBundleArchiver) archiver;
@@ -76,6 +89,9 @@ public class DomainBundlePackageBuilder implements PackageBuilder {
    * │   └── mule-app-c-1.0.0-mule-application.jar
    * ├── domain
    * │   └── mule-domain-a-1.0.0-mule-domain.jar
+   * ├── repository (only when the repositories of the applications are merged)
+   * │   └── org
+   * │       └── ...
    * └── META-INF
    *     └── maven
    *         ├── group-id
@@ -98,6 +114,10 @@ public class DomainBundlePackageBuilder implements PackageBuilder {
     this.withDomain(originFolderPath.resolve(DOMAIN.value()).toFile())
         .withApplications(originFolderPath.resolve(APPLICATIONS.value()).toFile())
         .withMaven(metaInfPath.resolve(MAVEN.value()).toFile());
+    File bundleRepositoryFolder = originFolderPath.resolve(BUNDLE_REPOSITORY.value()).toFile();
+    if (bundleRepositoryFolder.isDirectory()) {
+      this.withRepository(bundleRepositoryFolder);
+    }
 
     this.createArchive(destinationPath);
   }
@@ -117,6 +137,9 @@ public class DomainBundlePackageBuilder implements PackageBuilder {
     archiver.addDomain(domainFolder, null, null);
     archiver.addApplications(applicationsFolder, null, null);
     archiver.addMaven(mavenFolder, null, null);
+    if (repositoryFolder != null) {
+      archiver.addRepository(repositoryFolder, null, null);
+    }
 
     archiver.setDestFile(destinationPath.toFile());
     archiver.createArchive();
@@ -31,6 +31,7 @@ import java.util.List;
 import org.codehaus.plexus.archiver.ArchiverException;
 
 import org.mule.tools.api.packager.archiver.MuleArchiver;
+import org.mule.tools.api.packager.archiver.PackageManifest;
 import org.mule.tools.api.packager.packaging.PackagingOptions;
 import org.mule.tools.api.packager.structure.FolderNames;
 
@@ -55,6 +56,10 @@ public class MulePackageBuilder implements PackageBuilder {
 
   protected List<File> rootResources = new ArrayList<>();
 
+  private PackageManifest packageManifest = null;
+
+  private File previousArchive = null;
+
   private MuleArchiver archiver = null;
 
   public MulePackageBuilder withClasses(File folder) {
@@ -113,6 +118,26 @@ public class MulePackageBuilder implements PackageBuilder {
     return this;
   }
 
+  /**
+   * @param packageManifest entries that were not staged in the build directory, they are streamed into the package from their
+   *        source files
+   */
+  public MulePackageBuilder withPackageManifest(PackageManifest packageManifest) {
+    checkArgument(packageManifest != null, "The package manifest must not be null");
+    this.packageManifest = packageManifest;
+    return this;
+  }
+
+  /**
+   * @param previousArchive package created by a previous build, the entries that did not change are copied from it without
+   *        compressing them again
+   */
+  public MulePackageBuilder withPreviousArchive(File previousArchive) {
+    checkArgument(previousArchive != null, "The previous archive must not be null");
+    this.previousArchive = previousArchive;
+    return this;
+  }
+
   public MulePackageBuilder withPackagingOptions(PackagingOptions packagingOptions) {
     checkArgument(packagingOptions != null, "The PackagingOptions must not be null");
     this.packagingOptions = packagingOptions;
@@ -173,11 +198,21 @@ public class MulePackageBuilder implements PackageBuilder {
    */
   @Override
   public void createPackage(Path originFolderPath, Path destinationPath) throws ArchiverException, IOException {
+    this.withOriginFolder(originFolderPath).createArchive(destinationPath);
+  }
+
+  /**
+   * Takes all the folders of the package from their default location in the origin folder. Any of them can be replaced
+   * afterwards, before calling {@link #createPackage(Path)}.
+   *
+   * @param originFolderPath folder containing the source files.
+   */
+  public MulePackageBuilder withOriginFolder(Path originFolderPath) {
     checkArgument(originFolderPath != null, "The origin path must not be null");
     checkArgument(originFolderPath.toFile().exists(), "The origin path must exists");
 
     Path metaInfPath = originFolderPath.resolve(META_INF.value());
-    this
+    return this
         .withClasses(originFolderPath.resolve(CLASSES.value()).toFile())
         .withMaven(metaInfPath.resolve(MAVEN.value()).toFile())
         .withMuleArtifact(metaInfPath.resolve(MULE_ARTIFACT.value()).toFile())
@@ -185,8 +220,6 @@ public class MulePackageBuilder implements PackageBuilder {
         .withTestMule(originFolderPath.resolve(TEST_MULE.value()).resolve(MUNIT.value()).toFile())
         .withRepository(originFolderPath.resolve(REPOSITORY.value()).toFile())
         .withMuleSrc(metaInfPath.resolve(MULE_SRC.value()).toFile());
-
-    this.createArchive(destinationPath);
   }
 
   @Override
@@ -226,19 +259,31 @@ public class MulePackageBuilder implements PackageBuilder {
 
       if (!packagingOptions.isLightweightPackage()) {
         archiver.addRepository(repositoryFolder, null, null);
+        addManifestEntries(archiver, REPOSITORY.value() + "/");
       }
 
       if (packagingOptions.isAttachMuleSources()) {
         archiver.addMuleSrc(muleSrcFolder, null, null);
+        addManifestEntries(archiver, META_INF.value() + "/" + MULE_SRC.value() + "/");
       }
     } else {
       archiver.addMuleSrc(muleSrcFolder, null, null);
+      addManifestEntries(archiver, META_INF.value() + "/" + MULE_SRC.value() + "/");
     }
 
     archiver.setDestFile(destinationPath.toFile());
+    if (previousArchive != null) {
+      archiver.setPreviousArchive(previousArchive);
+    }
     archiver.createArchive();
   }
 
+  private void addManifestEntries(MuleArchiver archiver, String archiveLocation) {
+    if (packageManifest != null) {
+      packageManifest.getEntries(archiveLocation).forEach((archivePath, source) -> archiver.addFile(source, archivePath));
+    }
+  }
+
   /**
    * Ensures that all the required folders have been provided based on the {@link PackagingOptions}
    * 
@@ -18,25 +18,45 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+import static org.apache.commons.io.FileUtils.deleteDirectory;
 import static org.mule.tools.api.packager.packaging.PackagingType.MULE_DOMAIN;
 import static org.mule.tools.api.packager.structure.FolderNames.APPLICATIONS;
+import static org.mule.tools.api.packager.structure.FolderNames.BUNDLE_REPOSITORY;
 import static org.mule.tools.api.packager.structure.FolderNames.DOMAIN;
 
 public class DomainBundleProjectResourcesContentProcessor implements ResourcesContentProcessor {
 
   private Path domainFolderPath;
   private Path applicationsFolderPath;
+  private Path repositoryFolderPath;
+  private boolean mergeRepositories;
 
   public DomainBundleProjectResourcesContentProcessor(Path targetFolder) {
+    this(targetFolder, false);
+  }
+
+  /**
+   * @param targetFolder the build directory of the domain bundle
+   * @param mergeRepositories whether the applications are embedded as lightweight packages using the local repository, with
+   *        their repositories merged into a single repository of the bundle, see {@link DomainBundleRepositoryMerger}
+   */
+  public DomainBundleProjectResourcesContentProcessor(Path targetFolder, boolean mergeRepositories) {
     domainFolderPath = targetFolder.resolve(DOMAIN.value());
     applicationsFolderPath = targetFolder.resolve(APPLICATIONS.value());
+    repositoryFolderPath = targetFolder.resolve(BUNDLE_REPOSITORY.value());
+    this.mergeRepositories = mergeRepositories;
   }
 
   @Override
   public void process(ResourcesContent resourcesContent) throws IOException {
+    // A repository left by a previous build would be packaged even if it no longer matches the applications
+    deleteDirectory(repositoryFolderPath.toFile());
     for (Artifact artifact : resourcesContent.getResources()) {
       copyAsDomainOrApplication(artifact);
     }
+    if (mergeRepositories) {
+      new DomainBundleRepositoryMerger(applicationsFolderPath, repositoryFolderPath).merge();
+    }
   }
 
   protected void copyAsDomainOrApplication(Artifact artifact) throws IOException {
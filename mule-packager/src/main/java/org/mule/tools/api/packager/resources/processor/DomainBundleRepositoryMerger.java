@@ -0,0 +1,165 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.packager.resources.processor;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.mule.tools.api.classloader.Constants.CLASSLOADER_MODEL_FILE_NAME;
+import static org.mule.tools.api.packager.structure.FolderNames.META_INF;
+import static org.mule.tools.api.packager.structure.FolderNames.MULE_ARTIFACT;
+import static org.mule.tools.api.packager.structure.FolderNames.REPOSITORY;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import com.google.common.io.ByteStreams;
+
+/**
+ * Turns the heavyweight packages of the applications of a domain bundle into lightweight packages using the local repository,
+ * merging their repositories into a single repository of the bundle, where each artifact is stored once.
+ * <p>
+ * The files of the repository of each application are moved to the bundle repository, which follows the Maven repository
+ * layout. A file that several applications contain is stored once, and it must have the same SHA-256 checksum in all of them.
+ * The class loader models of the mule plugins are moved to the META-INF/mule-artifact folder of each application, where
+ * lightweight packages using the local repository have them, as they depend on the additional dependencies of each
+ * application. The classloader-model.json of each application is not changed: its artifacts are located by their coordinates
+ * in the bundle repository, which must be the local Maven repository of the runtime the applications are deployed to.
+ */
+public class DomainBundleRepositoryMerger {
+
+  private static final String REPOSITORY_LOCATION = REPOSITORY.value() + "/";
+  private static final String MULE_ARTIFACT_LOCATION = META_INF.value() + "/" + MULE_ARTIFACT.value() + "/";
+
+  private final Path applicationsFolder;
+  private final Path repositoryFolder;
+  private final Map<String, HashCode> checksums = new HashMap<>();
+
+  private long savedBytes;
+
+  /**
+   * @param applicationsFolder the folder with the heavyweight packages of the applications of the bundle
+   * @param repositoryFolder the folder where the repository of the bundle is generated
+   */
+  public DomainBundleRepositoryMerger(Path applicationsFolder, Path repositoryFolder) {
+    this.applicationsFolder = applicationsFolder;
+    this.repositoryFolder = repositoryFolder;
+  }
+
+  /**
+   * Merges the repositories of the applications into the bundle repository and rewrites the applications without them.
+   *
+   * @throws IOException if an application could not be read or rewritten, or two applications contain the same repository file
+   *         with different content
+   */
+  public void merge() throws IOException {
+    for (Path application : listApplications()) {
+      rewriteApplication(application);
+    }
+  }
+
+  /**
+   * @return the number of files stored in the bundle repository
+   */
+  public int getStoredFiles() {
+    return checksums.size();
+  }
+
+  /**
+   * @return the uncompressed size of the repository files that were not stored again as another application already had them
+   */
+  public long getSavedBytes() {
+    return savedBytes;
+  }
+
+  private void rewriteApplication(Path application) throws IOException {
+    Path rewrittenApplication = application.resolveSibling(application.getFileName() + ".tmp");
+    try (ZipFile zipFile = new ZipFile(application.toFile());
+        ZipArchiveOutputStream output = new ZipArchiveOutputStream(rewrittenApplication.toFile())) {
+      Set<String> writtenEntries = new HashSet<>();
+      for (ZipArchiveEntry entry : entries(zipFile)) {
+        if (!entry.getName().startsWith(REPOSITORY_LOCATION)) {
+          if (writtenEntries.add(entry.getName())) {
+            output.addRawArchiveEntry(entry, zipFile.getRawInputStream(entry));
+          }
+        } else if (entry.getName().endsWith("/" + CLASSLOADER_MODEL_FILE_NAME)) {
+          String name = MULE_ARTIFACT_LOCATION + entry.getName().substring(REPOSITORY_LOCATION.length());
+          if (writtenEntries.add(name)) {
+            output.putArchiveEntry(new ZipArchiveEntry(name));
+            try (InputStream content = zipFile.getInputStream(entry)) {
+              ByteStreams.copy(content, output);
+            }
+            output.closeArchiveEntry();
+          }
+        } else if (!entry.isDirectory()) {
+          storeInRepository(application, zipFile, entry);
+        }
+      }
+    }
+    Files.move(rewrittenApplication, application, REPLACE_EXISTING);
+  }
+
+  private void storeInRepository(Path application, ZipFile zipFile, ZipArchiveEntry entry) throws IOException {
+    String path = entry.getName().substring(REPOSITORY_LOCATION.length());
+    HashCode storedChecksum = checksums.get(path);
+    if (storedChecksum == null) {
+      Path file = repositoryFolder.resolve(path);
+      Files.createDirectories(file.getParent());
+      try (HashingInputStream content = new HashingInputStream(Hashing.sha256(), zipFile.getInputStream(entry))) {
+        Files.copy(content, file, REPLACE_EXISTING);
+        checksums.put(path, content.hash());
+      }
+      return;
+    }
+    try (HashingInputStream content = new HashingInputStream(Hashing.sha256(), zipFile.getInputStream(entry))) {
+      ByteStreams.exhaust(content);
+      if (!storedChecksum.equals(content.hash())) {
+        throw new IOException(format("Application [%s] contains [%s] with a different content than another application of the "
+            + "bundle, the repositories of the applications can not be merged", application.getFileName(), entry.getName()));
+      }
+    }
+    savedBytes += entry.getSize();
+  }
+
+  private static List<ZipArchiveEntry> entries(ZipFile zipFile) {
+    List<ZipArchiveEntry> entries = new ArrayList<>();
+    Enumeration<ZipArchiveEntry> enumeration = zipFile.getEntries();
+    while (enumeration.hasMoreElements()) {
+      entries.add(enumeration.nextElement());
+    }
+    return entries;
+  }
+
+  private List<Path> listApplications() throws IOException {
+    if (!Files.isDirectory(applicationsFolder)) {
+      return new ArrayList<>();
+    }
+    try (Stream<Path> files = Files.list(applicationsFolder)) {
+      return files.filter(file -> file.getFileName().toString().endsWith(".jar")).sorted().collect(Collectors.toList());
+    }
+  }
+}
@@ -21,14 +21,15 @@ import org.mule.runtime.api.deployment.meta.MuleApplicationModel;
 import org.mule.runtime.api.deployment.meta.MuleArtifactLoaderDescriptor;
 import org.mule.runtime.api.deployment.meta.MuleArtifactLoaderDescriptorBuilder;
 import org.mule.runtime.api.deployment.meta.Product;
+import org.mule.tools.api.util.ClassesDirectoryIndex;
+import org.mule.tools.api.util.MulePluginDescriptorCache;
+import org.mule.tools.api.util.MulePluginDescriptorCache.MulePluginDescriptor;
 
 import com.sun.org.apache.xerces.internal.jaxp.DocumentBuilderFactoryImpl;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -37,14 +38,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.IOUtils;
 import org.codehaus.plexus.util.StringUtils;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
@@ -91,19 +89,14 @@ public class DefaultValuesMuleArtifactJsonGenerator extends AbstractDefaultValue
 
   private boolean mulePluginRequiresEE(URI uri) {
     try {
-      JarFile pluginJar = new JarFile(uri.getPath());
-      JarEntry muleArtifactDescriptor = pluginJar.getJarEntry("META-INF/mule-artifact/mule-artifact.json");
-      InputStream is = pluginJar.getInputStream(muleArtifactDescriptor);
-      String muleArtifactJson = IOUtils.toString(is, StandardCharsets.UTF_8);
-      MuleApplicationModel mulePluginApplicationModel = serializer.deserialize(muleArtifactJson);
-      Product requiredProduct = mulePluginApplicationModel.getRequiredProduct();
-      return requiredProduct != null && requiredProduct.equals(Product.MULE_EE);
+      return MulePluginDescriptorCache.getInstance().getDescriptor(new File(uri.getPath()))
+          .map(MulePluginDescriptor::requiresEE)
+          .orElse(false);
     } catch (IOException e) {
       return false;
     }
   }
 
-
   private boolean doesSomeConfigRequireEE(MuleApplicationModel originalMuleArtifact,
                                           MuleArtifactContentResolver muleArtifactContentResolver)
       throws IOException {
@@ -185,29 +178,22 @@ public class DefaultValuesMuleArtifactJsonGenerator extends AbstractDefaultValue
     } else {
       Path outputDirectory = muleArtifactContentResolver.getProjectStructure().getOutputDirectory();
       //look for all the sources under the output directory
-      List<Path> allOutputFiles = Files.walk(outputDirectory)
-          .filter(path -> Files.isRegularFile(path))
-          .collect(toList());
-      Predicate<Path> isJavaClass = path -> FilenameUtils.getExtension(path.toString()).endsWith(COMPILED_JAVA_EXTENSION);
+      List<String> allOutputFiles = ClassesDirectoryIndex.of(outputDirectory).getFiles();
+      Predicate<String> isJavaClass = path -> FilenameUtils.getExtension(path).endsWith(COMPILED_JAVA_EXTENSION);
       //look for the java compiled classes, to then gather just the parent folders of them
       List<String> packagesFolders = allOutputFiles.stream()
           .filter(isJavaClass)
           .map(path -> {
-            Path parent = outputDirectory.relativize(path).getParent();
-            //if parent is null, it implies "default package" in java, which means we need an empty string for the exportedPackages
-            return parent != null ? parent.toString() : DEFAULT_PACKAGE_EXPORT;
+            int lastSeparator = path.lastIndexOf(CLASS_PATH_SEPARATOR);
+            //if there is no parent, it implies "default package" in java, which means we need an empty string for the exportedPackages
+            return lastSeparator >= 0 ? path.substring(0, lastSeparator) : DEFAULT_PACKAGE_EXPORT;
           })
-          .map(MuleArtifactContentResolver::escapeSlashes)
           .map(s -> s.replace(CLASS_PATH_SEPARATOR, PACKAGE_SEPARATOR))
           .distinct()
           .collect(Collectors.toList());
       //look for all the resources (files that are not java compiled classes)
-      List<String> muleConfigs = muleArtifactContentResolver.getConfigs();
       List<String> resources = allOutputFiles.stream()
           .filter(isJavaClass.negate())
-          .map(path -> outputDirectory.relativize(path))
-          .map(Path::toString)
-          .map(MuleArtifactContentResolver::escapeSlashes)
           .collect(toList());
       //being consistent with old behaviour, check this later
       resources.addAll(muleArtifactContentResolver.getTestExportedResources());
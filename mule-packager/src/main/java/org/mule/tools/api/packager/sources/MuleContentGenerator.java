@@ -11,6 +11,8 @@
 package org.mule.tools.api.packager.sources;
 
 import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
+import static org.apache.commons.io.FileUtils.cleanDirectory;
 import static org.mule.tools.api.classloader.ClassLoaderModelJsonSerializer.deserialize;
 import static org.mule.tools.api.classloader.ClassLoaderModelJsonSerializer.serializeToFile;
 import static org.mule.tools.api.packager.packaging.Classifier.MULE_POLICY;
@@ -23,6 +25,7 @@ import static org.mule.tools.api.packager.structure.PackagerFiles.MULE_ARTIFACT_
 
 import org.mule.tools.api.classloader.model.ClassLoaderModel;
 import org.mule.tools.api.packager.ProjectInformation;
+import org.mule.tools.api.packager.archiver.PackageManifest;
 import org.mule.tools.api.packager.packaging.PackagingType;
 import org.mule.tools.api.packager.structure.ProjectStructure;
 import org.mule.tools.api.util.CopyFileVisitor;
@@ -43,10 +46,32 @@ public class MuleContentGenerator extends ContentGenerator {
 
   private MuleArtifactContentResolver muleArtifactContentResolver;
 
+  private MuleExclusionMatcher exclusionMatcher;
+
+  private PackageManifest packageManifest;
+
+  private boolean compareContent = false;
+
   public MuleContentGenerator(ProjectInformation projectInformation) {
     super(projectInformation);
   }
 
+  /**
+   * @param packageManifest if not {@code null}, the content that is packaged as is, like the project sources, is recorded in
+   *        this manifest instead of being copied to the build directory
+   */
+  public void setPackageManifest(PackageManifest packageManifest) {
+    this.packageManifest = packageManifest;
+  }
+
+  /**
+   * @param compareContent if {@code true}, the files copied to the build directory whose last modified time changed but their
+   *        content did not are not written again, see {@link CopyFileVisitor#setCompareContent(boolean)}
+   */
+  public void setCompareContent(boolean compareContent) {
+    this.compareContent = compareContent;
+  }
+
   /**
    * It creates all the package content in the required folders
    *
@@ -81,7 +106,7 @@ public class MuleContentGenerator extends ContentGenerator {
         .getTestSourceFolderLocation(projectInformation.getProjectBaseFolder());
     Path destinationPath = projectInformation.getBuildDirectory().resolve(TEST_MULE.value()).resolve(originPath.getFileName());
 
-    copyContent(originPath, destinationPath, Optional.empty(), false, true);
+    copyContent(originPath, destinationPath, Optional.empty(), false, true, FALSE, FALSE, TRUE);
   }
 
   /**
@@ -98,7 +123,21 @@ public class MuleContentGenerator extends ContentGenerator {
     List<Path> exclusions = new ArrayList<>();
     exclusions.add(projectInformation.getBuildDirectory());
 
-    copyContent(originPath, destinationPath, Optional.of(exclusions), true, true, true, true);
+    if (packageManifest != null) {
+      checkPathExist(originPath);
+      checkPathExist(destinationPath);
+      // Remove the sources staged by previous builds, they would be duplicated in the package
+      cleanDirectory(destinationPath.toFile());
+
+      String archiveLocation = META_INF.value() + "/" + MULE_SRC.value() + "/" + projectInformation.getArtifactId() + "/";
+      packageManifest.removeEntries(archiveLocation);
+      CopyFileVisitor visitor = newCopyFileVisitor(originPath, destinationPath, Optional.of(exclusions), TRUE, TRUE);
+      visitor.setPackageManifest(packageManifest, archiveLocation);
+      Files.walkFileTree(originPath, visitor);
+      packageManifest.save();
+    } else {
+      copyContent(originPath, destinationPath, Optional.of(exclusions), true, true, TRUE, TRUE, TRUE);
+    }
   }
 
   /**
@@ -148,11 +187,18 @@ public class MuleContentGenerator extends ContentGenerator {
   private void copyContent(Path originPath, Path destinationPath, Optional<List<Path>> exclusions, Boolean validateOrigin,
                            Boolean validateDestination)
       throws IOException {
-    copyContent(originPath, destinationPath, exclusions, validateOrigin, validateDestination, FALSE, FALSE);
+    copyContent(originPath, destinationPath, exclusions, validateOrigin, validateDestination, FALSE, FALSE, FALSE);
   }
 
+  /**
+   * Copies the origin folder into the destination one, only writing the files that changed since the last copy.
+   *
+   * @param deleteOrphans if {@code true} the destination folder is owned by this copy, and the files in it that do not exist in
+   *        the origin folder are deleted
+   */
   private void copyContent(Path originPath, Path destinationPath, Optional<List<Path>> exclusions, Boolean validateOrigin,
-                           Boolean validateDestination, Boolean ignoreHiddenFiles, Boolean ignoreHiddenFolders)
+                           Boolean validateDestination, Boolean ignoreHiddenFiles, Boolean ignoreHiddenFolders,
+                           Boolean deleteOrphans)
       throws IOException {
     if (validateOrigin) {
       checkPathExist(originPath);
@@ -162,12 +208,29 @@ public class MuleContentGenerator extends ContentGenerator {
     }
 
 
+    CopyFileVisitor visitor = newCopyFileVisitor(originPath, destinationPath, exclusions, ignoreHiddenFiles, ignoreHiddenFolders);
+    visitor.setIncremental(true);
+    visitor.setCompareContent(compareContent);
+    visitor.setDeleteOrphans(deleteOrphans);
+
+    Files.walkFileTree(originPath, visitor);
+  }
+
+  private CopyFileVisitor newCopyFileVisitor(Path originPath, Path destinationPath, Optional<List<Path>> exclusions,
+                                             Boolean ignoreHiddenFiles, Boolean ignoreHiddenFolders)
+      throws IOException {
     CopyFileVisitor visitor =
         new CopyFileVisitor(originPath.toFile(), destinationPath.toFile(), ignoreHiddenFiles, ignoreHiddenFolders,
-                            new MuleExclusionMatcher(projectInformation.getProjectBaseFolder()));
+                            getExclusionMatcher());
     exclusions.ifPresent(e -> visitor.setExclusions(e));
+    return visitor;
+  }
 
-    Files.walkFileTree(originPath, visitor);
+  private MuleExclusionMatcher getExclusionMatcher() throws IOException {
+    if (exclusionMatcher == null) {
+      exclusionMatcher = new MuleExclusionMatcher(projectInformation.getProjectBaseFolder());
+    }
+    return exclusionMatcher;
   }
 
   /**
@@ -217,6 +280,23 @@ public class MuleContentGenerator extends ContentGenerator {
     }
   }
 
+  /**
+   * Generates the mule-artifact.json file of the project, with the default values of this project information, in a folder other
+   * than the mule-artifact folder of the build directory.
+   *
+   * @param destinationFolder folder where the mule-artifact.json file is going to be written
+   * @throws IOException
+   */
+  public void createDescriptorFile(Path destinationFolder) throws IOException {
+    Path originPath = projectInformation.getProjectBaseFolder();
+    if (MULE_POLICY.equals(projectInformation.getClassifier())) {
+      new DefaultValuesPolicyMuleArtifactJsonGenerator().generate(originPath, destinationFolder,
+                                                                  getMulePolicyArtifactContentResolver());
+    } else {
+      new DefaultValuesMuleArtifactJsonGenerator().generate(originPath, destinationFolder, getMuleArtifactContentResolver());
+    }
+  }
+
   private MuleArtifactContentResolver getMulePolicyArtifactContentResolver() {
     if (muleArtifactContentResolver == null) {
       muleArtifactContentResolver =
@@ -52,6 +52,8 @@ public enum FolderNames {
 
   DOMAIN("domain"),
 
+  BUNDLE_REPOSITORY("bundle-repository"),
+
   JAVA("java"),
 
   RESOURCES("resources"),
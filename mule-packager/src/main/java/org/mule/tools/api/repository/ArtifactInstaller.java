@@ -16,11 +16,13 @@ import static org.apache.commons.io.FileUtils.copyFile;
 import static org.mule.tools.api.packager.structure.FolderNames.REPOSITORY;
 import org.mule.tools.api.classloader.model.Artifact;
 import org.mule.tools.api.classloader.model.ClassLoaderModel;
+import org.mule.tools.api.packager.archiver.PackageManifest;
 import org.mule.tools.api.packager.sources.MuleContentGenerator;
 import org.mule.tools.api.util.PackagerLog;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
@@ -28,11 +30,20 @@ public class ArtifactInstaller {
 
   private static final String POM_FILE_NAME = "pom.xml";
   private PackagerLog log;
+  private PackageManifest packageManifest;
 
   public ArtifactInstaller(PackagerLog log) {
     this.log = log;
   }
 
+  /**
+   * @param packageManifest if not {@code null}, the artifact and pom files are recorded in this manifest, to be streamed into the
+   *        package from the local Maven repository, instead of being copied to the repository folder
+   */
+  public void setPackageManifest(PackageManifest packageManifest) {
+    this.packageManifest = packageManifest;
+  }
+
   @Deprecated
   public void installArtifact(File repositoryFile, Artifact artifact, Optional<ClassLoaderModel> classLoaderModel)
       throws IOException {
@@ -70,7 +81,7 @@ public class ArtifactInstaller {
                          .replaceFirst(Pattern.quote(repositoryFile.getAbsolutePath()),
                                        "")));
 
-    copyFile(new File(artifact.getUri()), destinationArtifactFile);
+    installFile(artifact, new File(artifact.getUri()), destinationArtifactFile);
   }
 
   @Deprecated
@@ -98,7 +109,21 @@ public class ArtifactInstaller {
     if (!srcPomFile.exists()) {
       srcPomFile = new File(srcPomFolder, POM_FILE_NAME);
     }
-    copyFile(srcPomFile, destinationPomFile);
+    installFile(artifact, srcPomFile, destinationPomFile);
+  }
+
+  private void installFile(Artifact artifact, File sourceFile, File destinationFile) throws IOException {
+    if (packageManifest == null) {
+      copyFile(sourceFile, destinationFile);
+      return;
+    }
+    if (!sourceFile.isFile()) {
+      throw new IOException(format("File [%s] does not exist", sourceFile));
+    }
+    // A copy staged by a previous build would be duplicated in the package
+    Files.deleteIfExists(destinationFile.toPath());
+    File archiveFile = new File(artifact.getFormattedMavenDirectory(new File(REPOSITORY.value())), destinationFile.getName());
+    packageManifest.addEntry(archiveFile.getPath(), sourceFile);
   }
 
   @Deprecated
@@ -25,6 +25,7 @@ import org.mule.tools.api.classloader.model.Artifact;
 import org.mule.tools.api.classloader.model.ArtifactCoordinates;
 import org.mule.tools.api.classloader.model.ClassLoaderModel;
 import org.mule.tools.api.classloader.model.NotParameterizedClassLoaderModel;
+import org.mule.tools.api.packager.archiver.PackageManifest;
 import org.mule.tools.api.util.FileUtils;
 
 import java.io.File;
@@ -46,6 +47,8 @@ public class RepositoryGenerator {
   protected File outputDirectory;
   private File projectPomFile;
   private ApplicationGAVModel appGAVModel;
+  private PackageManifest packageManifest;
+  private File localRepositoryClassLoaderModelsFolder;
 
   public RepositoryGenerator(File projectPomFile, File outputDirectory, ArtifactInstaller artifactInstaller,
                              ApplicationClassLoaderModelAssembler applicationClassLoaderModelAssembler,
@@ -57,6 +60,24 @@ public class RepositoryGenerator {
     this.appGAVModel = appGAVModel;
   }
 
+  /**
+   * @param packageManifest if not {@code null}, the artifacts are recorded in this manifest, to be streamed into the package from
+   *        the local Maven repository, instead of being copied to the repository folder
+   */
+  public void setPackageManifest(PackageManifest packageManifest) {
+    this.packageManifest = packageManifest;
+    artifactInstaller.setPackageManifest(packageManifest);
+  }
+
+  /**
+   * @param localRepositoryClassLoaderModelsFolder if not {@code null}, the class loader models of the mule plugins that a
+   *        lightweight package using the local repository needs are also generated in this folder, so such a package can be
+   *        built from the same resolution
+   */
+  public void setLocalRepositoryClassLoaderModelsFolder(File localRepositoryClassLoaderModelsFolder) {
+    this.localRepositoryClassLoaderModelsFolder = localRepositoryClassLoaderModelsFolder;
+  }
+
   @Deprecated
   public ClassLoaderModel generate() throws IOException, IllegalStateException {
     ApplicationClassloaderModel appModel =
@@ -83,12 +104,17 @@ public class RepositoryGenerator {
       installArtifacts(getRepositoryFolder(), artifactInstaller, appModel, prettyPrinting);
     }
     if (useLocalRepository) {
-      generateClassLoaderModelRepositoryFiles(appModel, prettyPrinting);
+      generateClassLoaderModelRepositoryFiles(appModel, prettyPrinting,
+                                              outputDirectory.toPath().resolve(META_INF.value()).resolve(MULE_ARTIFACT.value())
+                                                  .toFile());
+    } else if (localRepositoryClassLoaderModelsFolder != null) {
+      generateClassLoaderModelRepositoryFiles(appModel, prettyPrinting, localRepositoryClassLoaderModelsFolder);
     }
     return appModel.getClassLoaderModel();
   }
 
-  private void generateClassLoaderModelRepositoryFiles(ApplicationClassloaderModel appModel, boolean prettyPrinting) {
+  private void generateClassLoaderModelRepositoryFiles(ApplicationClassloaderModel appModel, boolean prettyPrinting,
+                                                       File muleArtifactFolder) {
     appModel.getMulePluginsClassloaderModels().stream().forEach(mulePluginClassLoaderModel -> {
       Artifact artifact = appModel.getArtifacts().stream()
           .filter(possibleArtifact -> possibleArtifact.getArtifactCoordinates()
@@ -96,8 +122,7 @@ public class RepositoryGenerator {
           .findFirst()
           .orElseThrow(() -> new RuntimeException(format("Cannot resolve artifact folder for class loader model: [%s]",
                                                          mulePluginClassLoaderModel.getArtifactCoordinates())));
-      File artifactFolderDestination = artifact.getFormattedMavenDirectory(outputDirectory.toPath().resolve(META_INF.value())
-          .resolve(MULE_ARTIFACT.value()).toFile());
+      File artifactFolderDestination = artifact.getFormattedMavenDirectory(muleArtifactFolder);
       if (!artifactFolderDestination.exists()) {
         artifactFolderDestination.mkdirs();
       }
@@ -129,11 +154,17 @@ public class RepositoryGenerator {
     if (sortedArtifacts.isEmpty()) {
       generateMarkerFileInRepositoryFolder(repositoryFile);
     }
+    if (packageManifest != null) {
+      packageManifest.removeEntries(REPOSITORY.value() + "/");
+    }
     for (Artifact artifact : sortedArtifacts) {
       Optional<ClassLoaderModel> classLoaderModelOptional =
           Optional.ofNullable(mulePluginsClassloaderModels.get(artifact.getArtifactCoordinates()));
       installer.installArtifact(repositoryFile, artifact, classLoaderModelOptional, prettyPrinting);
     }
+    if (packageManifest != null) {
+      packageManifest.save();
+    }
   }
 
   private Set<Artifact> removeProvidedArtifacts(Set<Artifact> artifacts) {
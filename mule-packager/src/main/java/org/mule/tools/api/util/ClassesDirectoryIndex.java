@@ -0,0 +1,106 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.tools.api.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.io.File.separatorChar;
+import static java.nio.file.FileVisitOption.FOLLOW_LINKS;
+import static java.util.Collections.unmodifiableList;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Index of the files under a classes directory, built with a single walk of it. It holds both the names of the files and the
+ * {@link JarInfo} derived from them, so the callers needing either of them do not walk the directory again.
+ * <p>
+ * The index is a snapshot of the directory when it was created, it is not refreshed if the directory changes afterwards.
+ */
+public class ClassesDirectoryIndex {
+
+  private static final String CLASS_EXTENSION = ".class";
+
+  private final Path root;
+  private final List<String> files;
+
+  private ClassesDirectoryIndex(Path root, List<String> files) {
+    this.root = root;
+    this.files = unmodifiableList(files);
+  }
+
+  /**
+   * Walks a directory and indexes the files under it.
+   *
+   * @param directory the directory to index. Non null.
+   * @return the index of the directory
+   * @throws IOException if the directory could not be walked
+   */
+  public static ClassesDirectoryIndex of(Path directory) throws IOException {
+    checkArgument(directory != null, "The directory must not be null");
+    Path root = directory.toAbsolutePath().normalize();
+    List<String> files = new ArrayList<>();
+    Files.walkFileTree(root, EnumSet.of(FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+        if (attrs.isRegularFile()) {
+          files.add(toRelativePath(root, file));
+        }
+        return FileVisitResult.CONTINUE;
+      }
+    });
+    return new ClassesDirectoryIndex(root, files);
+  }
+
+  private static String toRelativePath(Path root, Path file) {
+    String relativePath = root.relativize(file).toString();
+    return separatorChar == '/' ? relativePath : relativePath.replace(separatorChar, '/');
+  }
+
+  public Path getRoot() {
+    return root;
+  }
+
+  /**
+   * @return the paths of all the regular files under the directory, relative to it and using '/' as separator, in the order
+   *         they were visited
+   */
+  public List<String> getFiles() {
+    return files;
+  }
+
+  /**
+   * @return the packages and resources of the directory, following the same rules as {@link FileJarExplorer}: classes in the
+   *         default package are considered resources
+   */
+  public JarInfo getJarInfo() {
+    Set<String> packages = new TreeSet<>();
+    Set<String> resources = new TreeSet<>();
+    for (String file : files) {
+      int lastSeparator = file.lastIndexOf('/');
+      if (lastSeparator > 0 && file.endsWith(CLASS_EXTENSION)) {
+        packages.add(file.substring(0, lastSeparator).replace('/', '.'));
+      } else {
+        resources.add(file);
+      }
+    }
+    return new JarInfo(packages, resources);
+  }
+}
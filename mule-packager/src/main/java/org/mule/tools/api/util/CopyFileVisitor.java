@@ -10,17 +10,29 @@
 
 package org.mule.tools.api.util;
 
+import org.mule.tools.api.packager.archiver.PackageManifest;
 import org.mule.tools.api.util.exclude.MuleExclusionMatcher;
 
 import static java.lang.Boolean.FALSE;
+import static org.apache.commons.io.FileUtils.forceDelete;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+/**
+ * Copies a folder into another one. By default every file is copied, replacing the existing ones.
+ * <p>
+ * In incremental mode only the files that changed since the last copy are written, and the last modified time of the origin
+ * files is kept so the next copy can detect changes. Optionally, files whose last modified time changed are compared by content,
+ * and files in the target folder that no longer exist in the origin folder are deleted, so the target folder mirrors the origin
+ * one.
+ */
 public class CopyFileVisitor implements FileVisitor<Path> {
 
   private final File fromFolder;
@@ -29,10 +41,19 @@ public class CopyFileVisitor implements FileVisitor<Path> {
   private Boolean ignoreHiddenFiles;
   private Boolean ignoreHiddenFolders;
 
-  private List<Path> exclusions = Collections.emptyList();
+  private Set<Path> exclusions = Collections.emptySet();
 
   private PathMatcher exclusionMatcher;
 
+  private boolean incremental = false;
+  private boolean compareContent = false;
+  private boolean deleteOrphans = false;
+
+  private final Set<Path> visitedTargets = new HashSet<>();
+
+  private PackageManifest packageManifest;
+  private String archiveLocation;
+
   public CopyFileVisitor(File fromFolder, File targetFolder) throws IOException {
     this(fromFolder, targetFolder, FALSE, FALSE, new MuleExclusionMatcher());
   }
@@ -55,19 +76,66 @@ public class CopyFileVisitor implements FileVisitor<Path> {
   }
 
   public void setExclusions(List<Path> exclusions) {
-    this.exclusions = exclusions;
+    this.exclusions = new HashSet<>(exclusions);
+  }
+
+  /**
+   * @param incremental if {@code true} a file is only copied when its size or last modified time differ from the ones of the
+   *        file in the target folder, and the last modified time is preserved
+   */
+  public void setIncremental(boolean incremental) {
+    this.incremental = incremental;
+  }
+
+  /**
+   * @param compareContent if {@code true}, and the visitor is incremental, a file with the same size and a different last
+   *        modified time than the one in the target folder is only copied when their content differs. Otherwise just the last
+   *        modified time of the target file is updated, so the files that were written again with the same content, like the
+   *        ones restored by a version control checkout, do not invalidate what was built from the target folder.
+   */
+  public void setCompareContent(boolean compareContent) {
+    this.compareContent = compareContent;
+  }
+
+  /**
+   * @param deleteOrphans if {@code true} the files and folders in the target folder that were not copied from the origin folder
+   *        are deleted
+   */
+  public void setDeleteOrphans(boolean deleteOrphans) {
+    this.deleteOrphans = deleteOrphans;
+  }
+
+  /**
+   * Records the files in a {@link PackageManifest} instead of copying them, so they are streamed into the package from the
+   * origin folder. The target folder is not modified.
+   *
+   * @param packageManifest the manifest where the files are added
+   * @param archiveLocation location in the package that corresponds to the target folder, like {@code META-INF/mule-src/app/}
+   */
+  public void setPackageManifest(PackageManifest packageManifest, String archiveLocation) {
+    this.packageManifest = packageManifest;
+    this.archiveLocation = archiveLocation;
   }
 
   @Override
   public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-    if (exclusionMatcher.matches(dir) || exclusions.contains(dir) || (ignoreHiddenFolders && dir.toFile().isHidden())) {
+    if (exclusions.contains(dir) || isExcludedDirectory(dir) || (ignoreHiddenFolders && dir.toFile().isHidden())) {
       return FileVisitResult.SKIP_SUBTREE;
     }
+    if (packageManifest != null) {
+      return FileVisitResult.CONTINUE;
+    }
 
-    Path targetPath = targetFolder.toPath().resolve(fromFolder.toPath().relativize(dir));
+    Path targetPath = getTargetPath(dir);
+    if (Files.exists(targetPath) && !Files.isDirectory(targetPath)) {
+      forceDelete(targetPath.toFile());
+    }
     if (!Files.exists(targetPath)) {
       Files.createDirectory(targetPath);
     }
+    if (deleteOrphans) {
+      visitedTargets.add(targetPath);
+    }
     return FileVisitResult.CONTINUE;
   }
 
@@ -76,11 +144,52 @@ public class CopyFileVisitor implements FileVisitor<Path> {
     if (exclusionMatcher.matches(file) || (ignoreHiddenFiles && file.toFile().isHidden())) {
       return FileVisitResult.SKIP_SUBTREE;
     }
+    if (packageManifest != null) {
+      packageManifest.addEntry(archiveLocation + fromFolder.toPath().relativize(file).toString(), file.toFile());
+      return FileVisitResult.CONTINUE;
+    }
 
-    Files.copy(file, targetFolder.toPath().resolve(fromFolder.toPath().relativize(file)), StandardCopyOption.REPLACE_EXISTING);
+    Path targetPath = getTargetPath(file);
+    if (deleteOrphans) {
+      visitedTargets.add(targetPath);
+    }
+    if (!incremental) {
+      Files.copy(file, targetPath, StandardCopyOption.REPLACE_EXISTING);
+    } else if (hasChanged(file, attrs, targetPath)) {
+      if (Files.isDirectory(targetPath)) {
+        forceDelete(targetPath.toFile());
+      }
+      Files.copy(file, targetPath, StandardCopyOption.REPLACE_EXISTING);
+      Files.setLastModifiedTime(targetPath, attrs.lastModifiedTime());
+    }
     return FileVisitResult.CONTINUE;
   }
 
+  private boolean isExcludedDirectory(Path dir) {
+    if (exclusionMatcher instanceof MuleExclusionMatcher) {
+      return ((MuleExclusionMatcher) exclusionMatcher).matchesDirectory(dir);
+    }
+    return exclusionMatcher.matches(dir);
+  }
+
+  private boolean hasChanged(Path file, BasicFileAttributes attrs, Path targetPath) throws IOException {
+    if (!Files.isRegularFile(targetPath) || Files.size(targetPath) != attrs.size()) {
+      return true;
+    }
+    if (Files.getLastModifiedTime(targetPath).equals(attrs.lastModifiedTime())) {
+      return false;
+    }
+    if (compareContent && com.google.common.io.Files.equal(file.toFile(), targetPath.toFile())) {
+      Files.setLastModifiedTime(targetPath, attrs.lastModifiedTime());
+      return false;
+    }
+    return true;
+  }
+
+  private Path getTargetPath(Path path) {
+    return targetFolder.toPath().resolve(fromFolder.toPath().relativize(path));
+  }
+
   @Override
   public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
     return FileVisitResult.CONTINUE;
@@ -88,6 +197,17 @@ public class CopyFileVisitor implements FileVisitor<Path> {
 
   @Override
   public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+    Path targetPath = getTargetPath(dir);
+    if (deleteOrphans && exc == null && visitedTargets.contains(targetPath)) {
+      try (DirectoryStream<Path> targetChildren = Files.newDirectoryStream(targetPath)) {
+        for (Path targetChild : targetChildren) {
+          // Children are no longer needed once their parent has been processed
+          if (!visitedTargets.remove(targetChild)) {
+            forceDelete(targetChild.toFile());
+          }
+        }
+      }
+    }
     return FileVisitResult.CONTINUE;
   }
 }
@@ -9,18 +9,11 @@
  */
 package org.mule.tools.api.util;
 
-import static java.io.File.separator;
-import static java.io.File.separatorChar;
 import static java.util.regex.Pattern.compile;
-import static java.util.regex.Pattern.quote;
-import static org.apache.commons.io.FileUtils.listFiles;
-import static org.apache.commons.io.filefilter.TrueFileFilter.INSTANCE;
-import static org.apache.commons.io.filefilter.TrueFileFilter.TRUE;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
-import java.util.Collection;
 import java.util.Enumeration;
 import java.util.Set;
 import java.util.TreeSet;
@@ -37,7 +30,6 @@ public class FileJarExplorer implements JarExplorer {
   protected static final String CLASS_EXTENSION = ".class";
 
   private static final Pattern SLASH_PATTERN = compile("/");
-  private static final Pattern SEPARATOR_PATTERN = compile(quote(separator));
 
   @Override
   public JarInfo explore(URI library) {
@@ -50,21 +42,7 @@ public class FileJarExplorer implements JarExplorer {
         throw new IllegalArgumentException("Library file does not exists: " + library);
       }
       if (libraryFile.isDirectory()) {
-        final Collection<File> files = listFiles(libraryFile, TRUE, INSTANCE);
-        for (File classFile : files) {
-          final String relativePath = classFile.getAbsolutePath().substring(libraryFile.getAbsolutePath().length() + 1);
-          if (relativePath.indexOf(separatorChar) > 0 && relativePath.endsWith(CLASS_EXTENSION)) {
-            packages.add(SEPARATOR_PATTERN
-                .matcher(relativePath.substring(0, relativePath.lastIndexOf(separatorChar)))
-                .replaceAll("."));
-          } else {
-            if (separatorChar == '/') {
-              resources.add(relativePath);
-            } else {
-              resources.add(SEPARATOR_PATTERN.matcher(relativePath).replaceAll("/"));
-            }
-          }
-        }
+        return ClassesDirectoryIndex.of(libraryFile.toPath()).getJarInfo();
       } else {
         if (libraryFile.getName().toLowerCase().endsWith(".jar")) {
 
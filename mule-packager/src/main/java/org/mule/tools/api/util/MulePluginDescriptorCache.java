@@ -0,0 +1,149 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.tools.api.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import org.mule.runtime.api.deployment.meta.MuleApplicationModel;
+import org.mule.runtime.api.deployment.meta.Product;
+import org.mule.runtime.api.deployment.persistence.MuleApplicationModelJsonSerializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.gson.JsonParseException;
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Cache of the data read from the mule-artifact.json descriptor of mule-plugin JARs.
+ * <p>
+ * Entries are keyed by the path, size and last modified time of the JAR, so a plugin that changes on disk, like a SNAPSHOT
+ * that gets installed again, is read again. The cache is shared by every build running in the same JVM.
+ */
+public class MulePluginDescriptorCache {
+
+  public static final String MULE_PLUGIN_DESCRIPTOR_LOCATION = "META-INF/mule-artifact/mule-artifact.json";
+
+  private static final int MAXIMUM_SIZE = 2048;
+  private static final MulePluginDescriptorCache INSTANCE = new MulePluginDescriptorCache();
+
+  private final MuleApplicationModelJsonSerializer serializer = new MuleApplicationModelJsonSerializer();
+  private final Cache<CacheKey, Optional<MulePluginDescriptor>> descriptors =
+      CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE).build();
+
+  public static MulePluginDescriptorCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Reads the descriptor of a mule-plugin JAR, or returns it from the cache if the JAR did not change since it was last read.
+   *
+   * @param pluginJar the mule-plugin JAR
+   * @return the descriptor data, or empty if the JAR has no valid descriptor
+   * @throws IOException if the JAR could not be read
+   */
+  public Optional<MulePluginDescriptor> getDescriptor(File pluginJar) throws IOException {
+    checkArgument(pluginJar != null, "The plugin JAR must not be null");
+    CacheKey key = new CacheKey(pluginJar.getAbsolutePath(), pluginJar.length(), pluginJar.lastModified());
+    Optional<MulePluginDescriptor> descriptor = descriptors.getIfPresent(key);
+    if (descriptor == null) {
+      // Read failures are not cached, they may be transient
+      descriptor = readDescriptor(pluginJar);
+      descriptors.put(key, descriptor);
+    }
+    return descriptor;
+  }
+
+  private Optional<MulePluginDescriptor> readDescriptor(File pluginJar) throws IOException {
+    try (JarFile jarFile = new JarFile(pluginJar)) {
+      JarEntry descriptorEntry = jarFile.getJarEntry(MULE_PLUGIN_DESCRIPTOR_LOCATION);
+      if (descriptorEntry == null) {
+        return Optional.empty();
+      }
+      try (InputStream descriptorStream = jarFile.getInputStream(descriptorEntry)) {
+        MuleApplicationModel model = serializer.deserialize(IOUtils.toString(descriptorStream, StandardCharsets.UTF_8));
+        return model == null ? Optional.empty()
+            : Optional.of(new MulePluginDescriptor(model.getName(), model.getMinMuleVersion(), model.getRequiredProduct()));
+      } catch (JsonParseException e) {
+        return Optional.empty();
+      }
+    }
+  }
+
+  /**
+   * The subset of the mule-artifact.json of a mule-plugin needed while packaging and validating an artifact.
+   */
+  public static class MulePluginDescriptor {
+
+    private final String name;
+    private final String minMuleVersion;
+    private final Product requiredProduct;
+
+    public MulePluginDescriptor(String name, String minMuleVersion, Product requiredProduct) {
+      this.name = name;
+      this.minMuleVersion = minMuleVersion;
+      this.requiredProduct = requiredProduct;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getMinMuleVersion() {
+      return minMuleVersion;
+    }
+
+    public Product getRequiredProduct() {
+      return requiredProduct;
+    }
+
+    public boolean requiresEE() {
+      return Product.MULE_EE.equals(requiredProduct);
+    }
+  }
+
+  private static class CacheKey {
+
+    private final String path;
+    private final long size;
+    private final long lastModified;
+
+    private CacheKey(String path, long size, long lastModified) {
+      this.path = path;
+      this.size = size;
+      this.lastModified = lastModified;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      CacheKey that = (CacheKey) o;
+      return size == that.size && lastModified == that.lastModified && path.equals(that.path);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, size, lastModified);
+    }
+  }
+}
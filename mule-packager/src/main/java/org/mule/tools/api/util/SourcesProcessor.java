@@ -13,6 +13,7 @@ package org.mule.tools.api.util;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Optional.empty;
 import static java.util.stream.Collectors.toList;
+import static org.mule.tools.api.classloader.model.resolver.DependencyLockfile.LOCKFILE_NAME;
 import org.mule.maven.client.api.MavenReactorResolver;
 import org.mule.maven.client.api.model.BundleDependency;
 import org.mule.maven.client.internal.AetherMavenClient;
@@ -25,8 +26,10 @@ import org.mule.tools.api.classloader.model.NotParameterizedClassLoaderModel;
 import org.mule.tools.api.classloader.model.SharedLibraryDependency;
 import org.mule.tools.api.classloader.model.resolver.AdditionalPluginDependenciesResolver;
 import org.mule.tools.api.classloader.model.resolver.ApplicationDependencyResolver;
+import org.mule.tools.api.classloader.model.resolver.DependencyLockfile;
 import org.mule.tools.api.classloader.model.resolver.MulePluginClassloaderModelResolver;
 import org.mule.tools.api.packager.ProjectInformation;
+import org.mule.tools.api.packager.archiver.PackageManifest;
 import org.mule.tools.api.packager.packaging.PackagingType;
 import org.mule.tools.api.packager.sources.ContentGenerator;
 import org.mule.tools.api.packager.sources.ContentGeneratorFactory;
@@ -38,6 +41,7 @@ import org.mule.tools.api.validation.MulePluginsCompatibilityValidator;
 import org.mule.tools.api.validation.resolver.MulePluginResolver;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -55,12 +59,33 @@ public class SourcesProcessor {
 
   protected MavenComponents mavenComponents;
 
+  private PackageManifest packageManifest;
+
+  private File localRepositoryMuleArtifactFolder;
+
   public SourcesProcessor(MavenComponents mavenComponents) {
     checkArgument(mavenComponents != null, "The mavenComponents must not be null");
 
     this.mavenComponents = mavenComponents;
   }
 
+  /**
+   * @param packageManifest if not {@code null}, the dependencies are recorded in this manifest, to be streamed into the package
+   *        from the local Maven repository, instead of being copied to the repository folder
+   */
+  public void setPackageManifest(PackageManifest packageManifest) {
+    this.packageManifest = packageManifest;
+  }
+
+  /**
+   * @param localRepositoryMuleArtifactFolder if not {@code null} and a heavyweight structure is generated, the
+   *        classloader-model.json files of a lightweight package using the local repository are also generated in this folder
+   *        from the same dependency resolution
+   */
+  public void setLocalRepositoryMuleArtifactFolder(File localRepositoryMuleArtifactFolder) {
+    this.localRepositoryMuleArtifactFolder = localRepositoryMuleArtifactFolder;
+  }
+
   /**
    *
    * @param prettyPrinting if {@code true} the classloader-model.json will be printed with pretty print mode
@@ -106,6 +131,9 @@ public class SourcesProcessor {
                                   repositoryOutputDirectory,
                                   new ArtifactInstaller(new MavenPackagerLog(mavenComponents.getLog())),
                                   getClassLoaderModelAssembler(), appGAV);
+      repositoryGenerator.setPackageManifest(packageManifest);
+      File localRepositoryVariantFolder = isHeavyWeight ? localRepositoryMuleArtifactFolder : null;
+      repositoryGenerator.setLocalRepositoryClassLoaderModelsFolder(localRepositoryVariantFolder);
       ClassLoaderModel classLoaderModel =
           repositoryGenerator.generate(lightweightPackage, useLocalRepository, prettyPrinting, testJar, mavenReactorResolver);
 
@@ -126,28 +154,62 @@ public class SourcesProcessor {
       if (isLightWeightUsingLocalRepository) {
         classLoaderModel = new NotParameterizedClassLoaderModel(classLoaderModel);
       }
-      ((MuleContentGenerator) getContentGenerator(testJar, lightweightPackage))
-          .createApplicationClassLoaderModelJsonFile(classLoaderModel,
-                                                     prettyPrinting, classloaderOutputDirectory);
+      MuleContentGenerator contentGenerator = (MuleContentGenerator) getContentGenerator(testJar, lightweightPackage);
+      contentGenerator.createApplicationClassLoaderModelJsonFile(classLoaderModel, prettyPrinting, classloaderOutputDirectory);
+      if (localRepositoryVariantFolder != null) {
+        contentGenerator.createApplicationClassLoaderModelJsonFile(new NotParameterizedClassLoaderModel(classLoaderModel),
+                                                                   prettyPrinting, localRepositoryVariantFolder);
+      }
     }
   }
 
   protected ApplicationClassLoaderModelAssembler getClassLoaderModelAssembler() {
     AetherMavenClient aetherMavenClient = getAetherMavenClient();
-    return new ApplicationClassLoaderModelAssembler(new ApplicationDependencyResolver(aetherMavenClient),
+    DependencyLockfile lockfile = getDependencyLockfileLocation().isFile() ? getDependencyLockfile() : null;
+    return new ApplicationClassLoaderModelAssembler(new ApplicationDependencyResolver(aetherMavenClient, lockfile),
                                                     new MulePluginClassloaderModelResolver(aetherMavenClient),
-                                                    new AdditionalPluginDependenciesResolver(aetherMavenClient,
-                                                                                             mavenComponents
-                                                                                                 .getAdditionalPluginDependencies() == null
-                                                                                                     ? new ArrayList<>()
-                                                                                                     : mavenComponents
-                                                                                                         .getAdditionalPluginDependencies(),
-                                                                                             new File(mavenComponents
-                                                                                                 .getOutputDirectory(),
-                                                                                                      "temp")),
+                                                    getAdditionalPluginDependenciesResolver(aetherMavenClient, lockfile),
                                                     new FileJarExplorer());
   }
 
+  private AdditionalPluginDependenciesResolver getAdditionalPluginDependenciesResolver(AetherMavenClient aetherMavenClient,
+                                                                                       DependencyLockfile lockfile) {
+    return new AdditionalPluginDependenciesResolver(aetherMavenClient,
+                                                    mavenComponents.getAdditionalPluginDependencies() == null
+                                                        ? new ArrayList<>()
+                                                        : mavenComponents.getAdditionalPluginDependencies(),
+                                                    new File(mavenComponents.getOutputDirectory(), "temp"),
+                                                    lockfile);
+  }
+
+  /**
+   * Resolves the application dependencies, and the additional dependencies of their plugins, and writes them to the dependency
+   * lockfile of the project, so following builds skip the dependency graph resolution while the project model does not change.
+   *
+   * @param mavenReactorResolver {@link MavenReactorResolver}
+   * @throws IOException if the lockfile could not be written
+   */
+  public void lockDependencies(Optional<MavenReactorResolver> mavenReactorResolver) throws IOException {
+    AetherMavenClient aetherMavenClient = getAetherMavenClient();
+    DependencyLockfile lockfile = getDependencyLockfile();
+    new ApplicationDependencyResolver(aetherMavenClient, lockfile)
+        .lockApplicationDependencies(mavenComponents.getProject().getFile(), mavenReactorResolver,
+                                     new MulePluginClassloaderModelResolver(aetherMavenClient),
+                                     getAdditionalPluginDependenciesResolver(aetherMavenClient, null));
+    mavenComponents.getLog().info("Dependency lockfile written to " + lockfile.getFile());
+  }
+
+  protected File getDependencyLockfileLocation() {
+    return new File(mavenComponents.getProject().getBasedir(), LOCKFILE_NAME);
+  }
+
+  protected DependencyLockfile getDependencyLockfile() {
+    return new DependencyLockfile(getDependencyLockfileLocation(),
+                                  mavenComponents.getSession().getRequest().getLocalRepositoryPath(),
+                                  DependencyLockfile.digest(mavenComponents.getProject()),
+                                  new MavenPackagerLog(mavenComponents.getLog()));
+  }
+
   protected final boolean validateMuleRuntimeSharedLibrary(String groupId, String artifactId) {
     if ("org.mule.runtime".equals(groupId)
         || "com.mulesoft.mule.runtime.modules".equals(groupId)) {
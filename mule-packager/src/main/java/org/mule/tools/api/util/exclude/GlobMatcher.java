@@ -38,13 +38,26 @@ class GlobMatcher implements PathMatcher {
 
   private static final String SYNTAX = "glob";
 
+  private final String pattern;
   private final PathMatcher matcher;
 
   public GlobMatcher(String pattern) {
     checkArgument(pattern != null, "Pattern should not be null");
+    this.pattern = pattern;
     matcher = getDefault().getPathMatcher(SYNTAX + ":" + pattern);
   }
 
+  public String getPattern() {
+    return pattern;
+  }
+
+  /**
+   * Checks if the whole path, ignoring its file name alone, matches the glob syntax.
+   */
+  public boolean matchesPath(Path file) {
+    return file == null || matcher.matches(file);
+  }
+
   /**
    * Checks if a given path matches the glob syntax.
    */
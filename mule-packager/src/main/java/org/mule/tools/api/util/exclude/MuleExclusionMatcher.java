@@ -14,17 +14,26 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.io.Files.readLines;
+import static org.apache.commons.lang3.StringUtils.containsAny;
+import static org.apache.commons.lang3.StringUtils.removeEnd;
 
 /**
  * Matcher for mule exclusions.
  * 
  * Parses the _muleExclusion file present in the project base folder to create a list of path matchers. The file must contain
  * pathnames specified in a glob pattern. By default, .classpath and .project files always match against this matcher.
+ * <p>
+ * Patterns are compiled once: plain file names are looked up in a set, and the rest are evaluated as globs. Patterns ending in
+ * {@code /**} also allow to decide that a whole directory is excluded, see {@link #matchesDirectory(Path)}.
  */
 public class MuleExclusionMatcher implements PathMatcher {
 
@@ -32,10 +41,21 @@ public class MuleExclusionMatcher implements PathMatcher {
   public static final GlobMatcher CLASSPATH_FILE_MATCHER = new GlobMatcher(".classpath");
   public static final GlobMatcher PROJECT_FILE_MATCHER = new GlobMatcher(".project");
 
+  private static final String GLOB_SPECIAL_CHARACTERS = "*?[]{}\\/";
+  private static final String ANY_DESCENDANT = "/**";
+  // Glob patterns are case insensitive on Windows
+  private static final boolean CASE_INSENSITIVE = File.separatorChar == '\\';
+
   private List<GlobMatcher> muleExcludeMatchers =
       newArrayList(CLASSPATH_FILE_MATCHER, PROJECT_FILE_MATCHER);
 
-  public MuleExclusionMatcher() {}
+  private final Set<String> excludedFileNames = new HashSet<>();
+  private final List<GlobMatcher> globMatchers = new ArrayList<>();
+  private final List<GlobMatcher> excludedDirectoryMatchers = new ArrayList<>();
+
+  public MuleExclusionMatcher() {
+    compile();
+  }
 
   /**
    * Creates a muleExclusionMatcher based on the _muleExcludes file.
@@ -45,6 +65,7 @@ public class MuleExclusionMatcher implements PathMatcher {
   public MuleExclusionMatcher(Path projectBaseFolder) throws IOException {
     checkArgument(projectBaseFolder != null, "Project base folder should not be null");
     parse(new File(projectBaseFolder.toFile(), MULE_EXCLUDE_FILENAME));
+    compile();
   }
 
   private void parse(File file) throws IOException {
@@ -53,6 +74,21 @@ public class MuleExclusionMatcher implements PathMatcher {
     }
   }
 
+  private void compile() {
+    for (GlobMatcher muleExcludeMatcher : muleExcludeMatchers) {
+      String pattern = muleExcludeMatcher.getPattern();
+      if (!containsAny(pattern, GLOB_SPECIAL_CHARACTERS)) {
+        excludedFileNames.add(normalize(pattern));
+      } else {
+        globMatchers.add(muleExcludeMatcher);
+      }
+      if (pattern.endsWith(ANY_DESCENDANT) && pattern.length() > ANY_DESCENDANT.length()) {
+        // Every path under a directory matching "pattern" matches "pattern/**"
+        excludedDirectoryMatchers.add(new GlobMatcher(removeEnd(pattern, ANY_DESCENDANT)));
+      }
+    }
+  }
+
   /**
    * Checks if the path should be excluded according to patterns in the mule exclude file.
    * 
@@ -60,6 +96,40 @@ public class MuleExclusionMatcher implements PathMatcher {
    * @return true either if the path is null or if it matches at least one of the path exclusions
    */
   public boolean matches(Path file) {
-    return muleExcludeMatchers.stream().anyMatch(pattern -> pattern.matches(file));
+    if (file == null) {
+      return true;
+    }
+    Path fileName = file.getFileName();
+    if (fileName != null && excludedFileNames.contains(normalize(fileName.toString()))) {
+      return true;
+    }
+    for (GlobMatcher globMatcher : globMatchers) {
+      if (globMatcher.matches(file)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks if a directory and all of its content should be excluded, so it does not need to be traversed.
+   *
+   * @param directory The directory to be checked
+   * @return true if the directory itself is excluded or if every path under it is excluded
+   */
+  public boolean matchesDirectory(Path directory) {
+    if (matches(directory)) {
+      return true;
+    }
+    for (GlobMatcher excludedDirectoryMatcher : excludedDirectoryMatchers) {
+      if (excludedDirectoryMatcher.matchesPath(directory)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String normalize(String fileName) {
+    return CASE_INSENSITIVE ? fileName.toLowerCase(Locale.ROOT) : fileName;
   }
 }
@@ -0,0 +1,84 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.tools.api.util.fingerprint;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * Keeps the {@link InputFingerprint}s of the last successful executions of the build steps in the build directory, so a step
+ * can be skipped when neither its inputs changed nor its outputs were removed.
+ */
+public class FingerprintStore {
+
+  public static final String FINGERPRINTS_FOLDER = "mule-fingerprints";
+  private static final String FINGERPRINT_EXTENSION = ".fingerprint";
+
+  private final Path storeFolder;
+
+  /**
+   * @param buildDirectory the project build directory, where the fingerprints are stored
+   */
+  public FingerprintStore(Path buildDirectory) {
+    checkArgument(buildDirectory != null, "The build directory must not be null");
+    this.storeFolder = buildDirectory.resolve(FINGERPRINTS_FOLDER);
+  }
+
+  /**
+   * Checks whether a build step can be skipped.
+   *
+   * @param fingerprint the fingerprint of the current inputs of the step
+   * @param outputs the files or folders the step generates
+   * @return {@code true} if the stored fingerprint matches the given one and all the outputs exist
+   */
+  public boolean isUpToDate(InputFingerprint fingerprint, Collection<Path> outputs) {
+    Path fingerprintFile = getFingerprintFile(fingerprint.getId());
+    if (!Files.isRegularFile(fingerprintFile) || !outputs.stream().allMatch(Files::exists)) {
+      return false;
+    }
+    try {
+      return new String(Files.readAllBytes(fingerprintFile), UTF_8).trim().equals(fingerprint.getValue());
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Stores the fingerprint of a step that has been successfully executed.
+   *
+   * @param fingerprint the fingerprint of the inputs of the step
+   * @throws IOException if the fingerprint could not be written
+   */
+  public void save(InputFingerprint fingerprint) throws IOException {
+    Files.createDirectories(storeFolder);
+    Files.write(getFingerprintFile(fingerprint.getId()), fingerprint.getValue().getBytes(UTF_8));
+  }
+
+  /**
+   * Removes the stored fingerprint of a step, so it is executed again even if its inputs did not change. It must be called
+   * before a step starts modifying its outputs, so a step that fails halfway is not considered up to date.
+   *
+   * @param id the identifier of the step
+   * @throws IOException if the fingerprint could not be deleted
+   */
+  public void invalidate(String id) throws IOException {
+    Files.deleteIfExists(getFingerprintFile(id));
+  }
+
+  private Path getFingerprintFile(String id) {
+    return storeFolder.resolve(id + FINGERPRINT_EXTENSION);
+  }
+}
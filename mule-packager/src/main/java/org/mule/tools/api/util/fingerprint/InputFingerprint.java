@@ -0,0 +1,221 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.tools.api.util.fingerprint;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import org.mule.tools.api.util.exclude.MuleExclusionMatcher;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+
+/**
+ * Digest of the inputs of a build step. Two fingerprints built from the same inputs, in the same order, have the same
+ * {@link #getValue() value}.
+ * <p>
+ * Files are fingerprinted by their metadata (size and last modified time), not by their content, so computing a fingerprint
+ * never reads the files themselves.
+ */
+public class InputFingerprint {
+
+  private final String id;
+  private final Hasher hasher = Hashing.sha256().newHasher();
+  private String value;
+
+  /**
+   * @param id identifier of the build step whose inputs are being fingerprinted, used to store the fingerprint
+   */
+  public InputFingerprint(String id) {
+    checkArgument(id != null, "The id must not be null");
+    this.id = id;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  /**
+   * Adds a named value, typically a plugin parameter, to the fingerprint.
+   *
+   * @param name name of the value
+   * @param value the value, {@code null} is allowed
+   * @return this fingerprint
+   */
+  public InputFingerprint withValue(String name, Object value) {
+    putEntry(name, Objects.toString(value));
+    return this;
+  }
+
+  /**
+   * Adds the sections of the POM model that affect the packaging: coordinates, packaging, properties, dependencies, dependency
+   * management, repositories and build plugins.
+   *
+   * @param model the effective model of the project
+   * @return this fingerprint
+   */
+  public InputFingerprint withModel(Model model) {
+    Model relevantModel = new Model();
+    relevantModel.setGroupId(model.getGroupId());
+    relevantModel.setArtifactId(model.getArtifactId());
+    relevantModel.setVersion(model.getVersion());
+    relevantModel.setPackaging(model.getPackaging());
+    relevantModel.setProperties(model.getProperties());
+    relevantModel.setDependencies(model.getDependencies());
+    relevantModel.setDependencyManagement(model.getDependencyManagement());
+    relevantModel.setRepositories(model.getRepositories());
+    if (model.getBuild() != null) {
+      Build relevantBuild = new Build();
+      relevantBuild.setDirectory(model.getBuild().getDirectory());
+      relevantBuild.setOutputDirectory(model.getBuild().getOutputDirectory());
+      relevantBuild.setFinalName(model.getBuild().getFinalName());
+      relevantBuild.setPlugins(model.getBuild().getPlugins());
+      relevantModel.setBuild(relevantBuild);
+    }
+
+    StringWriter writer = new StringWriter();
+    try {
+      new MavenXpp3Writer().write(writer, relevantModel);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not serialize the project model", e);
+    }
+    putEntry("model", writer.toString());
+    return this;
+  }
+
+  /**
+   * Adds the coordinates, scope and file metadata of each of the resolved artifacts, in a stable order.
+   *
+   * @param artifacts the resolved artifacts
+   * @return this fingerprint
+   */
+  public InputFingerprint withArtifacts(Collection<Artifact> artifacts) {
+    artifacts.stream()
+        .sorted(Comparator.comparing(Artifact::getId))
+        .forEach(artifact -> {
+          putEntry("artifact", artifact.getId() + ":" + artifact.getScope());
+          if (artifact.getFile() != null) {
+            withFile(artifact.getFile().toPath());
+          }
+        });
+    return this;
+  }
+
+  /**
+   * Adds the path, size and last modified time of a file. A missing file is also part of the fingerprint.
+   *
+   * @param file the file
+   * @return this fingerprint
+   */
+  public InputFingerprint withFile(Path file) {
+    putEntry("file", file.toAbsolutePath().toString());
+    if (Files.isRegularFile(file)) {
+      putEntry("metadata", file.toFile().length() + ":" + file.toFile().lastModified());
+    } else {
+      putEntry("metadata", Files.exists(file) ? "directory" : "absent");
+    }
+    return this;
+  }
+
+  /**
+   * Adds the relative path, size and last modified time of every file under a folder, skipping the excluded subtrees.
+   *
+   * @param root the folder to walk, a missing folder is also part of the fingerprint
+   * @param exclusions folders whose content is not part of the fingerprint
+   * @return this fingerprint
+   * @throws IOException if the folder could not be walked
+   */
+  public InputFingerprint withFileTree(Path root, Collection<Path> exclusions) throws IOException {
+    return withFileTree(root, exclusions, null, false);
+  }
+
+  /**
+   * Adds the relative path, size and last modified time of every file under a folder, skipping the excluded subtrees and the
+   * files matched by the mule exclusions, so only the files that would be copied from the folder are fingerprinted.
+   *
+   * @param root the folder to walk, a missing folder is also part of the fingerprint
+   * @param exclusions folders whose content is not part of the fingerprint
+   * @param exclusionMatcher the mule exclusions, may be {@code null}
+   * @param ignoreHidden if {@code true} hidden files and folders, like {@code .git}, are not part of the fingerprint
+   * @return this fingerprint
+   * @throws IOException if the folder could not be walked
+   */
+  public InputFingerprint withFileTree(Path root, Collection<Path> exclusions, MuleExclusionMatcher exclusionMatcher,
+                                       boolean ignoreHidden)
+      throws IOException {
+    putEntry("tree", root.toAbsolutePath().toString());
+    if (!Files.isDirectory(root)) {
+      putEntry("metadata", "absent");
+      return this;
+    }
+
+    Set<Path> excludedFolders = new HashSet<>(exclusions);
+    SortedMap<String, String> entries = new TreeMap<>();
+    Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+        if (excludedFolders.contains(dir) || (exclusionMatcher != null && exclusionMatcher.matchesDirectory(dir))
+            || (ignoreHidden && dir.toFile().isHidden())) {
+          return FileVisitResult.SKIP_SUBTREE;
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+        if ((exclusionMatcher == null || !exclusionMatcher.matches(file)) && !(ignoreHidden && file.toFile().isHidden())) {
+          entries.put(root.relativize(file).toString(), attrs.size() + ":" + attrs.lastModifiedTime().toMillis());
+        }
+        return FileVisitResult.CONTINUE;
+      }
+    });
+    for (Map.Entry<String, String> entry : entries.entrySet()) {
+      putEntry(entry.getKey(), entry.getValue());
+    }
+    return this;
+  }
+
+  /**
+   * @return the hexadecimal representation of the digest of all the inputs added so far. Once computed, no more inputs can be
+   *         added.
+   */
+  public String getValue() {
+    if (value == null) {
+      value = hasher.hash().toString();
+    }
+    return value;
+  }
+
+  private void putEntry(String name, String value) {
+    checkArgument(this.value == null, "The fingerprint has already been computed");
+    hasher.putString(name, UTF_8).putByte((byte) 0).putString(value, UTF_8).putByte((byte) 0);
+  }
+}
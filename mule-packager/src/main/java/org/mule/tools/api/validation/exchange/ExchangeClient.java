@@ -26,7 +26,6 @@ import org.mule.tools.client.core.AbstractClient;
 import org.mule.tools.client.authentication.AuthenticationServiceClient;
 import org.mule.tools.client.authentication.model.Credentials;
 
-import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
 /**
@@ -58,7 +57,7 @@ public class ExchangeClient extends AbstractClient {
     checkResponseStatus(response);
 
     Type listType = new TypeToken<ArrayList<Group>>() {}.getType();
-    List<Group> groupList = new Gson().fromJson(response.readEntity(String.class), listType);
+    List<Group> groupList = readJsonEntity(response, listType);
 
     return groupList.get(0).getGroupId();
   }
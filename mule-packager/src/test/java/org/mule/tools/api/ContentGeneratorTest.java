@@ -9,6 +9,8 @@
  */
 package org.mule.tools.api;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
@@ -23,8 +25,10 @@ import org.mule.tools.api.packager.sources.MuleContentGenerator;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.Collections;
 
 import org.apache.commons.io.FileUtils;
@@ -124,6 +128,27 @@ public class ContentGeneratorTest {
     PackagerTestUtils.assertFileExists(destinationFolderPath.resolve(FAKE_FILE_NAME));
   }
 
+  @Test
+  public void createSrcFolderContentComparingContentKeepsFilesWithSameContent() throws IOException {
+    Path sourceFolderPath = projectBaseFolder.getRoot().toPath().resolve(PackagerTestUtils.SRC)
+        .resolve(PackagerTestUtils.MAIN).resolve(packagingType.getSourceFolderName());
+    PackagerTestUtils.createFolder(sourceFolderPath, FAKE_FILE_NAME, true);
+    Path destinationFolderPath = projectTargetFolder.toPath().resolve(CLASSES.value());
+    PackagerTestUtils.createEmptyFolder(destinationFolderPath);
+    contentGenerator.setCompareContent(true);
+    contentGenerator.createMuleSrcFolderContent();
+
+    Path destinationFile = destinationFolderPath.resolve(FAKE_FILE_NAME);
+    Files.setLastModifiedTime(destinationFile, FileTime.fromMillis(1000000000000L));
+    // Copying the file again would replace it, which would no longer be linked to this one
+    Files.createLink(projectBaseFolder.getRoot().toPath().resolve("link"), destinationFile);
+    contentGenerator.createMuleSrcFolderContent();
+
+    assertThat(Files.getAttribute(destinationFile, "unix:nlink"), is(2));
+    assertThat(Files.getLastModifiedTime(destinationFile),
+               is(Files.getLastModifiedTime(sourceFolderPath.resolve(FAKE_FILE_NAME))));
+  }
+
   @Test
   public void createTestFolderContentNonExistingSourceFolder() throws IOException {
     String destinationFolderName = packagingType.getTestFolderName();
@@ -26,7 +26,9 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.tools.api.classloader.model.resolver.AdditionalPluginDependenciesResolver.ADDITIONAL_DEPENDENCIES_ELEMENT;
 import static org.mule.tools.api.classloader.model.resolver.AdditionalPluginDependenciesResolver.ADDITIONAL_PLUGIN_DEPENDENCIES_ELEMENT;
@@ -268,6 +270,35 @@ public class AdditionalPluginDependenciesResolverTest {
     assertThat(resolvedAdditionalDependencies, hasEntry(equalTo(RESOLVED_BUNDLE_PLUGIN), hasItem(resolvedDependencyX10)));
   }
 
+  @Test
+  public void resolvedAdditionalDependenciesAreRecordedForTheLockfile() throws IOException {
+    DECLARED_POM_PLUGIN.setAdditionalDependencies(of(declaredPomDependencyX10));
+    AdditionalPluginDependenciesResolver resolver = createAdditionalPluginDependenciesResolver(of(DECLARED_POM_PLUGIN));
+    resolver.resolveDependencies(of(RESOLVED_BUNDLE_PLUGIN), of(resolvedPluginClassLoaderModel));
+
+    Map<List<BundleDescriptor>, List<BundleDependency>> recordedAdditionalDependencies =
+        resolver.getResolvedAdditionalDependencies();
+    assertThat(recordedAdditionalDependencies.size(), is(1));
+    assertThat(recordedAdditionalDependencies.values().iterator().next(), hasItem(resolvedDependencyX10));
+  }
+
+  @Test
+  public void lockedAdditionalDependenciesSkipResolution() throws IOException {
+    DECLARED_POM_PLUGIN.setAdditionalDependencies(of(declaredPomDependencyX10));
+    DependencyLockfile lockfile = mock(DependencyLockfile.class);
+    when(lockfile.readAdditionalDependencies(any(), any())).thenReturn(Optional.of(of(resolvedDependencyX20)));
+    AdditionalPluginDependenciesResolver resolver =
+        new AdditionalPluginDependenciesResolver(mockedMavenClient, of(DECLARED_POM_PLUGIN), temporaryFolder.newFolder(),
+                                                 lockfile);
+
+    Map<BundleDependency, List<BundleDependency>> resolvedAdditionalDependencies =
+        resolver.resolveDependencies(of(RESOLVED_BUNDLE_PLUGIN), of(resolvedPluginClassLoaderModel));
+
+    assertThat(resolvedAdditionalDependencies, hasEntry(equalTo(RESOLVED_BUNDLE_PLUGIN), hasItem(resolvedDependencyX20)));
+    assertThat(resolver.getResolvedAdditionalDependencies().isEmpty(), is(true));
+    verify(mockedMavenClient, never()).resolveArtifactDependencies(any(), any(), any());
+  }
+
   @Test
   public void additionalPluginDependenciesVersionConflictLatestDeclaredRemains() throws Exception {
     // Maven Client will resolve and get the latest declared dependency when they have the same GA (different version)
@@ -15,7 +15,10 @@ import static org.junit.Assert.assertThat;
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.maven.client.api.model.BundleScope.PROVIDED;
 import static org.mule.tools.api.classloader.model.resolver.ApplicationDependencyResolver.MULE_DOMAIN_CLASSIFIER;
@@ -26,13 +29,19 @@ import org.mule.maven.client.internal.AetherMavenClient;
 import com.google.common.collect.ImmutableList;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class ApplicationDependencyResolverTest {
 
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   private final AetherMavenClient mockMavenClient = mock(AetherMavenClient.class);
 
   @Test
@@ -63,4 +72,18 @@ public class ApplicationDependencyResolverTest {
         applicationDependencyResolver.resolveApplicationDependencies(new File("not-relevant"));
     assertThat(bundleDependencies, empty());
   }
+
+  @Test
+  public void lockedDependenciesSkipResolution() throws IOException {
+    DependencyLockfile lockfile = mock(DependencyLockfile.class);
+    List<BundleDependency> lockedDependencies = ImmutableList.of(mock(BundleDependency.class));
+    when(lockfile.read(anyBoolean(), any())).thenReturn(Optional.of(lockedDependencies));
+
+    ApplicationDependencyResolver applicationDependencyResolver = new ApplicationDependencyResolver(mockMavenClient, lockfile);
+    List<BundleDependency> bundleDependencies =
+        applicationDependencyResolver.resolveApplicationDependencies(temporaryFolder.newFile("pom.xml"), false, Optional.empty());
+
+    assertThat(bundleDependencies, sameInstance(lockedDependencies));
+    verify(mockMavenClient, never()).resolveArtifactDependencies(any(), anyBoolean(), anyBoolean(), any(), any(), any());
+  }
 }
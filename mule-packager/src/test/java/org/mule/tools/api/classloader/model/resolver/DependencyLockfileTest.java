@@ -0,0 +1,246 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.classloader.model.resolver;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.hamcrest.core.IsNot.not;
+import static org.mockito.Mockito.mock;
+import static org.mule.maven.client.api.model.BundleScope.COMPILE;
+import org.mule.maven.client.api.model.BundleDependency;
+import org.mule.maven.client.api.model.BundleDescriptor;
+import org.mule.tools.api.util.PackagerLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DependencyLockfileTest {
+
+  private static final String MODEL_DIGEST = "digest";
+  private static final long LAST_MODIFIED = 1500000000000L;
+  private static final Function<BundleDescriptor, File> NOT_RESOLVABLE = descriptor -> {
+    throw new IllegalStateException("Could not resolve " + descriptor.getArtifactId());
+  };
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File localRepository;
+  private File pluginFile;
+  private File libraryFile;
+  private DependencyLockfile lockfile;
+
+  @Before
+  public void setUp() throws IOException {
+    localRepository = temporaryFolder.newFolder("repository");
+    pluginFile = createFile("org/mule/connectors/mule-http-connector/1.5.0/mule-http-connector-1.5.0-mule-plugin.jar");
+    libraryFile = createFile("commons-io/commons-io/2.6/commons-io-2.6.jar");
+    lockfile = newLockfile(MODEL_DIGEST);
+  }
+
+  @Test
+  public void noLockfile() {
+    assertThat(lockfile.read(false, NOT_RESOLVABLE).isPresent(), is(false));
+  }
+
+  @Test
+  public void readLockedGraph() throws IOException {
+    lockfile.write(singletonList(buildPluginDependency()), emptyList(), emptyMap());
+
+    Optional<List<BundleDependency>> dependencies = lockfile.read(false, NOT_RESOLVABLE);
+
+    assertThat(dependencies.isPresent(), is(true));
+    BundleDependency plugin = dependencies.get().get(0);
+    assertThat(plugin.getDescriptor().getArtifactId(), is("mule-http-connector"));
+    assertThat(plugin.getDescriptor().getClassifier().get(), is("mule-plugin"));
+    assertThat(plugin.getScope(), is(COMPILE));
+    assertThat(new File(plugin.getBundleUri()), is(pluginFile));
+    assertThat(plugin.getTransitiveDependencies().get(0).getDescriptor().getArtifactId(), is("commons-io"));
+    assertThat(lockfile.read(true, NOT_RESOLVABLE).get().isEmpty(), is(true));
+  }
+
+  @Test
+  public void lockfileIgnoredWhenModelChanges() throws IOException {
+    lockfile.write(singletonList(buildPluginDependency()), emptyList(), emptyMap());
+
+    assertThat(newLockfile("other-digest").read(false, NOT_RESOLVABLE).isPresent(), is(false));
+  }
+
+  @Test
+  public void lockfileUsedWhenLockedFileIsTouched() throws IOException {
+    lockfile.write(singletonList(buildPluginDependency()), emptyList(), emptyMap());
+    libraryFile.setLastModified(LAST_MODIFIED + 60000);
+
+    assertThat(lockfile.read(false, NOT_RESOLVABLE).isPresent(), is(true));
+  }
+
+  @Test
+  public void lockfileIgnoredWhenLockedFileChangesKeepingItsSize() throws IOException {
+    lockfile.write(singletonList(buildPluginDependency()), emptyList(), emptyMap());
+    byte[] content = Files.readAllBytes(libraryFile.toPath());
+    content[0]++;
+    Files.write(libraryFile.toPath(), content);
+    libraryFile.setLastModified(LAST_MODIFIED + 60000);
+
+    assertThat(lockfile.read(false, NOT_RESOLVABLE).isPresent(), is(false));
+  }
+
+  @Test
+  public void digestCoversTheResolvedModel() {
+    String digest = DependencyLockfile.digest(buildProject("1.5.0", "release"));
+
+    assertThat(DependencyLockfile.digest(buildProject("1.5.0", "release")), is(digest));
+    assertThat(DependencyLockfile.digest(buildProject("1.6.0", "release")), is(not(digest)));
+    assertThat(DependencyLockfile.digest(buildProject("1.5.0", "snapshots")), is(not(digest)));
+  }
+
+  @Test
+  public void lockfileIgnoredWhenLockedFileChanges() throws IOException {
+    lockfile.write(singletonList(buildPluginDependency()), emptyList(), emptyMap());
+    Files.write(libraryFile.toPath(), "modified".getBytes());
+
+    assertThat(lockfile.read(false, NOT_RESOLVABLE).isPresent(), is(false));
+  }
+
+  @Test
+  public void lockfileIgnoredWhenLockedFileIsMissingAndCanNotBeResolved() throws IOException {
+    lockfile.write(singletonList(buildPluginDependency()), emptyList(), emptyMap());
+    pluginFile.delete();
+
+    assertThat(lockfile.read(false, NOT_RESOLVABLE).isPresent(), is(false));
+  }
+
+  @Test
+  public void lockedFileMissingFromLocalRepositoryIsResolved() throws IOException {
+    lockfile.write(singletonList(buildPluginDependency()), emptyList(), emptyMap());
+    File resolvedPluginFile = new File(temporaryFolder.newFolder("remote"), pluginFile.getName());
+    Files.move(pluginFile.toPath(), resolvedPluginFile.toPath());
+    List<String> resolved = new ArrayList<>();
+
+    Optional<List<BundleDependency>> dependencies = lockfile.read(false, descriptor -> {
+      resolved.add(descriptor.getArtifactId());
+      return resolvedPluginFile;
+    });
+
+    assertThat(dependencies.isPresent(), is(true));
+    assertThat(new File(dependencies.get().get(0).getBundleUri()), is(resolvedPluginFile));
+    assertThat(resolved, contains("mule-http-connector"));
+  }
+
+  @Test
+  public void lockfileIgnoredWhenResolvedFileDoesNotMatch() throws IOException {
+    lockfile.write(singletonList(buildPluginDependency()), emptyList(), emptyMap());
+    pluginFile.delete();
+
+    assertThat(lockfile.read(false, descriptor -> libraryFile).isPresent(), is(false));
+  }
+
+  @Test
+  public void fileOutsideLocalRepositoryIsLockedWithoutItsLocation() throws IOException {
+    File reactorFile = new File(temporaryFolder.newFolder("reactor"), "library.jar");
+    Files.write(reactorFile.toPath(), "reactor".getBytes());
+    lockfile.write(singletonList(buildDependency("library", reactorFile)), emptyList(), emptyMap());
+
+    assertThat(new String(Files.readAllBytes(lockfile.getFile().toPath())), not(containsString(reactorFile.getParent())));
+    assertThat(lockfile.read(false, NOT_RESOLVABLE).isPresent(), is(false));
+    assertThat(new File(lockfile.read(false, descriptor -> reactorFile).get().get(0).getBundleUri()), is(reactorFile));
+  }
+
+  @Test
+  public void readLockedAdditionalDependencies() throws IOException {
+    List<BundleDescriptor> requested = singletonList(buildPluginDependency().getTransitiveDependencies().get(0).getDescriptor());
+    BundleDependency library = buildDependency("commons-io", libraryFile);
+    lockfile.write(emptyList(), emptyList(), singletonMap(requested, singletonList(library)));
+
+    Optional<List<BundleDependency>> dependencies = lockfile.readAdditionalDependencies(requested, NOT_RESOLVABLE);
+
+    assertThat(dependencies.isPresent(), is(true));
+    assertThat(new File(dependencies.get().get(0).getBundleUri()), is(libraryFile));
+    assertThat(lockfile.readAdditionalDependencies(singletonList(buildPluginDependency().getDescriptor()), NOT_RESOLVABLE)
+        .isPresent(), is(false));
+  }
+
+  private BundleDependency buildDependency(String artifactId, File file) {
+    return new BundleDependency.Builder()
+        .setDescriptor(new BundleDescriptor.Builder().setGroupId("org.mule.app").setArtifactId(artifactId).setVersion("1.0.0")
+            .setBaseVersion("1.0.0").setType("jar").build())
+        .setScope(COMPILE)
+        .setBundleUri(file.toURI())
+        .build();
+  }
+
+  private BundleDependency buildPluginDependency() {
+    BundleDependency library = new BundleDependency.Builder()
+        .setDescriptor(new BundleDescriptor.Builder().setGroupId("commons-io").setArtifactId("commons-io").setVersion("2.6")
+            .setBaseVersion("2.6").setType("jar").build())
+        .setScope(COMPILE)
+        .setBundleUri(libraryFile.toURI())
+        .build();
+    return new BundleDependency.Builder()
+        .setDescriptor(new BundleDescriptor.Builder().setGroupId("org.mule.connectors").setArtifactId("mule-http-connector")
+            .setVersion("1.5.0").setBaseVersion("1.5.0").setType("jar").setClassifier("mule-plugin").build())
+        .setScope(COMPILE)
+        .setBundleUri(pluginFile.toURI())
+        .addTransitiveDependency(library)
+        .build();
+  }
+
+  private MavenProject buildProject(String managedVersion, String activeProfile) {
+    Dependency managedDependency = new Dependency();
+    managedDependency.setGroupId("org.mule.connectors");
+    managedDependency.setArtifactId("mule-http-connector");
+    managedDependency.setClassifier("mule-plugin");
+    managedDependency.setVersion(managedVersion);
+    DependencyManagement dependencyManagement = new DependencyManagement();
+    dependencyManagement.addDependency(managedDependency);
+    Model model = new Model();
+    model.setGroupId("org.mule.app");
+    model.setArtifactId("app");
+    model.setVersion("1.0.0");
+    model.setDependencyManagement(dependencyManagement);
+
+    MavenProject project = new MavenProject(model);
+    project.setInjectedProfileIds("external", singletonList(activeProfile));
+    return project;
+  }
+
+  private DependencyLockfile newLockfile(String modelDigest) {
+    return new DependencyLockfile(new File(temporaryFolder.getRoot(), DependencyLockfile.LOCKFILE_NAME), localRepository,
+                                  modelDigest, mock(PackagerLog.class));
+  }
+
+  private File createFile(String relativePath) throws IOException {
+    File file = new File(localRepository, relativePath);
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), relativePath.getBytes());
+    file.setLastModified(LAST_MODIFIED);
+    return file;
+  }
+}
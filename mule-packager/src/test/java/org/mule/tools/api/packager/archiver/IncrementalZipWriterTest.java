@@ -0,0 +1,149 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.tools.api.packager.archiver;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.io.IOUtils;
+import org.codehaus.plexus.archiver.zip.ZipArchiver;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class IncrementalZipWriterTest {
+
+  // Not aligned to the two seconds precision of the times stored in zip archives
+  private static final long LAST_MODIFIED = 1500000001234L;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File sourceFolder;
+  private File previousArchive;
+  private File destinationFile;
+
+  @Before
+  public void setUp() throws IOException {
+    sourceFolder = temporaryFolder.newFolder("source");
+    previousArchive = new File(temporaryFolder.getRoot(), "previous.jar");
+    destinationFile = new File(temporaryFolder.getRoot(), "app.jar");
+
+    writeFile("repository/org/dependency/1.0/dependency-1.0.jar", "dependency");
+    writeFile("repository/org/dependency/1.0/dependency-1.0.pom", "pom");
+    writeFile("mule/flow.xml", "<flow/>");
+
+    newArchiver(previousArchive).createArchive();
+  }
+
+  @Test
+  public void unchangedEntriesAreReused() throws IOException {
+    IncrementalZipWriter writer = new IncrementalZipWriter(previousArchive);
+    writer.write(newArchiver(destinationFile));
+
+    assertThat(writer.getReusedEntries(), is(3));
+    assertThat(writer.getCompressedEntries(), is(0));
+    assertThat(readEntry("repository/org/dependency/1.0/dependency-1.0.jar"), is("dependency"));
+    assertThat(readEntry("mule/flow.xml"), is("<flow/>"));
+  }
+
+  @Test
+  public void changedEntriesAreCompressedAgain() throws IOException {
+    writeFile("mule/flow.xml", "<flow name=\"changed\"/>");
+
+    IncrementalZipWriter writer = new IncrementalZipWriter(previousArchive);
+    writer.write(newArchiver(destinationFile));
+
+    assertThat(writer.getReusedEntries(), is(2));
+    assertThat(writer.getCompressedEntries(), is(1));
+    assertThat(readEntry("mule/flow.xml"), is("<flow name=\"changed\"/>"));
+  }
+
+  @Test
+  public void entriesWithSameMetadataAndDifferentContentAreCompressedAgain() throws IOException {
+    writeFile("mule/flow.xml", "<wolf/>");
+
+    IncrementalZipWriter writer = new IncrementalZipWriter(previousArchive);
+    writer.write(newArchiver(destinationFile));
+
+    assertThat(writer.getCompressedEntries(), is(1));
+    assertThat(readEntry("mule/flow.xml"), is("<wolf/>"));
+  }
+
+  @Test
+  public void previousArchiveCanBeTheDestination() throws IOException {
+    writeFile("mule/flow.xml", "<flow name=\"changed\"/>");
+
+    IncrementalZipWriter writer = new IncrementalZipWriter(previousArchive);
+    writer.write(newArchiver(previousArchive));
+
+    destinationFile = previousArchive;
+    assertThat(readEntry("mule/flow.xml"), is("<flow name=\"changed\"/>"));
+    assertThat(readEntry("repository/org/dependency/1.0/dependency-1.0.pom"), is("pom"));
+    assertThat(temporaryFolder.getRoot().list().length, is(2));
+  }
+
+  @Test
+  public void entriesWithUnalignedLastModifiedTimeAreReused() throws IOException {
+    IncrementalZipWriter writer = new IncrementalZipWriter(previousArchive);
+    writer.write(newArchiver(destinationFile));
+
+    assertThat(writer.getReusedEntries(), is(3));
+    try (ZipFile zipFile = new ZipFile(destinationFile)) {
+      assertThat(Math.abs(zipFile.getEntry("mule/flow.xml").getTime() - LAST_MODIFIED) < 2000, is(true));
+    }
+  }
+
+  @Test
+  public void entriesAreStoredWhenTheArchiverDoesNotCompress() throws IOException {
+    ZipArchiver archiver = newArchiver(destinationFile);
+    archiver.setCompress(false);
+
+    IncrementalZipWriter writer = new IncrementalZipWriter(previousArchive);
+    writer.write(archiver);
+
+    assertThat(writer.getCompressedEntries(), is(3));
+    try (ZipFile zipFile = new ZipFile(destinationFile)) {
+      assertThat(zipFile.getEntry("mule/flow.xml").getMethod(), is(ZipEntry.STORED));
+    }
+    assertThat(readEntry("mule/flow.xml"), is("<flow/>"));
+  }
+
+  private ZipArchiver newArchiver(File destination) {
+    ZipArchiver archiver = new ZipArchiver();
+    archiver.addDirectory(sourceFolder);
+    archiver.setDestFile(destination);
+    return archiver;
+  }
+
+  private void writeFile(String path, String content) throws IOException {
+    File file = new File(sourceFolder, path);
+    file.getParentFile().mkdirs();
+    Files.write(file.toPath(), content.getBytes(UTF_8));
+    file.setLastModified(LAST_MODIFIED);
+  }
+
+  private String readEntry(String name) throws IOException {
+    try (ZipFile zipFile = new ZipFile(destinationFile);
+        InputStream content = zipFile.getInputStream(zipFile.getEntry(name))) {
+      return IOUtils.toString(content, UTF_8);
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.tools.api.packager.archiver;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PackageManifestTest {
+
+  private static final String REPOSITORY = "repository/";
+  private static final String MULE_SRC = "META-INF/mule-src/app/";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File manifestFile;
+  private File pom;
+  private File jar;
+  private File flow;
+
+  @Before
+  public void setUp() throws IOException {
+    manifestFile = new File(temporaryFolder.getRoot(), "target/" + PackageManifest.PACKAGE_MANIFEST_FILE_NAME);
+    pom = temporaryFolder.newFile("dependency-1.0.pom");
+    jar = temporaryFolder.newFile("dependency-1.0.jar");
+    flow = temporaryFolder.newFile("flow.xml");
+  }
+
+  @Test
+  public void entriesAreReloadedFromTheManifestFile() throws IOException {
+    PackageManifest packageManifest = new PackageManifest(manifestFile);
+    packageManifest.addEntry(REPOSITORY + "org/dependency/1.0/dependency-1.0.pom", pom);
+    packageManifest.addEntry(REPOSITORY + "org/dependency/1.0/dependency-1.0.jar", jar);
+    packageManifest.save();
+
+    Map<String, File> entries = new PackageManifest(manifestFile).getEntries(REPOSITORY);
+
+    assertThat(entries.keySet(), contains(REPOSITORY + "org/dependency/1.0/dependency-1.0.pom",
+                                          REPOSITORY + "org/dependency/1.0/dependency-1.0.jar"));
+    assertThat(entries.get(REPOSITORY + "org/dependency/1.0/dependency-1.0.jar"), is(jar.getAbsoluteFile()));
+  }
+
+  @Test
+  public void entriesAreFilteredByLocation() throws IOException {
+    PackageManifest packageManifest = new PackageManifest(manifestFile);
+    packageManifest.addEntry(REPOSITORY + "org/dependency/1.0/dependency-1.0.jar", jar);
+    packageManifest.addEntry(MULE_SRC + "flow.xml", flow);
+
+    assertThat(packageManifest.getEntries(MULE_SRC).keySet(), contains(MULE_SRC + "flow.xml"));
+    assertThat(packageManifest.getEntries(REPOSITORY).keySet(), contains(REPOSITORY + "org/dependency/1.0/dependency-1.0.jar"));
+  }
+
+  @Test
+  public void removeEntriesOnlyAffectsTheLocation() throws IOException {
+    PackageManifest packageManifest = new PackageManifest(manifestFile);
+    packageManifest.addEntry(REPOSITORY + "org/dependency/1.0/dependency-1.0.jar", jar);
+    packageManifest.addEntry(MULE_SRC + "flow.xml", flow);
+
+    packageManifest.removeEntries(REPOSITORY);
+
+    assertThat(packageManifest.getEntries(REPOSITORY).isEmpty(), is(true));
+    assertThat(packageManifest.getEntries(MULE_SRC).keySet(), contains(MULE_SRC + "flow.xml"));
+  }
+
+  @Test
+  public void archivePathsAreNormalized() throws IOException {
+    PackageManifest packageManifest = new PackageManifest(manifestFile);
+    packageManifest.addEntry("repository\\org\\dependency\\1.0\\dependency-1.0.jar", jar);
+
+    assertThat(packageManifest.getEntries("repository\\").keySet(),
+               contains(REPOSITORY + "org/dependency/1.0/dependency-1.0.jar"));
+  }
+
+  @Test(expected = IOException.class)
+  public void corruptManifestFails() throws IOException {
+    manifestFile.getParentFile().mkdirs();
+    Files.write(manifestFile.toPath(), "[not a manifest".getBytes());
+
+    new PackageManifest(manifestFile);
+  }
+}
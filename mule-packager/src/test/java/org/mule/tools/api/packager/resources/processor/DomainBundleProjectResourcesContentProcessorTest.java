@@ -15,18 +15,41 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.mule.tools.api.classloader.model.Artifact;
+import org.mule.tools.api.classloader.model.ArtifactCoordinates;
+import org.mule.tools.api.classloader.model.ClassLoaderModel;
 import org.mule.tools.api.packager.resources.content.ResourcesContent;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
 
+import static java.io.File.separatorChar;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.mule.tools.api.classloader.ClassLoaderModelJsonSerializer.deserialize;
+import static org.mule.tools.api.classloader.ClassLoaderModelJsonSerializer.serialize;
+import static org.mule.tools.api.packager.structure.FolderNames.BUNDLE_REPOSITORY;
 
 public class DomainBundleProjectResourcesContentProcessorTest {
 
+  private static final String CLASSLOADER_MODEL_ENTRY = "META-INF/mule-artifact/classloader-model.json";
+  private static final String REPOSITORY_ENTRY = "repository/";
+
   @Rule
   public TemporaryFolder targetFolder = new TemporaryFolder();
   private File domainFolder;
@@ -61,4 +84,115 @@ public class DomainBundleProjectResourcesContentProcessorTest {
     verify(contentProcessorSpy, times(3)).copyAsDomainOrApplication(any());
   }
 
+  @Test
+  public void applicationsAreEmbeddedWithEveryDependencyOfTheirClassloaderModel() throws IOException {
+    ArtifactCoordinates sharedDependency = new ArtifactCoordinates("org.mule.shared", "shared", "1.0.0");
+    File sourceFolder = targetFolder.newFolder("source");
+    Artifact domain = createArtifact(sourceFolder, "mule-domain-a", "mule-domain", sharedDependency);
+    Artifact firstApplication = createArtifact(sourceFolder, "mule-app-a", "mule-application", sharedDependency);
+    Artifact secondApplication = createArtifact(sourceFolder, "mule-app-b", "mule-application", sharedDependency);
+
+    ResourcesContent resourcesMock = mock(ResourcesContent.class);
+    when(resourcesMock.getResources()).thenReturn(asList(domain, firstApplication, secondApplication));
+
+    contentProcessor.process(resourcesMock);
+
+    assertThat(domainFolder.list(), arrayContainingInAnyOrder("mule-domain-a-1.0.0-mule-domain.jar"));
+    assertThat(applicationsFolder.list(), arrayContainingInAnyOrder("mule-app-a-1.0.0-mule-application.jar",
+                                                                    "mule-app-b-1.0.0-mule-application.jar"));
+    for (Artifact application : asList(firstApplication, secondApplication)) {
+      File source = new File(application.getUri());
+      File embedded = new File(applicationsFolder, source.getName());
+      assertThat(Files.readAllBytes(embedded.toPath()), is(Files.readAllBytes(source.toPath())));
+      assertDependenciesAreResolvable(embedded);
+    }
+  }
+
+  @Test
+  public void applicationsAreEmbeddedWithTheirDependenciesInTheBundleRepositoryWhenMergingRepositories() throws IOException {
+    ArtifactCoordinates sharedDependency = new ArtifactCoordinates("org.mule.shared", "shared", "1.0.0");
+    File sourceFolder = targetFolder.newFolder("source");
+    Artifact firstApplication = createArtifact(sourceFolder, "mule-app-a", "mule-application", sharedDependency);
+    Artifact secondApplication = createArtifact(sourceFolder, "mule-app-b", "mule-application", sharedDependency);
+
+    ResourcesContent resourcesMock = mock(ResourcesContent.class);
+    when(resourcesMock.getResources()).thenReturn(asList(firstApplication, secondApplication));
+
+    new DomainBundleProjectResourcesContentProcessor(targetFolder.getRoot().toPath(), true).process(resourcesMock);
+
+    File bundleRepository = new File(targetFolder.getRoot(), BUNDLE_REPOSITORY.value());
+    for (Artifact application : asList(firstApplication, secondApplication)) {
+      File embedded = new File(applicationsFolder, new File(application.getUri()).getName());
+      try (ZipFile zipFile = new ZipFile(embedded)) {
+        assertThat(zipFile.getEntry(REPOSITORY_ENTRY), nullValue());
+      }
+      for (Artifact dependency : readDependencies(embedded)) {
+        File file = new File(Artifact.getFormattedMavenDirectory(bundleRepository, dependency.getArtifactCoordinates()),
+                             dependency.getFormattedArtifactFileName());
+        assertThat("Missing " + file + " in the bundle repository", file.isFile(), is(true));
+      }
+    }
+  }
+
+  @Test
+  public void staleBundleRepositoryIsDeleted() throws IOException {
+    File staleFile = new File(targetFolder.newFolder(BUNDLE_REPOSITORY.value(), "org"), "stale-1.0.0.jar");
+    assertThat(staleFile.createNewFile(), is(true));
+
+    ResourcesContent resourcesMock = mock(ResourcesContent.class);
+    when(resourcesMock.getResources()).thenReturn(new ArrayList<>());
+
+    contentProcessor.process(resourcesMock);
+
+    assertThat(new File(targetFolder.getRoot(), BUNDLE_REPOSITORY.value()).exists(), is(false));
+  }
+
+  /**
+   * Reads the classloader model of an application package the way the runtime does when deploying it, and checks that each of
+   * its dependencies is in the repository of the package.
+   */
+  private void assertDependenciesAreResolvable(File applicationPackage) throws IOException {
+    List<Artifact> dependencies = readDependencies(applicationPackage);
+    try (ZipFile zipFile = new ZipFile(applicationPackage)) {
+      for (Artifact dependency : dependencies) {
+        String path =
+            new File(Artifact.getFormattedMavenDirectory(new File(REPOSITORY_ENTRY), dependency.getArtifactCoordinates()),
+                     dependency.getFormattedArtifactFileName()).getPath().replace(separatorChar, '/');
+        assertThat("Missing " + path + " in " + applicationPackage.getName(), zipFile.getEntry(path), notNullValue());
+      }
+    }
+  }
+
+  private List<Artifact> readDependencies(File applicationPackage) throws IOException {
+    File model = targetFolder.newFile();
+    try (ZipFile zipFile = new ZipFile(applicationPackage)) {
+      ZipEntry modelEntry = zipFile.getEntry(CLASSLOADER_MODEL_ENTRY);
+      assertThat(modelEntry, notNullValue());
+      try (InputStream in = zipFile.getInputStream(modelEntry)) {
+        Files.copy(in, model.toPath(), REPLACE_EXISTING);
+      }
+    }
+    List<Artifact> dependencies = deserialize(model).getDependencies();
+    assertThat(dependencies.isEmpty(), is(false));
+    return dependencies;
+  }
+
+  private Artifact createArtifact(File folder, String artifactId, String classifier, ArtifactCoordinates dependencyCoordinates)
+      throws IOException {
+    ArtifactCoordinates coordinates = new ArtifactCoordinates("org.mule.test", artifactId, "1.0.0", "jar", classifier);
+    Artifact dependency = new Artifact(dependencyCoordinates, new File(folder, "shared-1.0.0.jar").toURI());
+    ClassLoaderModel classLoaderModel = new ClassLoaderModel("1.0", coordinates);
+    classLoaderModel.setDependencies(asList(dependency));
+
+    File file = new File(folder, artifactId + "-1.0.0-" + classifier + ".jar");
+    try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+      out.putNextEntry(new ZipEntry(CLASSLOADER_MODEL_ENTRY));
+      out.write(serialize(classLoaderModel, false).getBytes(UTF_8));
+      out.putNextEntry(new ZipEntry(new File(Artifact.getFormattedMavenDirectory(new File(REPOSITORY_ENTRY),
+                                                                                 dependencyCoordinates),
+                                             dependency.getFormattedArtifactFileName()).getPath().replace(separatorChar, '/')));
+      out.write("shared".getBytes(UTF_8));
+    }
+    return new Artifact(coordinates, file.toURI());
+  }
 }
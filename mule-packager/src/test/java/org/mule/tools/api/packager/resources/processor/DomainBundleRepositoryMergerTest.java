@@ -0,0 +1,144 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.packager.resources.processor;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import com.google.common.io.ByteStreams;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+public class DomainBundleRepositoryMergerTest {
+
+  private static final String SHARED_JAR = "repository/org/mule/shared/shared/1.0.0/shared-1.0.0.jar";
+  private static final String SHARED_POM = "repository/org/mule/shared/shared/1.0.0/shared-1.0.0.pom";
+  private static final String PLUGIN_JAR = "repository/org/mule/connectors/connector/1.0.0/connector-1.0.0-mule-plugin.jar";
+  private static final String PLUGIN_MODEL = "repository/org/mule/connectors/connector/1.0.0/classloader-model.json";
+  private static final String APPLICATION_MODEL = "META-INF/mule-artifact/classloader-model.json";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  private File applicationsFolder;
+  private File repositoryFolder;
+  private DomainBundleRepositoryMerger merger;
+
+  @Before
+  public void setUp() throws IOException {
+    applicationsFolder = temporaryFolder.newFolder("applications");
+    repositoryFolder = new File(temporaryFolder.getRoot(), "bundle-repository");
+    merger = new DomainBundleRepositoryMerger(applicationsFolder.toPath(), repositoryFolder.toPath());
+  }
+
+  @Test
+  public void repositoryFilesAreStoredOnceInTheBundleRepository() throws IOException {
+    File firstApplication = createApplication("app-a", entries(SHARED_JAR, "shared", SHARED_POM, "pom", PLUGIN_JAR, "plugin"));
+    File secondApplication = createApplication("app-b", entries(SHARED_JAR, "shared", SHARED_POM, "pom"));
+
+    merger.merge();
+
+    assertThat(read(new File(repositoryFolder, "org/mule/shared/shared/1.0.0/shared-1.0.0.jar")), is("shared"));
+    assertThat(read(new File(repositoryFolder, "org/mule/shared/shared/1.0.0/shared-1.0.0.pom")), is("pom"));
+    assertThat(read(new File(repositoryFolder, "org/mule/connectors/connector/1.0.0/connector-1.0.0-mule-plugin.jar")),
+               is("plugin"));
+    assertThat(merger.getStoredFiles(), is(3));
+    assertThat(merger.getSavedBytes(), is((long) ("shared" + "pom").length()));
+    for (File application : new File[] {firstApplication, secondApplication}) {
+      try (ZipFile zipFile = new ZipFile(application)) {
+        assertThat(zipFile.stream().anyMatch(entry -> entry.getName().startsWith("repository/")), is(false));
+        assertThat(read(zipFile, APPLICATION_MODEL), is("model of " + application.getName()));
+      }
+    }
+  }
+
+  @Test
+  public void pluginClassLoaderModelsStayInEachApplication() throws IOException {
+    File firstApplication = createApplication("app-a", entries(PLUGIN_JAR, "plugin", PLUGIN_MODEL, "first plugin model"));
+    File secondApplication = createApplication("app-b", entries(PLUGIN_JAR, "plugin", PLUGIN_MODEL, "second plugin model"));
+
+    merger.merge();
+
+    String relocatedModel = "META-INF/mule-artifact/org/mule/connectors/connector/1.0.0/classloader-model.json";
+    try (ZipFile zipFile = new ZipFile(firstApplication)) {
+      assertThat(read(zipFile, relocatedModel), is("first plugin model"));
+      assertThat(zipFile.getEntry(PLUGIN_MODEL), nullValue());
+    }
+    try (ZipFile zipFile = new ZipFile(secondApplication)) {
+      assertThat(read(zipFile, relocatedModel), is("second plugin model"));
+    }
+    assertThat(new File(repositoryFolder, "org/mule/connectors/connector/1.0.0/classloader-model.json").exists(), is(false));
+  }
+
+  @Test
+  public void repositoryFileWithDifferentContentFails() throws IOException {
+    createApplication("app-a", entries(SHARED_JAR, "shared"));
+    createApplication("app-b", entries(SHARED_JAR, "modified"));
+
+    expectedException.expect(IOException.class);
+    expectedException.expectMessage("app-b.jar");
+    merger.merge();
+  }
+
+  private static Map<String, String> entries(String... namesAndContents) {
+    Map<String, String> entries = new LinkedHashMap<>();
+    for (int i = 0; i < namesAndContents.length; i += 2) {
+      entries.put(namesAndContents[i], namesAndContents[i + 1]);
+    }
+    return entries;
+  }
+
+  private File createApplication(String name, Map<String, String> repositoryEntries) throws IOException {
+    File application = new File(applicationsFolder, name + ".jar");
+    Map<String, String> entries = new LinkedHashMap<>(Collections.singletonMap(APPLICATION_MODEL, "model of " + name + ".jar"));
+    entries.putAll(repositoryEntries);
+    try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(application))) {
+      out.putNextEntry(new ZipEntry("repository/"));
+      for (Map.Entry<String, String> entry : entries.entrySet()) {
+        out.putNextEntry(new ZipEntry(entry.getKey()));
+        out.write(entry.getValue().getBytes(UTF_8));
+      }
+    }
+    return application;
+  }
+
+  private static String read(File file) throws IOException {
+    return new String(Files.readAllBytes(file.toPath()), UTF_8);
+  }
+
+  private static String read(ZipFile zipFile, String name) throws IOException {
+    ZipEntry entry = zipFile.getEntry(name);
+    assertThat("Missing " + name, entry, notNullValue());
+    try (InputStream content = zipFile.getInputStream(entry)) {
+      return new String(ByteStreams.toByteArray(content), UTF_8);
+    }
+  }
+}
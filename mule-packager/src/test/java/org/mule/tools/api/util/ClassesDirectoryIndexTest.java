@@ -0,0 +1,69 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.core.Is.is;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassesDirectoryIndexTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File classesDirectory;
+
+  @Before
+  public void setUp() throws IOException {
+    classesDirectory = temporaryFolder.newFolder("classes");
+    createFile("org/mule/Flow.class");
+    createFile("org/mule/schema.xsd");
+    createFile("Default.class");
+    createFile("log4j2.xml");
+  }
+
+  @Test
+  public void indexFiles() throws IOException {
+    assertThat(ClassesDirectoryIndex.of(classesDirectory.toPath()).getFiles(),
+               containsInAnyOrder("org/mule/Flow.class", "org/mule/schema.xsd", "Default.class", "log4j2.xml"));
+  }
+
+  @Test
+  public void jarInfo() throws IOException {
+    JarInfo jarInfo = ClassesDirectoryIndex.of(classesDirectory.toPath()).getJarInfo();
+
+    assertThat(jarInfo.getPackages(), containsInAnyOrder("org.mule"));
+    assertThat(jarInfo.getResources(), containsInAnyOrder("org/mule/schema.xsd", "Default.class", "log4j2.xml"));
+  }
+
+  @Test
+  public void indexIsASnapshotOfTheDirectory() throws IOException {
+    ClassesDirectoryIndex index = ClassesDirectoryIndex.of(classesDirectory.toPath());
+
+    createFile("org/mule/Other.class");
+
+    assertThat(index.getFiles().contains("org/mule/Other.class"), is(false));
+    assertThat(ClassesDirectoryIndex.of(classesDirectory.toPath()).getFiles().contains("org/mule/Other.class"), is(true));
+  }
+
+  private void createFile(String relativePath) throws IOException {
+    File file = new File(classesDirectory, relativePath);
+    file.getParentFile().mkdirs();
+    file.createNewFile();
+  }
+}
@@ -15,12 +15,15 @@ import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.mock;
+import org.mule.tools.api.packager.archiver.PackageManifest;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -196,4 +199,118 @@ public class CopyFileVisitorTest {
     }
   }
 
+  @Test
+  public void incrementalCopyPreservesLastModifiedTime() throws IOException {
+    FileTime lastModifiedTime = FileTime.fromMillis(1000000000000L);
+    Files.setLastModifiedTime(normalFile.toPath(), lastModifiedTime);
+
+    copy(true, false, false);
+
+    assertThat(Files.getLastModifiedTime(new File(targetFolder, NORMAL_FILE).toPath()), is(lastModifiedTime));
+  }
+
+  @Test
+  public void incrementalCopySkipsUnchangedFiles() throws IOException {
+    Files.write(normalFile.toPath(), "content".getBytes());
+    copy(true, false, false);
+    Path targetFile = new File(targetFolder, NORMAL_FILE).toPath();
+    Files.write(targetFile, "touched".getBytes());
+    Files.setLastModifiedTime(targetFile, Files.getLastModifiedTime(normalFile.toPath()));
+
+    copy(true, false, false);
+
+    assertThat(new String(Files.readAllBytes(targetFile)), is("touched"));
+  }
+
+  @Test
+  public void incrementalCopyUpdatesModifiedFiles() throws IOException {
+    copy(true, false, false);
+    Files.write(normalFile.toPath(), "new content".getBytes());
+
+    copy(true, false, false);
+
+    assertThat(new String(Files.readAllBytes(new File(targetFolder, NORMAL_FILE).toPath())), is("new content"));
+  }
+
+  @Test
+  public void incrementalCopyComparingContentKeepsFilesWithSameContent() throws IOException {
+    Files.write(normalFile.toPath(), "content".getBytes());
+    copy(true, true, false);
+    Path targetFile = new File(targetFolder, NORMAL_FILE).toPath();
+    FileTime targetLastModifiedTime = FileTime.fromMillis(1000000000000L);
+    Files.setLastModifiedTime(targetFile, targetLastModifiedTime);
+    // A copy replaces the target file, which would no longer be linked to this one
+    Files.createLink(temporaryFolder.getRoot().toPath().resolve("link"), targetFile);
+
+    copy(true, true, false);
+
+    assertThat(Files.getAttribute(targetFile, "unix:nlink"), is(2));
+    assertThat(Files.getLastModifiedTime(targetFile), is(Files.getLastModifiedTime(normalFile.toPath())));
+  }
+
+  @Test
+  public void incrementalCopyComparingContentUpdatesFilesWithDifferentContent() throws IOException {
+    Files.write(normalFile.toPath(), "content".getBytes());
+    copy(true, true, false);
+    Path targetFile = new File(targetFolder, NORMAL_FILE).toPath();
+    Files.write(targetFile, "touched".getBytes());
+    Files.setLastModifiedTime(targetFile, FileTime.fromMillis(1000000000000L));
+
+    copy(true, true, false);
+
+    assertThat(new String(Files.readAllBytes(targetFile)), is("content"));
+  }
+
+  @Test
+  public void orphanFilesAreDeleted() throws IOException {
+    File orphanFile = new File(targetFolder, "orphan.xml");
+    orphanFile.createNewFile();
+    File orphanFolder = new File(targetFolder, "orphan-folder");
+    orphanFolder.mkdir();
+    new File(orphanFolder, "orphan.dwl").createNewFile();
+
+    copy(true, false, true);
+
+    assertThat(orphanFile.exists(), is(false));
+    assertThat(orphanFolder.exists(), is(false));
+    assertThat(new File(targetFolder, NORMAL_FILE).exists(), is(true));
+    assertThat(new File(targetFolder, HIDDEN_FOLDER).exists(), is(true));
+  }
+
+  @Test
+  public void orphanFilesAreKeptByDefault() throws IOException {
+    File orphanFile = new File(targetFolder, "orphan.xml");
+    orphanFile.createNewFile();
+
+    copy(true, false, false);
+
+    assertThat(orphanFile.exists(), is(true));
+  }
+
+  @Test
+  public void filesAreRecordedInPackageManifestInsteadOfCopied() throws IOException {
+    File subFolder = new File(fromFolder, "mule");
+    subFolder.mkdir();
+    File flow = new File(subFolder, "flow.xml");
+    flow.createNewFile();
+    PackageManifest packageManifest = new PackageManifest(new File(temporaryFolder.getRoot(), "manifest.json"));
+
+    CopyFileVisitor visitor = new CopyFileVisitor(fromFolder, targetFolder);
+    visitor.setPackageManifest(packageManifest, "META-INF/mule-src/app/");
+    Files.walkFileTree(fromFolder.toPath(), visitor);
+
+    assertThat(targetFolder.list().length, is(0));
+    assertThat(packageManifest.getEntries("META-INF/mule-src/app/").get("META-INF/mule-src/app/mule/flow.xml"),
+               is(flow.getAbsoluteFile()));
+    assertThat(packageManifest.getEntries("META-INF/mule-src/app/").get("META-INF/mule-src/app/" + NORMAL_FILE),
+               is(normalFile.getAbsoluteFile()));
+  }
+
+  private void copy(boolean incremental, boolean compareContent, boolean deleteOrphans) throws IOException {
+    CopyFileVisitor visitor = new CopyFileVisitor(fromFolder, targetFolder);
+    visitor.setIncremental(incremental);
+    visitor.setCompareContent(compareContent);
+    visitor.setDeleteOrphans(deleteOrphans);
+    Files.walkFileTree(fromFolder.toPath(), visitor);
+  }
 }
@@ -0,0 +1,100 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mule.tools.api.util.MulePluginDescriptorCache.MULE_PLUGIN_DESCRIPTOR_LOCATION;
+import org.mule.tools.api.util.MulePluginDescriptorCache.MulePluginDescriptor;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MulePluginDescriptorCacheTest {
+
+  private static final String EE_DESCRIPTOR =
+      "{\"name\": \"ee-plugin\", \"minMuleVersion\": \"4.1.1\", \"requiredProduct\": \"MULE_EE\"}";
+  private static final String CE_DESCRIPTOR =
+      "{\"name\": \"ce-plugin\", \"minMuleVersion\": \"4.1.1\", \"requiredProduct\": \"MULE\"}";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private MulePluginDescriptorCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new MulePluginDescriptorCache();
+  }
+
+  @Test
+  public void readDescriptor() throws IOException {
+    Optional<MulePluginDescriptor> descriptor = cache.getDescriptor(createPlugin("plugin.jar", EE_DESCRIPTOR));
+
+    assertThat(descriptor.isPresent(), is(true));
+    assertThat(descriptor.get().getName(), is("ee-plugin"));
+    assertThat(descriptor.get().getMinMuleVersion(), is("4.1.1"));
+    assertThat(descriptor.get().requiresEE(), is(true));
+  }
+
+  @Test
+  public void pluginWithoutDescriptor() throws IOException {
+    assertThat(cache.getDescriptor(createPlugin("plugin.jar", null)).isPresent(), is(false));
+  }
+
+  @Test
+  public void unchangedPluginIsReadOnce() throws IOException {
+    File plugin = createPlugin("plugin.jar", EE_DESCRIPTOR);
+    MulePluginDescriptor descriptor = cache.getDescriptor(plugin).get();
+
+    assertThat(cache.getDescriptor(plugin).get() == descriptor, is(true));
+  }
+
+  @Test
+  public void modifiedPluginIsReadAgain() throws IOException {
+    File plugin = createPlugin("plugin.jar", EE_DESCRIPTOR);
+    long lastModified = plugin.lastModified();
+    assertThat(cache.getDescriptor(plugin).get().requiresEE(), is(true));
+
+    createPlugin("plugin.jar", CE_DESCRIPTOR);
+    plugin.setLastModified(lastModified + 1000);
+
+    assertThat(cache.getDescriptor(plugin).get().requiresEE(), is(false));
+  }
+
+  @Test(expected = IOException.class)
+  public void missingPlugin() throws IOException {
+    cache.getDescriptor(new File(temporaryFolder.getRoot(), "missing.jar"));
+  }
+
+  private File createPlugin(String name, String descriptor) throws IOException {
+    File plugin = new File(temporaryFolder.getRoot(), name);
+    try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(plugin))) {
+      zip.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+      zip.closeEntry();
+      if (descriptor != null) {
+        zip.putNextEntry(new ZipEntry(MULE_PLUGIN_DESCRIPTOR_LOCATION));
+        zip.write(descriptor.getBytes(UTF_8));
+        zip.closeEntry();
+      }
+    }
+    return plugin;
+  }
+}
@@ -74,6 +74,39 @@ public class MuleExclusionMatcherTest {
     assertThat("This file should not be matched", matcher.matches(shouldNotMatchConfigFile.toPath()), equalTo(false));
   }
 
+  @Test
+  public void defaultExclusionsTest() {
+    matcher = new MuleExclusionMatcher();
+
+    assertThat(matcher.matches(projectBaseFolder.resolve(".classpath")), equalTo(true));
+    assertThat(matcher.matches(projectBaseFolder.resolve(".project")), equalTo(true));
+    assertThat(matcher.matches(projectBaseFolder.resolve("pom.xml")), equalTo(false));
+    assertThat(matcher.matches(null), equalTo(true));
+  }
+
+  @Test
+  public void fileNameExclusionTest() throws IOException {
+    writeLinesToMuleExcludeFile("node_modules");
+    buildMuleExclusionMatcher();
+
+    assertThat(matcher.matches(projectBaseFolder.resolve("web").resolve("node_modules")), equalTo(true));
+    assertThat(matcher.matchesDirectory(projectBaseFolder.resolve("web").resolve("node_modules")), equalTo(true));
+    assertThat(matcher.matches(projectBaseFolder.resolve("web").resolve("node_modules.txt")), equalTo(false));
+  }
+
+  @Test
+  public void excludedDirectoryContentTest() throws IOException {
+    writeLinesToMuleExcludeFile("**/web/node_modules/**");
+    buildMuleExclusionMatcher();
+    Path excludedDirectory = projectBaseFolder.resolve("web").resolve("node_modules");
+
+    assertThat("Directory content should be matched", matcher.matches(excludedDirectory.resolve("index.js")), equalTo(true));
+    assertThat("Directory itself should not be matched", matcher.matches(excludedDirectory), equalTo(false));
+    assertThat("Whole directory should be excluded", matcher.matchesDirectory(excludedDirectory), equalTo(true));
+    assertThat("Sibling directory should not be excluded", matcher.matchesDirectory(projectBaseFolder.resolve("web")),
+               equalTo(false));
+  }
+
   private void writeLinesToMuleExcludeFile(String... lines) throws IOException {
     writeLines(muleExcludeFile, Arrays.asList(lines));
   }
@@ -0,0 +1,76 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.util.fingerprint;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FingerprintStoreTest {
+
+  private static final String ID = "process-classes";
+
+  @Rule
+  public TemporaryFolder buildDirectory = new TemporaryFolder();
+
+  private FingerprintStore store;
+  private Path output;
+
+  @Before
+  public void setUp() throws IOException {
+    store = new FingerprintStore(buildDirectory.getRoot().toPath());
+    output = buildDirectory.newFile("mule-artifact.json").toPath();
+  }
+
+  @Test
+  public void notUpToDateWithoutStoredFingerprint() {
+    assertThat(store.isUpToDate(fingerprint("a"), singletonList(output)), is(false));
+  }
+
+  @Test
+  public void upToDateWithSameFingerprint() throws IOException {
+    store.save(fingerprint("a"));
+    assertThat(store.isUpToDate(fingerprint("a"), singletonList(output)), is(true));
+  }
+
+  @Test
+  public void notUpToDateWithDifferentFingerprint() throws IOException {
+    store.save(fingerprint("a"));
+    assertThat(store.isUpToDate(fingerprint("b"), singletonList(output)), is(false));
+  }
+
+  @Test
+  public void notUpToDateWhenAnOutputIsMissing() throws IOException {
+    store.save(fingerprint("a"));
+    output.toFile().delete();
+    assertThat(store.isUpToDate(fingerprint("a"), singletonList(output)), is(false));
+  }
+
+  @Test
+  public void notUpToDateAfterInvalidation() throws IOException {
+    store.save(fingerprint("a"));
+    store.invalidate(ID);
+    assertThat(store.isUpToDate(fingerprint("a"), singletonList(output)), is(false));
+    assertThat(new File(buildDirectory.getRoot(), FingerprintStore.FINGERPRINTS_FOLDER).list().length, is(0));
+  }
+
+  private InputFingerprint fingerprint(String value) {
+    return new InputFingerprint(ID).withValue("value", value);
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Mule ESB Maven Tools
+ * <p>
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * <p>
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.util.fingerprint;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+public class InputFingerprintTest {
+
+  private static final String ID = "generate-sources";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  private File sourceFolder;
+  private File excludedFolder;
+
+  @Before
+  public void setUp() throws IOException {
+    sourceFolder = temporaryFolder.newFolder("src");
+    excludedFolder = new File(sourceFolder, "target");
+    excludedFolder.mkdir();
+    Files.write(new File(sourceFolder, "flow.xml").toPath(), "<mule/>".getBytes());
+  }
+
+  @Test
+  public void sameInputsSameValue() throws IOException {
+    assertThat(fingerprintOf(sourceFolder, true).getValue(), equalTo(fingerprintOf(sourceFolder, true).getValue()));
+  }
+
+  @Test
+  public void differentParameterDifferentValue() throws IOException {
+    assertThat(fingerprintOf(sourceFolder, true).getValue(), not(equalTo(fingerprintOf(sourceFolder, false).getValue())));
+  }
+
+  @Test
+  public void modifiedFileDifferentValue() throws IOException {
+    String before = fingerprintOf(sourceFolder, true).getValue();
+    Files.write(new File(sourceFolder, "flow.xml").toPath(), "<mule></mule>".getBytes());
+    assertThat(fingerprintOf(sourceFolder, true).getValue(), not(equalTo(before)));
+  }
+
+  @Test
+  public void addedFileDifferentValue() throws IOException {
+    String before = fingerprintOf(sourceFolder, true).getValue();
+    new File(sourceFolder, "other-flow.xml").createNewFile();
+    assertThat(fingerprintOf(sourceFolder, true).getValue(), not(equalTo(before)));
+  }
+
+  @Test
+  public void changesInExcludedFolderAreIgnored() throws IOException {
+    String before = fingerprintOf(sourceFolder, true).getValue();
+    new File(excludedFolder, "generated.xml").createNewFile();
+    assertThat(fingerprintOf(sourceFolder, true).getValue(), equalTo(before));
+  }
+
+  @Test
+  public void changesInHiddenFilesAndFoldersAreIgnored() throws IOException {
+    String before = hiddenIgnoringFingerprintOf(sourceFolder).getValue();
+    File gitFolder = new File(sourceFolder, ".git");
+    gitFolder.mkdir();
+    new File(gitFolder, "index").createNewFile();
+    new File(sourceFolder, ".hidden-flow.xml").createNewFile();
+    assertThat(hiddenIgnoringFingerprintOf(sourceFolder).getValue(), equalTo(before));
+  }
+
+  @Test
+  public void modelDependenciesArePartOfTheValue() {
+    Model model = new Model();
+    String before = new InputFingerprint(ID).withModel(model).getValue();
+    Dependency dependency = new Dependency();
+    dependency.setGroupId("org.mule.connectors");
+    dependency.setArtifactId("mule-http-connector");
+    dependency.setVersion("1.5.0");
+    model.addDependency(dependency);
+    assertThat(new InputFingerprint(ID).withModel(model).getValue(), not(equalTo(before)));
+  }
+
+  @Test
+  public void missingFileIsPartOfTheValue() throws IOException {
+    File file = new File(sourceFolder, "mule-artifact.json");
+    String before = new InputFingerprint(ID).withFile(file.toPath()).getValue();
+    file.createNewFile();
+    assertThat(new InputFingerprint(ID).withFile(file.toPath()).getValue(), not(equalTo(before)));
+  }
+
+  @Test
+  public void inputsCannotBeAddedAfterComputingTheValue() {
+    InputFingerprint fingerprint = new InputFingerprint(ID);
+    fingerprint.getValue();
+    expectedException.expect(IllegalArgumentException.class);
+    fingerprint.withValue("testJar", true);
+  }
+
+  private InputFingerprint hiddenIgnoringFingerprintOf(File folder) throws IOException {
+    return new InputFingerprint(ID).withFileTree(folder.toPath(), singletonList(excludedFolder.toPath()), null, true);
+  }
+
+  private InputFingerprint fingerprintOf(File folder, boolean parameter) throws IOException {
+    return new InputFingerprint(ID)
+        .withValue("parameter", parameter)
+        .withFileTree(folder.toPath(), singletonList(excludedFolder.toPath()));
+  }
+}